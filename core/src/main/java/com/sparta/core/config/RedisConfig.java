@@ -1,35 +0,0 @@
-package com.sparta.core.config;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.sparta.core.entity.HubRoute;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
-
-@Configuration
-public class RedisConfig {
-
-  @Bean
-  public RedisTemplate<String, HubRoute> hubRouteRedisTemplate(
-      RedisConnectionFactory connectionFactory) {
-    RedisTemplate<String, HubRoute> template = new RedisTemplate<>();
-    template.setConnectionFactory(connectionFactory);
-
-    template.setKeySerializer(new StringRedisSerializer());
-
-    ObjectMapper objectMapper = new ObjectMapper();
-    objectMapper.registerModule(new JavaTimeModule());
-    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL);
-    GenericJackson2JsonRedisSerializer genericJackson2JsonRedisSerializer = new GenericJackson2JsonRedisSerializer(
-        objectMapper);
-    template.setValueSerializer(genericJackson2JsonRedisSerializer);
-
-    return template;
-  }
-}
\ No newline at end of file
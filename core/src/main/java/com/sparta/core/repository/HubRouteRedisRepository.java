@@ -1,26 +1,35 @@
 package com.sparta.core.repository;
 
 import com.sparta.core.entity.HubRoute;
+import com.sparta.core.util.HubRouteSnapshotCodec;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 @RequiredArgsConstructor
 public class HubRouteRedisRepository {
 
-  private final RedisTemplate<String, HubRoute> redisTemplate;
-
-  private static final String REDIS_LIST_KEY = "HubRouteList";
-
-  public void saveAll(List<HubRoute> hubRoutes) {
-    redisTemplate.opsForList().rightPushAll(REDIS_LIST_KEY, hubRoutes);
-  }
-
-
-  public List<HubRoute> findAll() {
-    return redisTemplate.opsForList().range(REDIS_LIST_KEY, 0, -1);
+  private final StringRedisTemplate stringRedisTemplate;
+
+  // 바이너리 스냅샷 이전에 쓰던 JSON 리스트 키 - 더 이상 쓰지 않고, 스냅샷 발행 시 남아 있으면 지움
+  private static final String LEGACY_LIST_KEY = "HubRouteList";
+  private static final String VERSION_KEY = "hub_routes:version";
+  private static final String SNAPSHOT_KEY = "hub_routes:snapshot";
+  private static final String CHANGED_CHANNEL = "hub_routes:changed";
+
+  /* 허브 경로 버전 증가 -> 바이너리 스냅샷 저장 -> 변경 알림 발행 (delivery 로컬 캐시 갱신용) */
+  public long publishSnapshot(List<HubRoute> hubRoutes) {
+    Long version = stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+    byte[] snapshot = HubRouteSnapshotCodec.encode(version, hubRoutes);
+    stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+        .set(SNAPSHOT_KEY.getBytes(StandardCharsets.UTF_8), snapshot));
+    stringRedisTemplate.delete(LEGACY_LIST_KEY);
+    stringRedisTemplate.convertAndSend(CHANGED_CHANNEL, String.valueOf(version));
+    return version;
   }
 
 }
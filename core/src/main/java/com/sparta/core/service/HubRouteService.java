@@ -85,7 +85,7 @@ public class HubRouteService {
       }
 
     }
-    hubRouteRedisRepository.saveAll(hubRouteList);
+    hubRouteRedisRepository.publishSnapshot(hubRouteList);
   }
 
   /* 허브 매핑 정보에 따른 출발-도착 허브 리스트 GET 메서드*/
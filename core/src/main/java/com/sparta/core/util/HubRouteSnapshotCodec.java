@@ -0,0 +1,81 @@
+package com.sparta.core.util;
+
+import com.sparta.core.entity.HubRoute;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * 허브 경로 스냅샷 바이너리 포맷 (delivery 의 HubRouteSnapshotCodec 과 동일한 포맷)
+ *
+ * [헤더 28 bytes]
+ *   int   magic          0x48525331 ("HRS1")
+ *   short formatVersion  1
+ *   short reserved       0
+ *   long  routeVersion   hub_routes:version 값
+ *   int   hubCount
+ *   int   routeCount
+ * [허브 테이블 hubCount * 16 bytes]
+ *   long msb, long lsb    허브 UUID, 순서가 곧 허브 인덱스
+ * [경로 레코드 routeCount * 40 bytes]
+ *   long msb, long lsb    허브 경로 UUID
+ *   int departureIndex, int arrivalIndex
+ *   double estimatedDistance (m)
+ *   long estimatedTimeMillis
+ *
+ * 모든 값은 빅엔디언
+ */
+public final class HubRouteSnapshotCodec {
+
+  public static final int MAGIC = 0x48525331;
+  public static final short FORMAT_VERSION = 1;
+  public static final int HEADER_SIZE = 28;
+  public static final int HUB_SIZE = 16;
+  public static final int ROUTE_SIZE = 40;
+
+  private HubRouteSnapshotCodec() {
+  }
+
+  public static byte[] encode(long routeVersion, List<HubRoute> hubRoutes) {
+    Map<UUID, Integer> hubIndex = new HashMap<>();
+    List<UUID> hubs = new ArrayList<>();
+    for (HubRoute hubRoute : hubRoutes) {
+      hubIndex.computeIfAbsent(hubRoute.getDepartureHubId(), id -> {
+        hubs.add(id);
+        return hubs.size() - 1;
+      });
+      hubIndex.computeIfAbsent(hubRoute.getArrivalHubId(), id -> {
+        hubs.add(id);
+        return hubs.size() - 1;
+      });
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(
+        HEADER_SIZE + hubs.size() * HUB_SIZE + hubRoutes.size() * ROUTE_SIZE);
+    buffer.putInt(MAGIC)
+        .putShort(FORMAT_VERSION)
+        .putShort((short) 0)
+        .putLong(routeVersion)
+        .putInt(hubs.size())
+        .putInt(hubRoutes.size());
+    for (UUID hub : hubs) {
+      putUuid(buffer, hub);
+    }
+    for (HubRoute hubRoute : hubRoutes) {
+      putUuid(buffer, hubRoute.getHubRouteId());
+      buffer.putInt(hubIndex.get(hubRoute.getDepartureHubId()))
+          .putInt(hubIndex.get(hubRoute.getArrivalHubId()))
+          .putDouble(hubRoute.getEstimatedDistance())
+          /* Kakao 응답의 소요 시간(초)을 밀리초로 저장 */
+          .putLong(Math.round(hubRoute.getEstimatedTime() * 1000));
+    }
+    return buffer.array();
+  }
+
+  private static void putUuid(ByteBuffer buffer, UUID uuid) {
+    buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+  }
+}
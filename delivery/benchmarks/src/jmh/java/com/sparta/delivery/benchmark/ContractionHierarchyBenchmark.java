@@ -0,0 +1,118 @@
+package com.sparta.delivery.benchmark;
+
+import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.graph.ContractionHierarchy;
+import com.sparta.delivery.graph.EdgeTravelTime;
+import com.sparta.delivery.graph.HubGraph;
+import com.sparta.delivery.graph.TimedRoute;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 그래프 크기별 최단 경로 질의 시간: 다익스트라 vs 축약 계층
+// 허브/업체 도로망을 흉내 낸 격자 그래프 (양방향, 구간 1~11분)
+// 배송 생성 경로(PathService.findTimeDependentRoute)는 시간대별 소요 시간을 적용하므로 그 경로도 함께 측정
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContractionHierarchyBenchmark {
+
+    @Param({"100", "1000", "10000", "40000"})
+    public int hubCount;
+
+    private HubGraph graph;
+    private ContractionHierarchy hierarchy;
+    private EdgeTravelTime travelTime;
+    private UUID[][] probes;
+    private long[] departures;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int side = (int) Math.ceil(Math.sqrt(hubCount));
+        List<UUID> hubs = new ArrayList<>();
+        for (int i = 0; i < side * side; i++) {
+            hubs.add(UUID.randomUUID());
+        }
+        List<HubRoute> routes = new ArrayList<>();
+        for (int x = 0; x < side; x++) {
+            for (int y = 0; y < side; y++) {
+                int node = x * side + y;
+                if (x + 1 < side) {
+                    connect(routes, random, hubs.get(node), hubs.get(node + side));
+                }
+                if (y + 1 < side) {
+                    connect(routes, random, hubs.get(node), hubs.get(node + 1));
+                }
+            }
+        }
+        graph = HubGraph.compile(1L, routes);
+        hierarchy = ContractionHierarchy.build(graph);
+        travelTime = rushHourProfile(graph);
+
+        probes = new UUID[1024][];
+        departures = new long[probes.length];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = new UUID[]{hubs.get(random.nextInt(hubs.size())), hubs.get(random.nextInt(hubs.size()))};
+            departures[i] = Duration.ofHours(random.nextInt(24 * 7)).toMillis();
+        }
+    }
+
+    // 출퇴근 시간대(7~9시, 17~19시)에는 절반 정도의 구간이 1.5배 걸리는 프로필
+    private static EdgeTravelTime rushHourProfile(HubGraph graph) {
+        return (edge, departureAtMillis) -> {
+            long hour = departureAtMillis / 3_600_000L % 24;
+            boolean rushHour = (hour >= 7 && hour < 9) || (hour >= 17 && hour < 19);
+            return rushHour && (edge & 1) == 0 ? graph.edgeWeight(edge) * 3 / 2 : graph.edgeWeight(edge);
+        };
+    }
+
+    private static void connect(List<HubRoute> routes, Random random, UUID a, UUID b) {
+        Duration time = Duration.ofSeconds(60 + random.nextInt(600));
+        double distance = 1_000 + random.nextInt(10_000);
+        routes.add(new HubRoute(UUID.randomUUID(), a, b, distance, time));
+        routes.add(new HubRoute(UUID.randomUUID(), b, a, distance, time));
+    }
+
+    private UUID[] nextProbe() {
+        return probes[cursor++ & (probes.length - 1)];
+    }
+
+    private long departure() {
+        return departures[cursor & (departures.length - 1)];
+    }
+
+    @Benchmark
+    public List<HubRoute> dijkstra() {
+        UUID[] probe = nextProbe();
+        return graph.shortestRoute(probe[0], probe[1]);
+    }
+
+    @Benchmark
+    public List<HubRoute> contractionHierarchy() {
+        UUID[] probe = nextProbe();
+        return hierarchy.route(probe[0], probe[1]);
+    }
+
+    // 시간 의존 다익스트라 - 축약 계층이 없을 때의 배송 생성 경로
+    @Benchmark
+    public TimedRoute timeDependentDijkstra() {
+        long departure = departure();
+        UUID[] probe = nextProbe();
+        return graph.timeDependentRoute(probe[0], probe[1], departure, travelTime);
+    }
+
+    // 축약 계층 경로 + 구간별 시간대 소요 시간 - 축약 계층이 있을 때의 배송 생성 경로
+    @Benchmark
+    public TimedRoute timeDependentContractionHierarchy() {
+        long departure = departure();
+        UUID[] probe = nextProbe();
+        return graph.timedRoute(hierarchy.route(probe[0], probe[1]), departure, travelTime);
+    }
+}
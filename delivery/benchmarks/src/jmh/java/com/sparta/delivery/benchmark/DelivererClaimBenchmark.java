@@ -0,0 +1,142 @@
+package com.sparta.delivery.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 동시 배송 담당자 배정 부하 테스트 (PostgreSQL 필요)
+// 여러 스레드가 한 허브의 담당자를 동시에 배정받을 때 처리량과 중복 배정 수 비교
+//   NO_LOCK     : 기존처럼 정렬 조회만 (잠금 없음)
+//   FOR_UPDATE  : 행 잠금, 잠긴 행은 대기
+//   SKIP_LOCKED : 행 잠금, 잠긴 행은 건너뜀
+//   SKIP_LOCKED_WAIT : SKIP LOCKED 로 못 고르면 (후보가 모두 잠겨 있으면) FOR UPDATE 로 대기 - DelivererService 선점 모드
+// 담당자 수가 스레드 수보다 적은 경우(8명)는 후보가 모두 잠기는 상황 - SKIP_LOCKED 는 noDeliverer 로 실패, 대기 모드는 0 이어야 함
+// 중복 배정 = 다른 트랜잭션이 아직 잡고 있는 담당자를 또 배정받은 횟수
+// 접속 정보: -Dbench.jdbc.url=... -Dbench.jdbc.user=... -Dbench.jdbc.password=...
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class DelivererClaimBenchmark {
+
+    private static final String TABLE = "bench_deliverers";
+
+    @Param({"NO_LOCK", "FOR_UPDATE", "SKIP_LOCKED", "SKIP_LOCKED_WAIT"})
+    public String mode;
+
+    @Param({"50", "8"})
+    public int delivererCount;
+
+    // 배정 후 트랜잭션 안에서 하는 나머지 작업(경로 저장 등)을 흉내 낸 CPU 소모량
+    @Param({"20000"})
+    public long workTokens;
+
+    private final ConcurrentHashMap<Long, Integer> holders = new ConcurrentHashMap<>();
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/deliverydb"),
+                System.getProperty("bench.jdbc.user", "postgres"),
+                System.getProperty("bench.jdbc.password", "systempass"));
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (deliverer_id BIGINT PRIMARY KEY, "
+                    + "status VARCHAR(16) NOT NULL, active_record_count INT NOT NULL)");
+            statement.execute("INSERT INTO " + TABLE + " SELECT g, 'WAIT', 0 FROM generate_series(1, "
+                    + delivererCount + ") g");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+        private Connection connection;
+        private PreparedStatement claim;
+        private PreparedStatement waitClaim;
+        private PreparedStatement increment;
+
+        @Setup(Level.Trial)
+        public void open(DelivererClaimBenchmark benchmark) throws SQLException {
+            connection = connect();
+            connection.setAutoCommit(false);
+            String lock = switch (benchmark.mode) {
+                case "FOR_UPDATE" -> " FOR UPDATE";
+                case "SKIP_LOCKED", "SKIP_LOCKED_WAIT" -> " FOR UPDATE SKIP LOCKED";
+                default -> "";
+            };
+            String select = "SELECT deliverer_id FROM " + TABLE
+                    + " WHERE status <> 'MOVING' ORDER BY active_record_count, deliverer_id LIMIT 1";
+            claim = connection.prepareStatement(select + lock);
+            waitClaim = "SKIP_LOCKED_WAIT".equals(benchmark.mode) ? connection.prepareStatement(select + " FOR UPDATE") : null;
+            increment = connection.prepareStatement("UPDATE " + TABLE
+                    + " SET active_record_count = active_record_count + 1 WHERE deliverer_id = ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long doubleAssignments;
+        public long noDeliverer;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            doubleAssignments = 0;
+            noDeliverer = 0;
+        }
+    }
+
+    @Benchmark
+    public void assign(Session session, Counters counters) throws SQLException {
+        long delivererId = select(session.claim);
+        if (delivererId < 0 && session.waitClaim != null) {
+            delivererId = select(session.waitClaim);
+        }
+        if (delivererId < 0) {
+            counters.noDeliverer++;
+            session.connection.rollback();
+            return;
+        }
+
+        if (holders.merge(delivererId, 1, Integer::sum) > 1) {
+            counters.doubleAssignments++;
+        }
+        try {
+            session.increment.setLong(1, delivererId);
+            session.increment.executeUpdate();
+            Blackhole.consumeCPU(workTokens);
+        } finally {
+            holders.computeIfPresent(delivererId, (id, count) -> count == 1 ? null : count - 1);
+            session.connection.commit();
+        }
+    }
+
+    private static long select(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : -1;
+        }
+    }
+}
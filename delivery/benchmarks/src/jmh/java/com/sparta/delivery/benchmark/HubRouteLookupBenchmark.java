@@ -0,0 +1,83 @@
+package com.sparta.delivery.benchmark;
+
+import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.graph.HubGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// findHubRoute / calculateDistancesFromHub: 기존 스트림 스캔 vs 그래프 인덱스
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HubRouteLookupBenchmark {
+
+    @Param({"17", "100", "1000"})
+    public int hubCount;
+
+    private List<HubRoute> routes;
+    private HubGraph graph;
+    private HubRoute[] probes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<UUID> hubs = new ArrayList<>();
+        for (int i = 0; i < hubCount; i++) {
+            hubs.add(UUID.randomUUID());
+        }
+        routes = new ArrayList<>();
+        for (int i = 0; i < hubCount; i++) {
+            for (int j = 1; j <= 4; j++) {
+                routes.add(new HubRoute(UUID.randomUUID(), hubs.get(i), hubs.get((i + j * 7) % hubCount),
+                        10_000 + random.nextInt(300_000), Duration.ofSeconds(600 + random.nextInt(14_400))));
+            }
+        }
+        graph = HubGraph.compile(1L, routes);
+        probes = new HubRoute[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = routes.get(random.nextInt(routes.size()));
+        }
+    }
+
+    private HubRoute nextProbe() {
+        return probes[cursor++ & (probes.length - 1)];
+    }
+
+    @Benchmark
+    public HubRoute findHubRouteStream() {
+        HubRoute probe = nextProbe();
+        return routes.stream()
+                .filter(route -> route.departureHubId().equals(probe.departureHubId())
+                        && route.arrivalHubId().equals(probe.arrivalHubId()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public HubRoute findHubRouteIndexed() {
+        HubRoute probe = nextProbe();
+        return graph.findEdge(probe.departureHubId(), probe.arrivalHubId());
+    }
+
+    @Benchmark
+    public Map<UUID, Double> distancesFromHubStream() {
+        UUID hubId = nextProbe().departureHubId();
+        return routes.stream()
+                .filter(route -> route.departureHubId().equals(hubId))
+                .collect(Collectors.toMap(HubRoute::arrivalHubId, HubRoute::estimatedDistance));
+    }
+
+    @Benchmark
+    public Map<UUID, Double> distancesFromHubIndexed() {
+        return graph.outgoingDistances(nextProbe().departureHubId());
+    }
+}
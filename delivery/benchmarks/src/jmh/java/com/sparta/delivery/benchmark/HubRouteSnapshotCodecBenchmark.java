@@ -0,0 +1,67 @@
+package com.sparta.delivery.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.delivery.config.ObjectMapperConfig;
+import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.util.HubRouteSnapshotCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// hub_routes JSON 과 바이너리 스냅샷의 크기/디코딩 비교
+// 크기는 @Setup 에서 한 번 출력한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HubRouteSnapshotCodecBenchmark {
+
+    @Param({"17", "100", "1000"})
+    public int hubCount;
+
+    private ObjectMapper objectMapper;
+    private String json;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+
+        Random random = new Random(42);
+        List<UUID> hubs = new ArrayList<>();
+        for (int i = 0; i < hubCount; i++) {
+            hubs.add(UUID.randomUUID());
+        }
+        List<HubRoute> routes = new ArrayList<>();
+        for (int i = 0; i < hubCount; i++) {
+            for (int j = 0; j < 4; j++) {
+                int arrival = random.nextInt(hubCount);
+                if (arrival != i) {
+                    routes.add(new HubRoute(UUID.randomUUID(), hubs.get(i), hubs.get(arrival),
+                            10_000 + random.nextInt(300_000), Duration.ofSeconds(600 + random.nextInt(14_400))));
+                }
+            }
+        }
+
+        json = objectMapper.writeValueAsString(routes);
+        snapshot = HubRouteSnapshotCodec.encode(1L, routes);
+        System.out.printf("%nhubs=%d routes=%d json=%d bytes snapshot=%d bytes (%.1fx)%n",
+                hubCount, routes.size(), json.getBytes().length, snapshot.length,
+                (double) json.getBytes().length / snapshot.length);
+    }
+
+    @Benchmark
+    public List<HubRoute> decodeJson() throws Exception {
+        return objectMapper.readValue(json, new TypeReference<List<HubRoute>>() {});
+    }
+
+    @Benchmark
+    public HubRouteSnapshotCodec.Snapshot decodeSnapshot() {
+        return HubRouteSnapshotCodec.decode(snapshot);
+    }
+}
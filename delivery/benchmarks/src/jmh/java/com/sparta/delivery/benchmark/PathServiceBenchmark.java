@@ -0,0 +1,73 @@
+package com.sparta.delivery.benchmark;
+
+import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.graph.HubGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// PathService 경로 조회 구간의 기준 측정
+// 처리량과 p99(SampleTime)를 함께 보고, 할당량은 gc 프로파일러로 확인한다
+// PathService 는 캐시된 HubGraph 에 위임하므로 그래프를 직접 호출한다
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathServiceBenchmark {
+
+    @Param({"17", "100", "1000", "10000"})
+    public int hubCount;
+
+    private List<HubRoute> routes;
+    private HubGraph graph;
+    private UUID[][] pairs;
+    private HubRoute[] edges;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SyntheticHubNetwork network = SyntheticHubNetwork.generate(hubCount, 42L);
+        routes = network.routes;
+        graph = HubGraph.compile(1L, routes);
+
+        Random random = new Random(7);
+        pairs = new UUID[1024][];
+        edges = new HubRoute[1024];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new UUID[]{
+                    network.hubs.get(random.nextInt(hubCount)),
+                    network.hubs.get(random.nextInt(hubCount))
+            };
+            edges[i] = routes.get(random.nextInt(routes.size()));
+        }
+    }
+
+    private int next() {
+        return cursor++ & 1023;
+    }
+
+    @Benchmark
+    public HubGraph buildGraph() {
+        return HubGraph.compile(1L, routes);
+    }
+
+    @Benchmark
+    public List<HubRoute> dijkstra() {
+        UUID[] pair = pairs[next()];
+        return graph.shortestRoute(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public HubRoute findHubRoute() {
+        HubRoute edge = edges[next()];
+        return graph.findEdge(edge.departureHubId(), edge.arrivalHubId());
+    }
+
+    @Benchmark
+    public Map<UUID, Double> calculateDistancesFromHub() {
+        return graph.outgoingDistances(edges[next()].departureHubId());
+    }
+}
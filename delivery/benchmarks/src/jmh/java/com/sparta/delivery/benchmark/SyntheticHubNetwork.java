@@ -0,0 +1,92 @@
+package com.sparta.delivery.benchmark;
+
+import com.sparta.delivery.dto.HubRoute;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+// 벤치마크용 허브 도로망
+// 허브를 500km x 500km 영역에 흩뿌리고, 가까운 허브 3~6곳과 양방향으로 연결한다
+// 모든 허브가 이어지도록 각 허브를 앞서 만든 허브 중 가장 가까운 곳과도 연결한다
+// 소요 시간은 도로 거리(직선 x 1.3)를 시속 60~90km 로 달린 시간 + 상하차 30분
+final class SyntheticHubNetwork {
+
+    private static final double AREA_METERS = 500_000;
+    private static final double ROAD_FACTOR = 1.3;
+
+    final List<UUID> hubs;
+    final List<HubRoute> routes;
+
+    private SyntheticHubNetwork(List<UUID> hubs, List<HubRoute> routes) {
+        this.hubs = hubs;
+        this.routes = routes;
+    }
+
+    static SyntheticHubNetwork generate(int hubCount, long seed) {
+        Random random = new Random(seed);
+        double[] xs = new double[hubCount];
+        double[] ys = new double[hubCount];
+        List<UUID> hubs = new ArrayList<>(hubCount);
+        for (int i = 0; i < hubCount; i++) {
+            xs[i] = random.nextDouble() * AREA_METERS;
+            ys[i] = random.nextDouble() * AREA_METERS;
+            hubs.add(new UUID(seed, i));
+        }
+
+        Set<Long> connected = new HashSet<>();
+        List<HubRoute> routes = new ArrayList<>();
+        for (int i = 0; i < hubCount; i++) {
+            int degree = 3 + random.nextInt(4);
+            for (int neighbor : nearest(xs, ys, i, degree, hubCount)) {
+                connect(routes, connected, random, hubs, xs, ys, i, neighbor);
+            }
+            if (i > 0) {
+                connect(routes, connected, random, hubs, xs, ys, i, nearest(xs, ys, i, 1, i)[0]);
+            }
+        }
+        return new SyntheticHubNetwork(hubs, routes);
+    }
+
+    // node 를 제외한 [0, limit) 허브 중 가까운 count 곳
+    private static int[] nearest(double[] xs, double[] ys, int node, int count, int limit) {
+        count = Math.min(count, limit - (node < limit ? 1 : 0));
+        int[] best = new int[count];
+        double[] bestDistances = new double[count];
+        int size = 0;
+        for (int other = 0; other < limit; other++) {
+            if (other == node) {
+                continue;
+            }
+            double distance = Math.hypot(xs[node] - xs[other], ys[node] - ys[other]);
+            if (size < count || distance < bestDistances[size - 1]) {
+                int pos = size < count ? size++ : size - 1;
+                while (pos > 0 && bestDistances[pos - 1] > distance) {
+                    best[pos] = best[pos - 1];
+                    bestDistances[pos] = bestDistances[pos - 1];
+                    pos--;
+                }
+                best[pos] = other;
+                bestDistances[pos] = distance;
+            }
+        }
+        return best;
+    }
+
+    private static void connect(List<HubRoute> routes, Set<Long> connected, Random random, List<UUID> hubs,
+                                double[] xs, double[] ys, int a, int b) {
+        long key = (long) Math.min(a, b) << 32 | Math.max(a, b);
+        if (!connected.add(key)) {
+            return;
+        }
+        double distance = Math.hypot(xs[a] - xs[b], ys[a] - ys[b]) * ROAD_FACTOR;
+        double metersPerSecond = (60 + random.nextInt(31)) / 3.6;
+        Duration time = Duration.ofSeconds(1_800 + (long) (distance / metersPerSecond));
+        routes.add(new HubRoute(UUID.randomUUID(), hubs.get(a), hubs.get(b), distance, time));
+        routes.add(new HubRoute(UUID.randomUUID(), hubs.get(b), hubs.get(a), distance, time));
+    }
+}
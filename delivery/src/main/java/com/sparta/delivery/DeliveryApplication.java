@@ -3,14 +3,24 @@ package com.sparta.delivery;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 //@EnableFeignClients
 public class DeliveryApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(DeliveryApplication.class, args);
+		SpringApplication application = new SpringApplication(DeliveryApplication.class);
+		// @Scheduled 작업 스레드 수 기본값 - Boot 기본(1)이면 보관 작업처럼 오래 걸리는 작업이 outbox 전송/배정 창을 막음
+		// 설정 파일/환경 변수의 spring.task.scheduling.* 값이 있으면 그 값을 사용
+		application.setDefaultProperties(Map.of(
+				"spring.task.scheduling.pool.size", "8",
+				"spring.task.scheduling.thread-name-prefix", "delivery-scheduling-"));
+		application.run(args);
 	}
 
 }
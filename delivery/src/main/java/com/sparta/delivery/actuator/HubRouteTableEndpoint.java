@@ -0,0 +1,38 @@
+package com.sparta.delivery.actuator;
+
+import com.sparta.delivery.graph.ShortestPathTable;
+import com.sparta.delivery.service.ShortestPathTableService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// /actuator/hubroutetable - 전체 쌍 최단 경로 테이블 상태
+@Component
+@Endpoint(id = "hubroutetable")
+@RequiredArgsConstructor
+public class HubRouteTableEndpoint {
+
+    private final ShortestPathTableService shortestPathTableService;
+
+    @ReadOperation
+    public Map<String, Object> table() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requestedVersion", shortestPathTableService.requestedVersion());
+
+        ShortestPathTable table = shortestPathTableService.current();
+        if (table == null) {
+            result.put("ready", false);
+            return result;
+        }
+        result.put("ready", table.version() == shortestPathTableService.requestedVersion());
+        result.put("version", table.version());
+        result.put("hubCount", table.hubCount());
+        result.put("builtAt", table.builtAt());
+        result.put("buildTimeMillis", table.buildTime().toMillis());
+        return result;
+    }
+}
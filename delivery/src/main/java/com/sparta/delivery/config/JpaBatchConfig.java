@@ -0,0 +1,21 @@
+package com.sparta.delivery.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaBatchConfig {
+
+    // 일괄 저장 시 INSERT/UPDATE 를 JDBC 배치로 전송 (설정 파일에 값이 있으면 그 값 우선)
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(@Value("${delivery.jdbc.batch-size:500}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
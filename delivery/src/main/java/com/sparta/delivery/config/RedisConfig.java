@@ -0,0 +1,27 @@
+package com.sparta.delivery.config;
+
+import com.sparta.delivery.service.DeliveryDetailCache;
+import com.sparta.delivery.service.HubRouteCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    // core 의 허브 경로 변경 알림, 다른 인스턴스의 배송 조회 캐시 무효화 알림 구독
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            HubRouteCache hubRouteCache,
+            DeliveryDetailCache deliveryDetailCache
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(hubRouteCache, new ChannelTopic(HubRouteCache.HUB_ROUTES_CHANGED_CHANNEL));
+        container.addMessageListener(deliveryDetailCache, new ChannelTopic(DeliveryDetailCache.DELIVERY_DETAIL_INVALIDATED_CHANNEL));
+        return container;
+    }
+}
@@ -1,14 +1,27 @@
 package com.sparta.delivery.controller;
 
 import com.sparta.delivery.common.ApiResponse;
+import com.sparta.delivery.dto.AlternativeRoutesResponse;
+import com.sparta.delivery.dto.BatchResponse;
 import com.sparta.delivery.dto.CreateDeliveryRequest;
+import com.sparta.delivery.dto.DeliverySearchResponse;
 import com.sparta.delivery.dto.GetDeliveryResponse;
+import com.sparta.delivery.dto.LegStatusEvent;
 import com.sparta.delivery.dto.ChangeDelivererRequest;
 import com.sparta.delivery.dto.UpdateDeliveryStatusRequest;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
 import com.sparta.delivery.service.DeliveryService;
+import com.sparta.delivery.service.DeliveryTrackingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -17,6 +30,7 @@ import java.util.UUID;
 public class DeliveryController {
 
     private final DeliveryService deliveryService;
+    private final DeliveryTrackingService deliveryTrackingService;
 
     @PostMapping
     public ApiResponse<Void> createDelivery(
@@ -25,6 +39,26 @@ public class DeliveryController {
         return deliveryService.createDelivery(request);
     }
 
+    // 배송 일괄 생성
+    @PostMapping("/batch")
+    public ApiResponse<BatchResponse> createDeliveries(
+            @RequestBody List<CreateDeliveryRequest> requests
+    ) {
+        return deliveryService.createDeliveries(requests);
+    }
+
+    // 배송 목록 조회 (키셋 페이지) - 응답의 next 를 after 로 넘기면 다음 페이지
+    @GetMapping
+    public ApiResponse<DeliverySearchResponse> searchDeliveries(
+            @RequestParam(required = false) DeliveryStatusEnum status,
+            @RequestParam(required = false) UUID sourceHubId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineBefore,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return deliveryService.searchDeliveries(status, sourceHubId, deadlineBefore, after, size);
+    }
+
     // 배송 단건 조회
     @GetMapping("/{deliveryId}")
     public ApiResponse<GetDeliveryResponse> getDelivery(
@@ -33,6 +67,33 @@ public class DeliveryController {
         return deliveryService.getDelivery(deliveryId);
     }
 
+    // 배송 실시간 추적 (SSE) - 구독 시 현재 상태, 이후 변경될 때마다 상태 전송
+    @GetMapping(value = "/{deliveryId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDelivery(
+            @PathVariable UUID deliveryId
+    ) {
+        try {
+            SseEmitter emitter = deliveryTrackingService.subscribe(deliveryId);
+            if (emitter == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(emitter);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // 대체 경로 조회 (혼잡/폐쇄 허브 우회)
+    @GetMapping("/routes/alternatives")
+    public ApiResponse<AlternativeRoutesResponse> getAlternativeRoutes(
+            @RequestParam UUID startHubId,
+            @RequestParam UUID endHubId,
+            @RequestParam(defaultValue = "3") int k,
+            @RequestParam(required = false) List<UUID> excludedHubIds
+    ) {
+        return deliveryService.getAlternativeRoutes(startHubId, endHubId, k, excludedHubIds);
+    }
+
     // 배송 경로 배송 담당자 수정
     @PatchMapping("/{deliveryRecordId}/change")
     public ApiResponse<Void> changeDeliverer(
@@ -51,6 +112,14 @@ public class DeliveryController {
         return deliveryService.updateDeliveryStatus(deliveryRecordId, request);
     }
 
+    // 배송 상태 일괄 업데이트 요청 (허브 스캐너)
+    @PatchMapping("/status/batch")
+    public ApiResponse<BatchResponse> updateDeliveryStatuses(
+            @RequestBody List<LegStatusEvent> events
+    ) {
+        return deliveryService.updateDeliveryStatuses(events);
+    }
+
     // 배송 취소 요청
     @PatchMapping("/{deliveryId}/cancel")
     public ApiResponse<Void> cancleDelivery(
@@ -0,0 +1,23 @@
+package com.sparta.delivery.dto;
+
+import com.sparta.delivery.graph.KShortestPaths;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AlternativeRouteResponse(
+        int rank,
+        List<UUID> hubIds,
+        long estimatedTimeSeconds,
+        double estimatedDist
+) {
+
+    public static AlternativeRouteResponse from(int rank, KShortestPaths.Path path) {
+        return new AlternativeRouteResponse(
+                rank,
+                path.hubIds(),
+                path.totalTimeMillis() / 1000,
+                path.totalDistance()
+        );
+    }
+}
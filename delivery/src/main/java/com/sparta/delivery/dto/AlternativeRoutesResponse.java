@@ -0,0 +1,20 @@
+package com.sparta.delivery.dto;
+
+import com.sparta.delivery.graph.KShortestPaths;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record AlternativeRoutesResponse(
+        List<AlternativeRouteResponse> routes,
+        boolean budgetExceeded
+) {
+
+    public static AlternativeRoutesResponse from(KShortestPaths.Result result) {
+        List<AlternativeRouteResponse> routes = new ArrayList<>();
+        for (int i = 0; i < result.paths().size(); i++) {
+            routes.add(AlternativeRouteResponse.from(i + 1, result.paths().get(i)));
+        }
+        return new AlternativeRoutesResponse(routes, result.budgetExceeded());
+    }
+}
@@ -0,0 +1,22 @@
+package com.sparta.delivery.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(
+        int index,
+        boolean success,
+        UUID id,
+        String message
+) {
+
+    public static BatchItemResult success(int index, UUID id) {
+        return new BatchItemResult(index, true, id, null);
+    }
+
+    public static BatchItemResult failure(int index, String message) {
+        return new BatchItemResult(index, false, null, message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.sparta.delivery.dto;
+
+import java.util.List;
+
+public record BatchResponse(
+        int total,
+        int succeeded,
+        int failed,
+        List<BatchItemResult> results
+) {
+
+    public static BatchResponse from(List<BatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(BatchItemResult::success).count();
+        return new BatchResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
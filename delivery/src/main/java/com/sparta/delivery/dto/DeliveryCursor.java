@@ -0,0 +1,32 @@
+package com.sparta.delivery.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// 배송 목록 다음 페이지 위치 - 마지막으로 받은 (배송 시한, 배송 ID)
+// 클라이언트에는 내용을 감춘 문자열로 전달
+public record DeliveryCursor(
+        LocalDateTime dispatchDeadline,
+        UUID deliveryId
+) {
+
+    public static DeliveryCursor of(DeliverySummaryResponse last) {
+        return new DeliveryCursor(last.dispatchDeadline(), last.deliveryId());
+    }
+
+    public String encode() {
+        String value = dispatchDeadline + "," + deliveryId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DeliveryCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+            return new DeliveryCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 페이지 위치입니다");
+        }
+    }
+}
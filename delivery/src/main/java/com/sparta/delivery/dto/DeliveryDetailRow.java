@@ -0,0 +1,33 @@
+package com.sparta.delivery.dto;
+
+import com.sparta.delivery.entity.DeliveryRecordsStatusEnum;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 배송 단건 조회 결과 한 행 (배송 + 배송 경로 1건 + 배송 담당자 ID)
+// 배송 경로가 없으면 배송 경로 컬럼이 모두 null 인 한 행
+public record DeliveryDetailRow(
+        UUID orderId,
+        DeliveryStatusEnum status,
+        UUID sourceHubId,
+        UUID companyId,
+        String companyAddress,
+        Integer totalSequence,
+        Integer currentSeq,
+        LocalDateTime dispatchDeadline,
+        UUID deliveryRecordId,
+        UUID departures,
+        UUID arrival,
+        Integer sequence,
+        DeliveryRecordsStatusEnum recordStatus,
+        BigDecimal estimatedDist,
+        Duration estimatedTime,
+        BigDecimal actualDist,
+        Duration actualTime,
+        Long delivererId
+) {
+}
@@ -0,0 +1,26 @@
+package com.sparta.delivery.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sparta.delivery.entity.DeliveryEventTypeEnum;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// outbox 로 발행되는 배송 이벤트 본문
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DeliveryEventPayload(
+        DeliveryEventTypeEnum eventType,
+        UUID deliveryId,
+        UUID orderId,
+        DeliveryStatusEnum status,
+        Integer currentSeq,
+        Integer totalSequence,
+        UUID deliveryRecordId,
+        Integer sequence,
+        String recipient,
+        String recipientSlackAccount,
+        LocalDateTime dispatchDeadline,
+        LocalDateTime occurredAt
+) {
+}
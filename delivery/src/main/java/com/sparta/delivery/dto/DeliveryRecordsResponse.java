@@ -38,6 +38,21 @@ public record DeliveryRecordsResponse(
         );
     }
 
+    public static DeliveryRecordsResponse from(DeliveryDetailRow row) {
+        return new DeliveryRecordsResponse(
+                row.deliveryRecordId(),
+                row.departures(),
+                row.arrival(),
+                row.sequence(),
+                row.recordStatus().name(),
+                row.estimatedDist(),
+                formatDuration(row.estimatedTime()),
+                row.actualDist(),
+                formatDuration(row.actualTime()),
+                row.delivererId()
+        );
+    }
+
     private static String formatDuration(Duration duration) {
         if (duration == null) {
             return null;
@@ -30,4 +30,17 @@ public record DeliveryResponse(
                 delivery.getDispatchDeadline()
         );
     }
+
+    public static DeliveryResponse from(DeliveryDetailRow row) {
+        return new DeliveryResponse(
+                row.orderId(),
+                row.status(),
+                row.sourceHubId(),
+                row.companyId(),
+                row.companyAddress(),
+                row.totalSequence(),
+                row.currentSeq(),
+                row.dispatchDeadline()
+        );
+    }
 }
@@ -0,0 +1,10 @@
+package com.sparta.delivery.dto;
+
+import java.util.List;
+
+// next 가 null 이면 마지막 페이지, 아니면 다음 요청의 after 로 전달
+public record DeliverySearchResponse(
+        List<DeliverySummaryResponse> deliveries,
+        String next
+) {
+}
@@ -0,0 +1,19 @@
+package com.sparta.delivery.dto;
+
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 배송 목록 조회 한 건 (엔티티를 거치지 않고 조회 결과에서 바로 생성)
+public record DeliverySummaryResponse(
+        UUID deliveryId,
+        UUID orderId,
+        DeliveryStatusEnum status,
+        UUID sourceHubId,
+        UUID companyId,
+        LocalDateTime dispatchDeadline,
+        Integer inProgressSeq,
+        Integer totalSeq
+) {
+}
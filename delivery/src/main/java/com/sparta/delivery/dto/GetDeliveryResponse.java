@@ -17,4 +17,14 @@ public record GetDeliveryResponse(
         return new GetDeliveryResponse(deliveryResponse, details);
     }
 
+    // 조회 결과 행(배송 경로 순)에서 바로 생성 - 엔티티를 거치지 않음
+    public static GetDeliveryResponse from(List<DeliveryDetailRow> rows) {
+        DeliveryResponse deliveryResponse = DeliveryResponse.from(rows.get(0));
+        List<DeliveryRecordsResponse> details = rows.stream()
+                .filter(row -> row.deliveryRecordId() != null)
+                .map(DeliveryRecordsResponse::from)
+                .toList();
+        return new GetDeliveryResponse(deliveryResponse, details);
+    }
+
 }
@@ -0,0 +1,19 @@
+package com.sparta.delivery.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 허브 스캐너가 보내는 배송 경로 상태 변경 1건 (출발/도착 스캔)
+public record LegStatusEvent(
+        UUID deliveryRecordId,
+        Type event,
+        BigDecimal actualDist,
+        LocalDateTime occurredAt
+) {
+
+    public enum Type {
+        START,
+        COMPLETE
+    }
+}
@@ -0,0 +1,11 @@
+package com.sparta.delivery.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 출발 전 배송의 배송 시한 (시한 스케줄러 적재용)
+public record PendingDispatchRow(
+        UUID deliveryId,
+        LocalDateTime dispatchDeadline
+) {
+}
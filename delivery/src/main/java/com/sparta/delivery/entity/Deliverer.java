@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,6 +33,11 @@ public class Deliverer extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private DelivererTypeEnum type;
 
+    // 대기/이동 중인 배송 경로 수 - 경로 배정/완료/취소와 같은 트랜잭션에서 증감
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int activeRecordCount;
+
     @OneToMany(mappedBy = "deliverer")
     private List<DeliveryRecord> deliveryRecords = new ArrayList<>();
 
@@ -41,6 +47,7 @@ public class Deliverer extends BaseEntity {
                 .hubId(hubId)
                 .type(type)
                 .status(DelivererStatusEnum.WAIT)
+                .activeRecordCount(0)
                 .build();
     }
 
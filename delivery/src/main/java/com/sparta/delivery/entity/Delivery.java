@@ -3,6 +3,7 @@ package com.sparta.delivery.entity;
 import com.sparta.delivery.common.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
@@ -11,6 +12,13 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity(name = "p_deliveries")
+// 목록 조회(키셋 페이지)용 - 조건 컬럼 뒤에 정렬 키 (배송 시한, 배송 ID)
+// 커버링 인덱스는 아님 - 조건/정렬과 커서 위치 찾기만 인덱스로 하고, 나머지 조회 컬럼과 is_deleted 는 페이지 크기만큼 테이블에서 읽음
+@Table(indexes = {
+        @Index(name = "idx_deliveries_deadline", columnList = "dispatch_deadline, delivery_id"),
+        @Index(name = "idx_deliveries_status_deadline", columnList = "status, dispatch_deadline, delivery_id"),
+        @Index(name = "idx_deliveries_source_hub_deadline", columnList = "source_hub_id, dispatch_deadline, delivery_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -51,6 +59,21 @@ public class Delivery extends BaseEntity {
 
     private Integer currentSeq;
 
+    // 완료된 구간 수 - 구간이 완료될 때마다 증가, totalSequence 에 도달하면 배송 완료
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int completedLegCount;
+
+    // 마지막으로 outbox 에 기록한 이벤트 순번 - 이벤트마다 증가하므로 이벤트를 남기는 트랜잭션은 버전 검사로 배송별로 직렬화됨
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long eventSeq;
+
+    // 같은 배송의 구간 상태가 동시에 바뀔 때 갱신 유실 방지
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @Column(nullable = false)
     private UUID orderId;
 
@@ -85,6 +108,17 @@ public class Delivery extends BaseEntity {
         this.currentSeq = 1;
     }
 
+    // 다음 이벤트 순번 (배송별 커밋 순서)
+    public long nextEventSeq() {
+        return ++this.eventSeq;
+    }
+
+    // 구간 하나 완료 처리, 모든 구간이 완료되었으면 true
+    public boolean completeLeg() {
+        this.completedLegCount++;
+        return this.totalSequence != null && this.completedLegCount >= this.totalSequence;
+    }
+
     public void setHubArrivedDeliveryStatus(LocalDateTime endAt) {
         this.endAt = endAt;
         this.status = DeliveryStatusEnum.HUB_ARRIVED;
@@ -0,0 +1,11 @@
+package com.sparta.delivery.entity;
+
+public enum DeliveryEventTypeEnum {
+
+    DELIVERY_CREATED, // 배송 생성
+    LEG_STARTED, // 배송 경로 출발
+    LEG_COMPLETED, // 배송 경로 도착
+    DELIVERY_COMPLETED, // 배송 완료
+    DELIVERY_CANCELED, // 배송 취소
+    DELIVERY_DELETED // 배송 삭제
+}
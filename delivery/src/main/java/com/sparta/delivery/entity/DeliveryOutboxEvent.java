@@ -0,0 +1,55 @@
+package com.sparta.delivery.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 배송 이벤트 outbox - 배송/배송 경로 변경과 같은 트랜잭션에서 저장되고, 릴레이가 발행한 뒤 삭제한다
+// 시퀀스 할당 단위를 크게 잡아 일괄 생성/상태 변경 시 INSERT 도 JDBC 배치로 묶인다
+// outbox_id 는 인스턴스별로 미리 할당한 구간이라 커밋 순서와 다르므로, 발행 순서는 배송별 순번(delivery_seq)으로 정한다
+@Entity(name = "p_delivery_outbox")
+@Table(indexes = @Index(name = "idx_delivery_outbox_delivery_seq", columnList = "delivery_id, delivery_seq"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class DeliveryOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_outbox_seq")
+    @SequenceGenerator(name = "delivery_outbox_seq", sequenceName = "p_delivery_outbox_seq", allocationSize = 50)
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private UUID deliveryId;
+
+    // 배송별 이벤트 순번 - 같은 배송의 이벤트는 이 순서대로 커밋되고 발행된다
+    @Column(nullable = false)
+    private long deliverySeq;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private DeliveryEventTypeEnum eventType;
+
+    // 이벤트 본문 (JSON)
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    public static DeliveryOutboxEvent create(UUID deliveryId, long deliverySeq, DeliveryEventTypeEnum eventType, String payload, LocalDateTime occurredAt) {
+        return DeliveryOutboxEvent.builder()
+                .deliveryId(deliveryId)
+                .deliverySeq(deliverySeq)
+                .eventType(eventType)
+                .payload(payload)
+                .occurredAt(occurredAt)
+                .build();
+    }
+}
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity(name = "p_delivery_records")
+@Table(indexes = @Index(name = "idx_delivery_records_delivery_id", columnList = "delivery_id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
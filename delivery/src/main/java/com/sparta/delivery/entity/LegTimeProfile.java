@@ -0,0 +1,52 @@
+package com.sparta.delivery.entity;
+
+import com.sparta.delivery.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.util.UUID;
+
+// 허브 간 구간의 요일-시간대(주 168시간)별 실제 소요 시간 프로필
+@Entity(name = "p_leg_time_profiles")
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"departures", "arrival"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class LegTimeProfile extends BaseEntity {
+
+    public static final int SLOTS = 7 * 24;
+
+    @Id
+    @UuidGenerator
+    @GeneratedValue(generator = "UUID")
+    @Column(updatable = false, nullable = false)
+    private UUID legTimeProfileId;
+
+    @Column(nullable = false)
+    private UUID departures;
+
+    @Column(nullable = false)
+    private UUID arrival;
+
+    // 시간대별 평균 소요 시간(초)
+    @Column(nullable = false)
+    private int[] meanSeconds;
+
+    // 시간대별 표본 수
+    @Column(nullable = false)
+    private int[] sampleCounts;
+
+    public static LegTimeProfile create(UUID departures, UUID arrival) {
+        return LegTimeProfile.builder()
+                .departures(departures)
+                .arrival(arrival)
+                .meanSeconds(new int[SLOTS])
+                .sampleCounts(new int[SLOTS])
+                .build();
+    }
+}
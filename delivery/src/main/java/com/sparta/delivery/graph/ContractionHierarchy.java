@@ -0,0 +1,651 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// 허브 그래프의 축약 계층(Contraction Hierarchies)
+// 중요도가 낮은 허브부터 하나씩 축약하면서 최단 경로가 끊기지 않도록 지름길 간선을 추가해 두고,
+// 질의는 출발/도착 양쪽에서 순위가 높아지는 방향으로만 탐색하는 양방향 다익스트라로 처리한다
+// 전처리는 요청 경로 밖(백그라운드)에서 하고, 만들어진 뒤에는 불변이라 모든 스레드가 공유한다
+public final class ContractionHierarchy {
+
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    // 지름길 필요 여부를 판단하는 보조 탐색(witness search)의 확정 노드 수 상한
+    // 상한에 걸리면 지름길을 추가하는 쪽으로 판단하므로 결과는 항상 정확하다
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final HubGraph graph;
+    private final int[] ranks;
+
+    // 간선(원본 + 지름길) - 지름길이면 edges 가 -1 이고 두 하위 간선을 가리킨다
+    private final int[] arcFrom;
+    private final int[] arcTo;
+    private final int[] arcEdges;
+    private final int[] arcFirst;
+    private final int[] arcSecond;
+    private final int shortcutCount;
+
+    // 순위가 높아지는 방향의 간선만 남긴 CSR (정방향: from -> to, 역방향: to <- from)
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final long[] upWeights;
+    private final int[] upArcs;
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final long[] downWeights;
+    private final int[] downArcs;
+
+    private final LocalDateTime builtAt;
+    private final Duration buildTime;
+
+    private final ThreadLocal<QueryWorkspace> workspaces;
+
+    private ContractionHierarchy(HubGraph graph, int[] ranks, ArcList arcs, int shortcutCount,
+                                 LocalDateTime builtAt, Duration buildTime) {
+        this.graph = graph;
+        this.ranks = ranks;
+        this.arcFrom = Arrays.copyOf(arcs.from, arcs.size);
+        this.arcTo = Arrays.copyOf(arcs.to, arcs.size);
+        this.arcEdges = Arrays.copyOf(arcs.edges, arcs.size);
+        this.arcFirst = Arrays.copyOf(arcs.first, arcs.size);
+        this.arcSecond = Arrays.copyOf(arcs.second, arcs.size);
+        this.shortcutCount = shortcutCount;
+        this.builtAt = builtAt;
+        this.buildTime = buildTime;
+
+        int n = graph.hubCount();
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+        for (int arc = 0; arc < arcs.size; arc++) {
+            if (ranks[arcFrom[arc]] < ranks[arcTo[arc]]) {
+                upOffsets[arcFrom[arc] + 1]++;
+            } else {
+                downOffsets[arcTo[arc] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            upOffsets[i + 1] += upOffsets[i];
+            downOffsets[i + 1] += downOffsets[i];
+        }
+
+        this.upTargets = new int[upOffsets[n]];
+        this.upWeights = new long[upOffsets[n]];
+        this.upArcs = new int[upOffsets[n]];
+        this.downSources = new int[downOffsets[n]];
+        this.downWeights = new long[downOffsets[n]];
+        this.downArcs = new int[downOffsets[n]];
+        int[] upCursor = Arrays.copyOf(upOffsets, n);
+        int[] downCursor = Arrays.copyOf(downOffsets, n);
+        for (int arc = 0; arc < arcs.size; arc++) {
+            int from = arcFrom[arc];
+            int to = arcTo[arc];
+            if (ranks[from] < ranks[to]) {
+                int slot = upCursor[from]++;
+                upTargets[slot] = to;
+                upWeights[slot] = arcs.weights[arc];
+                upArcs[slot] = arc;
+            } else {
+                int slot = downCursor[to]++;
+                downSources[slot] = from;
+                downWeights[slot] = arcs.weights[arc];
+                downArcs[slot] = arc;
+            }
+        }
+
+        this.workspaces = ThreadLocal.withInitial(() -> new QueryWorkspace(n));
+    }
+
+    public static ContractionHierarchy build(HubGraph graph) {
+        long startedAt = System.nanoTime();
+        int n = graph.hubCount();
+
+        ArcList arcs = new ArcList(Math.max(16, graph.edgeCount() * 2));
+        AdjacencyList out = new AdjacencyList(n);
+        AdjacencyList in = new AdjacencyList(n);
+        for (int node = 0; node < n; node++) {
+            for (int e = graph.firstEdge(node); e < graph.firstEdge(node + 1); e++) {
+                int target = graph.edgeTarget(e);
+                if (target == node) {
+                    continue;
+                }
+                int arc = arcs.add(node, target, graph.edgeWeight(e), e, -1, -1);
+                out.add(node, arc);
+                in.add(target, arc);
+            }
+        }
+
+        Contractor contractor = new Contractor(n, arcs, out, in);
+
+        // 우선순위가 낮은 허브부터 축약, 꺼낼 때 다시 계산해서 더 나빠졌으면 되돌려 넣는다 (lazy update)
+        IndexedMinHeap queue = new IndexedMinHeap(n);
+        for (int node = 0; node < n; node++) {
+            queue.insertOrDecrease(node, contractor.priority(node));
+        }
+
+        int[] ranks = new int[n];
+        int order = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.pollMin();
+            long priority = contractor.priority(node);
+            if (priority > queue.minKey()) {
+                queue.insertOrDecrease(node, priority);
+                continue;
+            }
+            contractor.contract(node);
+            ranks[node] = order++;
+        }
+
+        return new ContractionHierarchy(graph, ranks, arcs, arcs.size - contractor.originalArcCount,
+                LocalDateTime.now(), Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    public long version() {
+        return graph.version();
+    }
+
+    public HubGraph graph() {
+        return graph;
+    }
+
+    public int hubCount() {
+        return graph.hubCount();
+    }
+
+    public int shortcutCount() {
+        return shortcutCount;
+    }
+
+    public LocalDateTime builtAt() {
+        return builtAt;
+    }
+
+    public Duration buildTime() {
+        return buildTime;
+    }
+
+    // 구간별 허브 경로, 도달할 수 없으면 빈 목록
+    public List<HubRoute> route(UUID startHubId, UUID endHubId) {
+        int[] path = edgePath(startHubId, endHubId);
+        if (path == null) {
+            return Collections.emptyList();
+        }
+        HubRoute[] route = new HubRoute[path.length];
+        for (int i = 0; i < path.length; i++) {
+            route[i] = graph.edge(path[i]);
+        }
+        return Arrays.asList(route);
+    }
+
+    // 경유 허브 UUID 목록 (출발 = 도착이면 출발 허브만)
+    public List<UUID> path(UUID startHubId, UUID endHubId) {
+        if (startHubId.equals(endHubId)) {
+            return graph.indexOf(startHubId) < 0 ? Collections.emptyList() : List.of(startHubId);
+        }
+        int[] path = edgePath(startHubId, endHubId);
+        if (path == null) {
+            return Collections.emptyList();
+        }
+        List<UUID> hubIds = new ArrayList<>(path.length + 1);
+        hubIds.add(startHubId);
+        for (int edge : path) {
+            hubIds.add(graph.hubId(graph.edgeTarget(edge)));
+        }
+        return hubIds;
+    }
+
+    // 원본 간선 인덱스 경로, 도달할 수 없거나 출발 = 도착이면 null
+    private int[] edgePath(UUID startHubId, UUID endHubId) {
+        int source = graph.indexOf(startHubId);
+        int target = graph.indexOf(endHubId);
+        if (source < 0 || target < 0 || source == target) {
+            return null;
+        }
+
+        QueryWorkspace ws = workspaces.get();
+        int meeting = search(ws, source, target);
+        if (meeting < 0) {
+            return null;
+        }
+
+        // 정방향 (source -> meeting) 간선은 뒤에서부터, 역방향 (meeting -> target) 간선은 앞에서부터 모은다
+        List<Integer> upward = new ArrayList<>();
+        for (int node = meeting; ws.forwardArc[node] >= 0; node = arcFrom[ws.forwardArc[node]]) {
+            upward.add(ws.forwardArc[node]);
+        }
+        Collections.reverse(upward);
+        List<Integer> shortcutPath = new ArrayList<>(upward);
+        for (int node = meeting; ws.backwardArc[node] >= 0; node = arcTo[ws.backwardArc[node]]) {
+            shortcutPath.add(ws.backwardArc[node]);
+        }
+
+        IntStack result = new IntStack();
+        IntStack stack = new IntStack();
+        for (int arc : shortcutPath) {
+            stack.push(arc);
+            while (!stack.isEmpty()) {
+                int current = stack.pop();
+                if (arcEdges[current] >= 0) {
+                    result.push(arcEdges[current]);
+                } else {
+                    stack.push(arcSecond[current]);
+                    stack.push(arcFirst[current]);
+                }
+            }
+        }
+        return result.toArray();
+    }
+
+    // 양방향 상향 탐색, 만나는 허브 반환 (없으면 -1)
+    private int search(QueryWorkspace ws, int source, int target) {
+        ws.reset();
+        IndexedMinHeap forwardHeap = ws.forwardHeap;
+        IndexedMinHeap backwardHeap = ws.backwardHeap;
+        ws.visitForward(source, 0L, -1);
+        ws.visitBackward(target, 0L, -1);
+        forwardHeap.insertOrDecrease(source, 0L);
+        backwardHeap.insertOrDecrease(target, 0L);
+
+        long best = UNREACHABLE;
+        int meeting = -1;
+        while (!forwardHeap.isEmpty() || !backwardHeap.isEmpty()) {
+            long forwardMin = forwardHeap.minKey();
+            long backwardMin = backwardHeap.minKey();
+            // 남은 후보가 모두 현재 최단 거리 이상이면 종료
+            if (Math.min(forwardMin, backwardMin) >= best) {
+                break;
+            }
+
+            if (forwardMin <= backwardMin) {
+                int node = forwardHeap.pollMin();
+                long distance = ws.forwardDist[node];
+                long total = addDistance(distance, ws.backwardDistance(node));
+                if (total < best) {
+                    best = total;
+                    meeting = node;
+                }
+                if (stalledForward(ws, node, distance)) {
+                    continue;
+                }
+                for (int slot = upOffsets[node]; slot < upOffsets[node + 1]; slot++) {
+                    int neighbor = upTargets[slot];
+                    long newDistance = distance + upWeights[slot];
+                    if (newDistance < ws.forwardDistance(neighbor)) {
+                        ws.visitForward(neighbor, newDistance, upArcs[slot]);
+                        forwardHeap.insertOrDecrease(neighbor, newDistance);
+                    }
+                }
+            } else {
+                int node = backwardHeap.pollMin();
+                long distance = ws.backwardDist[node];
+                long total = addDistance(distance, ws.forwardDistance(node));
+                if (total < best) {
+                    best = total;
+                    meeting = node;
+                }
+                if (stalledBackward(ws, node, distance)) {
+                    continue;
+                }
+                for (int slot = downOffsets[node]; slot < downOffsets[node + 1]; slot++) {
+                    int neighbor = downSources[slot];
+                    long newDistance = distance + downWeights[slot];
+                    if (newDistance < ws.backwardDistance(neighbor)) {
+                        ws.visitBackward(neighbor, newDistance, downArcs[slot]);
+                        backwardHeap.insertOrDecrease(neighbor, newDistance);
+                    }
+                }
+            }
+        }
+        forwardHeap.clear();
+        backwardHeap.clear();
+        return meeting;
+    }
+
+    // stall-on-demand: 순위가 더 높은 허브를 거쳐 더 짧게 도달할 수 있으면 이 허브에서는 더 뻗지 않는다
+    private boolean stalledForward(QueryWorkspace ws, int node, long distance) {
+        for (int slot = downOffsets[node]; slot < downOffsets[node + 1]; slot++) {
+            long via = ws.forwardDistance(downSources[slot]);
+            if (via != UNREACHABLE && via + downWeights[slot] < distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean stalledBackward(QueryWorkspace ws, int node, long distance) {
+        for (int slot = upOffsets[node]; slot < upOffsets[node + 1]; slot++) {
+            long via = ws.backwardDistance(upTargets[slot]);
+            if (via != UNREACHABLE && via + upWeights[slot] < distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long addDistance(long a, long b) {
+        return a == UNREACHABLE || b == UNREACHABLE ? UNREACHABLE : a + b;
+    }
+
+    // 전처리 중 허브 축약 - 보조 탐색 상태를 재사용한다
+    private static final class Contractor {
+        private final ArcList arcs;
+        private final AdjacencyList out;
+        private final AdjacencyList in;
+        private final int originalArcCount;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+
+        // 출발 허브별로 가장 짧은 진입 간선만 사용
+        private final int[] bestInArc;
+        private final int[] bestInStamps;
+        private final int[] bestOutArc;
+        private final int[] bestOutStamps;
+        private int bestStamp;
+
+        private final long[] witnessDist;
+        private final int[] witnessStamps;
+        private final IndexedMinHeap witnessHeap;
+        private int witnessStamp;
+
+        private final IntStack inNodes = new IntStack();
+        private final IntStack outNodes = new IntStack();
+
+        private Contractor(int n, ArcList arcs, AdjacencyList out, AdjacencyList in) {
+            this.arcs = arcs;
+            this.out = out;
+            this.in = in;
+            this.originalArcCount = arcs.size;
+            this.contracted = new boolean[n];
+            this.contractedNeighbors = new int[n];
+            this.bestInArc = new int[n];
+            this.bestInStamps = new int[n];
+            this.bestOutArc = new int[n];
+            this.bestOutStamps = new int[n];
+            this.witnessDist = new long[n];
+            this.witnessStamps = new int[n];
+            this.witnessHeap = new IndexedMinHeap(n);
+        }
+
+        // 간선 차이(추가될 지름길 수 - 제거되는 간선 수) + 이미 축약된 이웃 수
+        private long priority(int node) {
+            int removed = collectNeighbors(node);
+            int shortcuts = processShortcuts(node, false);
+            return (long) shortcuts - removed + contractedNeighbors[node];
+        }
+
+        private void contract(int node) {
+            collectNeighbors(node);
+            processShortcuts(node, true);
+            contracted[node] = true;
+            for (int i = 0; i < inNodes.size; i++) {
+                contractedNeighbors[inNodes.values[i]]++;
+            }
+            for (int i = 0; i < outNodes.size; i++) {
+                contractedNeighbors[outNodes.values[i]]++;
+            }
+        }
+
+        // 축약되지 않은 이웃별 최단 진입/진출 간선 수집, 제거될 간선 수 반환
+        private int collectNeighbors(int node) {
+            if (++bestStamp == 0) {
+                Arrays.fill(bestInStamps, 0);
+                Arrays.fill(bestOutStamps, 0);
+                bestStamp = 1;
+            }
+            inNodes.clear();
+            outNodes.clear();
+            int removed = 0;
+            for (int i = 0; i < in.sizes[node]; i++) {
+                int arc = in.arcs[node][i];
+                int from = arcs.from[arc];
+                if (contracted[from]) {
+                    continue;
+                }
+                removed++;
+                if (bestInStamps[from] != bestStamp) {
+                    bestInStamps[from] = bestStamp;
+                    bestInArc[from] = arc;
+                    inNodes.push(from);
+                } else if (arcs.weights[arc] < arcs.weights[bestInArc[from]]) {
+                    bestInArc[from] = arc;
+                }
+            }
+            for (int i = 0; i < out.sizes[node]; i++) {
+                int arc = out.arcs[node][i];
+                int to = arcs.to[arc];
+                if (contracted[to]) {
+                    continue;
+                }
+                removed++;
+                if (bestOutStamps[to] != bestStamp) {
+                    bestOutStamps[to] = bestStamp;
+                    bestOutArc[to] = arc;
+                    outNodes.push(to);
+                } else if (arcs.weights[arc] < arcs.weights[bestOutArc[to]]) {
+                    bestOutArc[to] = arc;
+                }
+            }
+            return removed;
+        }
+
+        // (u -> node -> w) 보다 짧은 우회 경로가 없으면 지름길 u -> w 필요
+        // apply 가 false 면 개수만 세고, true 면 실제로 추가한다
+        private int processShortcuts(int node, boolean apply) {
+            if (inNodes.size == 0 || outNodes.size == 0) {
+                return 0;
+            }
+            long maxOut = 0;
+            for (int i = 0; i < outNodes.size; i++) {
+                maxOut = Math.max(maxOut, arcs.weights[bestOutArc[outNodes.values[i]]]);
+            }
+
+            int shortcuts = 0;
+            for (int i = 0; i < inNodes.size; i++) {
+                int from = inNodes.values[i];
+                int inArc = bestInArc[from];
+                long inWeight = arcs.weights[inArc];
+                witnessSearch(from, node, inWeight + maxOut);
+
+                for (int j = 0; j < outNodes.size; j++) {
+                    int to = outNodes.values[j];
+                    if (to == from) {
+                        continue;
+                    }
+                    int outArc = bestOutArc[to];
+                    long viaWeight = inWeight + arcs.weights[outArc];
+                    if (witnessDistance(to) <= viaWeight) {
+                        continue;
+                    }
+                    shortcuts++;
+                    if (apply) {
+                        int shortcut = arcs.add(from, to, viaWeight, -1, inArc, outArc);
+                        out.add(from, shortcut);
+                        in.add(to, shortcut);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        // 축약할 허브를 빼고 source 에서 limit 이하 거리까지 탐색
+        private void witnessSearch(int source, int excluded, long limit) {
+            if (++witnessStamp == 0) {
+                Arrays.fill(witnessStamps, 0);
+                witnessStamp = 1;
+            }
+            witnessStamps[source] = witnessStamp;
+            witnessDist[source] = 0L;
+            witnessHeap.insertOrDecrease(source, 0L);
+
+            int settled = 0;
+            while (!witnessHeap.isEmpty()) {
+                if (witnessHeap.minKey() > limit || settled++ >= WITNESS_SETTLE_LIMIT) {
+                    break;
+                }
+                int current = witnessHeap.pollMin();
+                long distance = witnessDist[current];
+                for (int i = 0; i < out.sizes[current]; i++) {
+                    int arc = out.arcs[current][i];
+                    int neighbor = arcs.to[arc];
+                    if (neighbor == excluded || contracted[neighbor]) {
+                        continue;
+                    }
+                    long newDistance = distance + arcs.weights[arc];
+                    if (newDistance < witnessDistance(neighbor)) {
+                        witnessStamps[neighbor] = witnessStamp;
+                        witnessDist[neighbor] = newDistance;
+                        witnessHeap.insertOrDecrease(neighbor, newDistance);
+                    }
+                }
+            }
+            witnessHeap.clear();
+        }
+
+        private long witnessDistance(int node) {
+            return witnessStamps[node] == witnessStamp ? witnessDist[node] : UNREACHABLE;
+        }
+    }
+
+    // 전처리 중 늘어나는 간선 목록
+    private static final class ArcList {
+        private int[] from;
+        private int[] to;
+        private long[] weights;
+        private int[] edges;
+        private int[] first;
+        private int[] second;
+        private int size;
+
+        private ArcList(int capacity) {
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.weights = new long[capacity];
+            this.edges = new int[capacity];
+            this.first = new int[capacity];
+            this.second = new int[capacity];
+        }
+
+        private int add(int arcFrom, int arcTo, long weight, int edge, int firstArc, int secondArc) {
+            if (size == from.length) {
+                int capacity = size * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                edges = Arrays.copyOf(edges, capacity);
+                first = Arrays.copyOf(first, capacity);
+                second = Arrays.copyOf(second, capacity);
+            }
+            from[size] = arcFrom;
+            to[size] = arcTo;
+            weights[size] = weight;
+            edges[size] = edge;
+            first[size] = firstArc;
+            second[size] = secondArc;
+            return size++;
+        }
+    }
+
+    // 허브별 간선 인덱스 목록 (전처리 중 지름길이 추가됨)
+    private static final class AdjacencyList {
+        private final int[][] arcs;
+        private final int[] sizes;
+
+        private AdjacencyList(int n) {
+            this.arcs = new int[n][4];
+            this.sizes = new int[n];
+        }
+
+        private void add(int node, int arc) {
+            if (sizes[node] == arcs[node].length) {
+                arcs[node] = Arrays.copyOf(arcs[node], sizes[node] * 2);
+            }
+            arcs[node][sizes[node]++] = arc;
+        }
+    }
+
+    private static final class IntStack {
+        private int[] values = new int[16];
+        private int size;
+
+        private void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int pop() {
+            return values[--size];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class QueryWorkspace {
+        private final long[] forwardDist;
+        private final int[] forwardArc;
+        private final long[] backwardDist;
+        private final int[] backwardArc;
+        private final int[] forwardStamps;
+        private final int[] backwardStamps;
+        private final IndexedMinHeap forwardHeap;
+        private final IndexedMinHeap backwardHeap;
+        private int stamp;
+
+        private QueryWorkspace(int hubCount) {
+            this.forwardDist = new long[hubCount];
+            this.forwardArc = new int[hubCount];
+            this.backwardDist = new long[hubCount];
+            this.backwardArc = new int[hubCount];
+            this.forwardStamps = new int[hubCount];
+            this.backwardStamps = new int[hubCount];
+            this.forwardHeap = new IndexedMinHeap(hubCount);
+            this.backwardHeap = new IndexedMinHeap(hubCount);
+        }
+
+        private void reset() {
+            if (++stamp == 0) {
+                Arrays.fill(forwardStamps, 0);
+                Arrays.fill(backwardStamps, 0);
+                stamp = 1;
+            }
+        }
+
+        private long forwardDistance(int node) {
+            return forwardStamps[node] == stamp ? forwardDist[node] : UNREACHABLE;
+        }
+
+        private long backwardDistance(int node) {
+            return backwardStamps[node] == stamp ? backwardDist[node] : UNREACHABLE;
+        }
+
+        private void visitForward(int node, long distance, int arc) {
+            forwardStamps[node] = stamp;
+            forwardDist[node] = distance;
+            forwardArc[node] = arc;
+        }
+
+        private void visitBackward(int node, long distance, int arc) {
+            backwardStamps[node] = stamp;
+            backwardDist[node] = distance;
+            backwardArc[node] = arc;
+        }
+    }
+}
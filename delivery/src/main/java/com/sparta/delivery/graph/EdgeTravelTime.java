@@ -0,0 +1,9 @@
+package com.sparta.delivery.graph;
+
+// 출발 시각에 따라 달라지는 간선 소요 시간
+// departureAtMillis: 현지 시각 기준 epoch 밀리초 (LocalDateTime 을 UTC 로 간주해 변환한 값)
+@FunctionalInterface
+public interface EdgeTravelTime {
+
+    long travelMillis(int edge, long departureAtMillis);
+}
@@ -0,0 +1,89 @@
+package com.sparta.delivery.graph;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+// 허브 인덱스별 거리 배열을 (허브 UUID -> 거리) 맵으로 보여주는 읽기 전용 뷰
+// 도달할 수 없는 허브(+Infinity)는 맵에 없는 것으로 취급
+final class HubDistanceMap extends AbstractMap<UUID, Double> {
+
+    private final HubGraph graph;
+    private final double[] distances;
+    private final int size;
+
+    HubDistanceMap(HubGraph graph, double[] distances) {
+        this.graph = graph;
+        this.distances = distances;
+        int reachable = 0;
+        for (double distance : distances) {
+            if (distance != Double.POSITIVE_INFINITY) {
+                reachable++;
+            }
+        }
+        this.size = reachable;
+    }
+
+    @Override
+    public Double get(Object key) {
+        if (!(key instanceof UUID hubId)) {
+            return null;
+        }
+        int index = graph.indexOf(hubId);
+        return index < 0 || distances[index] == Double.POSITIVE_INFINITY ? null : distances[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<UUID, Double>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<UUID, Double>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        int index = from;
+                        while (index < distances.length && distances[index] == Double.POSITIVE_INFINITY) {
+                            index++;
+                        }
+                        return index;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < distances.length;
+                    }
+
+                    @Override
+                    public Map.Entry<UUID, Double> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int index = next;
+                        next = advance(index + 1);
+                        return new SimpleImmutableEntry<>(graph.hubId(index), distances[index]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,557 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 허브 경로 목록을 컴파일한 불변 그래프 스냅샷
+// 허브 UUID -> 0..n-1 정수 인덱스, 간선은 CSR 배열(offsets/targets/weights)로 보관
+// 한 번 만들어지면 모든 요청 스레드가 공유한다
+public final class HubGraph {
+
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+    private static final int DISTANCE_CACHE_MAX_HUBS = 2000;
+
+    private final long version;
+    private final List<HubRoute> routes;
+    private final UUID[] hubIds;
+    private final Map<UUID, Integer> hubIndex;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] weights;
+    private final HubRoute[] edges;
+
+    // (출발, 도착) -> 간선 인덱스, 개방 주소법 해시 테이블
+    private final long[] edgeKeys;
+    private final int[] edgeSlots;
+    private final int edgeMask;
+
+    // 출발 허브별 (도착 허브 -> 거리)
+    private final List<Map<UUID, Double>> outgoingDistances;
+
+    // 역방향 CSR - 도착 허브별로 들어오는 간선 인덱스
+    private final int[] sources;
+    private final int[] inOffsets;
+    private final int[] inEdges;
+
+    // 도착 허브별 (모든 허브 -> 도착 허브) 경로 거리, 처음 요청될 때 계산해서 스냅샷 수명 동안 보관
+    // 허브 수가 많으면 n*n 이 너무 커지므로 보관하지 않고 매번 계산
+    private final AtomicReferenceArray<double[]> distancesTo;
+
+    // 스레드별 탐색 상태 - 질의마다 배열을 새로 만들지 않기 위함
+    private final ThreadLocal<Workspace> workspaces;
+
+    private HubGraph(long version, List<HubRoute> routes, UUID[] hubIds, Map<UUID, Integer> hubIndex,
+                     int[] offsets, int[] targets, long[] weights, HubRoute[] edges) {
+        this.version = version;
+        this.routes = routes;
+        this.hubIds = hubIds;
+        this.hubIndex = hubIndex;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edges = edges;
+
+        int capacity = Integer.highestOneBit(Math.max(2, targets.length * 2 - 1)) << 1;
+        this.edgeKeys = new long[capacity];
+        this.edgeSlots = new int[capacity];
+        this.edgeMask = capacity - 1;
+        Arrays.fill(edgeSlots, -1);
+        List<Map<UUID, Double>> distances = new ArrayList<>(hubIds.length);
+        for (int node = 0; node < hubIds.length; node++) {
+            Map<UUID, Double> row = new HashMap<>();
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                // 같은 (출발, 도착) 경로가 여러 개면 먼저 등록된 경로 사용
+                indexEdge(node, targets[e], e);
+                row.putIfAbsent(hubIds[targets[e]], edges[e].estimatedDistance());
+            }
+            distances.add(Collections.unmodifiableMap(row));
+        }
+        this.outgoingDistances = distances;
+
+        int hubCount = hubIds.length;
+        this.sources = new int[targets.length];
+        this.inOffsets = new int[hubCount + 1];
+        this.inEdges = new int[targets.length];
+        for (int node = 0; node < hubCount; node++) {
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                sources[e] = node;
+                inOffsets[targets[e] + 1]++;
+            }
+        }
+        for (int i = 0; i < hubCount; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        int[] inCursor = Arrays.copyOf(inOffsets, hubCount);
+        for (int e = 0; e < targets.length; e++) {
+            inEdges[inCursor[targets[e]]++] = e;
+        }
+        this.distancesTo = new AtomicReferenceArray<>(hubCount <= DISTANCE_CACHE_MAX_HUBS ? hubCount : 0);
+
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(hubIds.length));
+    }
+
+    public static HubGraph compile(long version, List<HubRoute> routes) {
+        // 허브 인덱스 부여
+        Map<UUID, Integer> hubIndex = new HashMap<>();
+        List<UUID> hubIdList = new ArrayList<>();
+        for (HubRoute route : routes) {
+            intern(hubIndex, hubIdList, route.departureHubId());
+            intern(hubIndex, hubIdList, route.arrivalHubId());
+        }
+        int hubCount = hubIdList.size();
+        int edgeCount = routes.size();
+
+        // 출발 허브별 간선 수 -> offsets
+        int[] offsets = new int[hubCount + 1];
+        for (HubRoute route : routes) {
+            offsets[hubIndex.get(route.departureHubId()) + 1]++;
+        }
+        for (int i = 0; i < hubCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // 간선 배치
+        int[] cursor = Arrays.copyOf(offsets, hubCount);
+        int[] targets = new int[edgeCount];
+        long[] weights = new long[edgeCount];
+        HubRoute[] edges = new HubRoute[edgeCount];
+        for (HubRoute route : routes) {
+            int slot = cursor[hubIndex.get(route.departureHubId())]++;
+            targets[slot] = hubIndex.get(route.arrivalHubId());
+            weights[slot] = route.estimateTime().toMillis();
+            edges[slot] = route;
+        }
+
+        return new HubGraph(version, routes, hubIdList.toArray(new UUID[0]), hubIndex,
+                offsets, targets, weights, edges);
+    }
+
+    private static void intern(Map<UUID, Integer> hubIndex, List<UUID> hubIdList, UUID hubId) {
+        if (!hubIndex.containsKey(hubId)) {
+            hubIndex.put(hubId, hubIdList.size());
+            hubIdList.add(hubId);
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<HubRoute> routes() {
+        return routes;
+    }
+
+    public int hubCount() {
+        return hubIds.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public int indexOf(UUID hubId) {
+        Integer index = hubIndex.get(hubId);
+        return index == null ? -1 : index;
+    }
+
+    public UUID hubId(int index) {
+        return hubIds[index];
+    }
+
+    public HubRoute edge(int edge) {
+        return edges[edge];
+    }
+
+    public int edgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    public long edgeWeight(int edge) {
+        return weights[edge];
+    }
+
+    // 출발 허브의 간선 범위 [firstEdge(node), firstEdge(node + 1))
+    public int firstEdge(int node) {
+        return offsets[node];
+    }
+
+    // (출발, 도착) 허브 경로 O(1) 조회, 없으면 null
+    public HubRoute findEdge(UUID departureHubId, UUID arrivalHubId) {
+        int departure = indexOf(departureHubId);
+        int arrival = indexOf(arrivalHubId);
+        if (departure < 0 || arrival < 0) {
+            return null;
+        }
+        int edge = edgeIndex(departure, arrival);
+        return edge < 0 ? null : edges[edge];
+    }
+
+    // 간선 인덱스 조회, 없으면 -1
+    public int edgeIndex(int departure, int arrival) {
+        long key = edgeKey(departure, arrival);
+        for (int slot = mix(key) & edgeMask; edgeSlots[slot] >= 0; slot = (slot + 1) & edgeMask) {
+            if (edgeKeys[slot] == key) {
+                return edgeSlots[slot];
+            }
+        }
+        return -1;
+    }
+
+    // 출발 허브에서 바로 갈 수 있는 허브별 거리, 등록되지 않은 허브면 빈 맵
+    public Map<UUID, Double> outgoingDistances(UUID departureHubId) {
+        int departure = indexOf(departureHubId);
+        return departure < 0 ? Collections.emptyMap() : outgoingDistances.get(departure);
+    }
+
+    // 모든 허브에서 도착 허브까지의 최단 경로 거리 (도착 허브에서 역방향 다익스트라 한 번)
+    // 도달할 수 없는 허브는 결과에서 빠지고, 등록되지 않은 허브면 빈 맵
+    public Map<UUID, Double> distancesTo(UUID arrivalHubId) {
+        int arrival = indexOf(arrivalHubId);
+        return arrival < 0 ? Collections.emptyMap() : new HubDistanceMap(this, distancesTo(arrival));
+    }
+
+    // 인덱스별 거리 배열 (도달 불가 = +Infinity), 반환한 배열은 공유되므로 수정하면 안 됨
+    public double[] distancesTo(int arrival) {
+        if (distancesTo.length() == 0) {
+            return reverseDistances(arrival);
+        }
+        double[] row = distancesTo.get(arrival);
+        if (row == null) {
+            row = reverseDistances(arrival);
+            distancesTo.compareAndSet(arrival, null, row);
+        }
+        return row;
+    }
+
+    // 출발 허브의 허브 경로 목록
+    public List<HubRoute> outgoingRoutes(UUID departureHubId) {
+        int departure = indexOf(departureHubId);
+        if (departure < 0) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(edges).subList(offsets[departure], offsets[departure + 1]));
+    }
+
+    private void indexEdge(int departure, int arrival, int edge) {
+        long key = edgeKey(departure, arrival);
+        int slot = mix(key) & edgeMask;
+        while (edgeSlots[slot] >= 0) {
+            if (edgeKeys[slot] == key) {
+                return;
+            }
+            slot = (slot + 1) & edgeMask;
+        }
+        edgeKeys[slot] = key;
+        edgeSlots[slot] = edge;
+    }
+
+    private static long edgeKey(int departure, int arrival) {
+        return ((long) departure << 32) | (arrival & 0xFFFFFFFFL);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // 시작 허브부터 종착 허브까지 최소 소요 시간 경로 (허브 UUID 목록)
+    public List<UUID> shortestPath(UUID startHubId, UUID endHubId) {
+        if (startHubId.equals(endHubId)) {
+            return List.of(startHubId);
+        }
+        int source = indexOf(startHubId);
+        int target = indexOf(endHubId);
+        if (source < 0 || target < 0) {
+            return Collections.emptyList();
+        }
+
+        Workspace ws = workspaces.get();
+        if (!dijkstra(ws, source, target)) {
+            return Collections.emptyList();
+        }
+        return reconstructPath(ws, target);
+    }
+
+    // 시작 허브부터 종착 허브까지 최소 소요 시간 경로 (구간별 허브 경로 목록)
+    public List<HubRoute> shortestRoute(UUID startHubId, UUID endHubId) {
+        if (startHubId.equals(endHubId)) {
+            return Collections.emptyList();
+        }
+        int source = indexOf(startHubId);
+        int target = indexOf(endHubId);
+        if (source < 0 || target < 0) {
+            return Collections.emptyList();
+        }
+
+        Workspace ws = workspaces.get();
+        if (!dijkstra(ws, source, target)) {
+            return Collections.emptyList();
+        }
+        return reconstructRoute(ws, target);
+    }
+
+    // 출발 시각을 반영한 최소 도착 시각 경로 (간선 소요 시간이 출발 시각에 따라 달라짐)
+    public TimedRoute timeDependentRoute(UUID startHubId, UUID endHubId, long departureAtMillis, EdgeTravelTime travelTime) {
+        int source = indexOf(startHubId);
+        int target = indexOf(endHubId);
+        if (source < 0 || target < 0 || source == target) {
+            return new TimedRoute(Collections.emptyList(), new long[0]);
+        }
+
+        Workspace ws = workspaces.get();
+        if (!dijkstra(ws, source, target, null, null, travelTime, departureAtMillis)) {
+            return new TimedRoute(Collections.emptyList(), new long[0]);
+        }
+        List<HubRoute> route = reconstructRoute(ws, target);
+        long[] legMillis = new long[route.size()];
+        int index = route.size();
+        for (int node = target; ws.prevEdge[node] >= 0; node = ws.prev[node]) {
+            legMillis[--index] = ws.dist[node] - ws.dist[ws.prev[node]];
+        }
+        return new TimedRoute(route, legMillis);
+    }
+
+    // 한 출발 허브, 같은 출발 시각에서 여러 종착 허브까지의 최소 도착 시각 경로 - 시간 의존 최단 경로 트리 한 번으로 계산
+    // 도달할 수 없거나 등록되지 않은 종착 허브는 빈 목록
+    public Map<UUID, List<HubRoute>> timeDependentRoutes(UUID startHubId, Collection<UUID> endHubIds,
+                                                         long departureAtMillis, EdgeTravelTime travelTime) {
+        Map<UUID, List<HubRoute>> result = new HashMap<>();
+        int source = indexOf(startHubId);
+        if (source < 0) {
+            endHubIds.forEach(endHubId -> result.put(endHubId, Collections.emptyList()));
+            return result;
+        }
+
+        Workspace ws = workspaces.get();
+        dijkstra(ws, source, -1, null, null, travelTime, departureAtMillis);
+        for (UUID endHubId : endHubIds) {
+            int target = indexOf(endHubId);
+            boolean reached = target >= 0 && target != source && ws.stamps[target] == ws.stamp;
+            result.put(endHubId, reached ? reconstructRoute(ws, target) : Collections.emptyList());
+        }
+        return result;
+    }
+
+    // 이미 정한 경로에 출발 시각 기준 구간별 소요 시간 적용 (탐색 없음, 경로 길이만큼만 계산)
+    // 그래프에 없는 구간은 정적 예상 시간 사용
+    public TimedRoute timedRoute(List<HubRoute> route, long departureAtMillis, EdgeTravelTime travelTime) {
+        long[] legMillis = new long[route.size()];
+        long at = departureAtMillis;
+        for (int i = 0; i < route.size(); i++) {
+            HubRoute leg = route.get(i);
+            int departure = indexOf(leg.departureHubId());
+            int arrival = indexOf(leg.arrivalHubId());
+            int edge = departure < 0 || arrival < 0 ? -1 : edgeIndex(departure, arrival);
+            legMillis[i] = edge < 0 ? leg.estimateTime().toMillis() : travelTime.travelMillis(edge, at);
+            at += legMillis[i];
+        }
+        return new TimedRoute(route, legMillis);
+    }
+
+    // 한 출발 허브에서 여러 종착 허브까지의 최단 경로 - 최단 경로 트리 한 번으로 계산
+    // 도달할 수 없거나 등록되지 않은 종착 허브는 빈 목록
+    public Map<UUID, List<HubRoute>> shortestRoutes(UUID startHubId, Collection<UUID> endHubIds) {
+        Map<UUID, List<HubRoute>> result = new HashMap<>();
+        int source = indexOf(startHubId);
+        if (source < 0) {
+            endHubIds.forEach(endHubId -> result.put(endHubId, Collections.emptyList()));
+            return result;
+        }
+
+        Workspace ws = workspaces.get();
+        dijkstra(ws, source, -1);
+        for (UUID endHubId : endHubIds) {
+            int target = indexOf(endHubId);
+            boolean reached = target >= 0 && ws.stamps[target] == ws.stamp;
+            result.put(endHubId, reached ? reconstructRoute(ws, target) : Collections.emptyList());
+        }
+        return result;
+    }
+
+    // 출발 허브 기준 모든 허브까지의 최단 경로 트리
+    public ShortestPathTree shortestPathTree(int source) {
+        Workspace ws = workspaces.get();
+        dijkstra(ws, source, -1);
+
+        int hubCount = hubIds.length;
+        long[] times = new long[hubCount];
+        int[] prevEdges = new int[hubCount];
+        int[] prevNodes = new int[hubCount];
+        for (int node = 0; node < hubCount; node++) {
+            boolean reached = ws.stamps[node] == ws.stamp;
+            times[node] = reached ? ws.dist[node] : UNREACHABLE;
+            prevEdges[node] = reached ? ws.prevEdge[node] : -1;
+            prevNodes[node] = reached ? ws.prev[node] : -1;
+        }
+        return new ShortestPathTree(source, Arrays.copyOf(ws.settled, ws.settledCount), times, prevNodes, prevEdges);
+    }
+
+    // 금지 허브/간선을 피해서 찾은 최단 경로의 간선 인덱스 목록, 도달 불가 시 null
+    int[] shortestEdgePath(int source, int target, boolean[] bannedNodes, boolean[] bannedEdges) {
+        Workspace ws = workspaces.get();
+        if (!dijkstra(ws, source, target, bannedNodes, bannedEdges)) {
+            return null;
+        }
+        int length = 0;
+        for (int node = target; ws.prevEdge[node] >= 0; node = ws.prev[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = target; ws.prevEdge[node] >= 0; node = ws.prev[node]) {
+            path[--length] = ws.prevEdge[node];
+        }
+        return path;
+    }
+
+    private boolean dijkstra(Workspace ws, int source, int target) {
+        return dijkstra(ws, source, target, null, null);
+    }
+
+    private boolean dijkstra(Workspace ws, int source, int target, boolean[] bannedNodes, boolean[] bannedEdges) {
+        return dijkstra(ws, source, target, bannedNodes, bannedEdges, null, 0L);
+    }
+
+    // target 이 -1 이면 도달 가능한 모든 허브를 확정할 때까지 탐색
+    // travelTime 이 있으면 간선 가중치 대신 (출발 시각 + 누적 시간) 기준 소요 시간 사용 (FIFO 가정)
+    private boolean dijkstra(Workspace ws, int source, int target, boolean[] bannedNodes, boolean[] bannedEdges,
+                             EdgeTravelTime travelTime, long departureAtMillis) {
+        ws.reset();
+        IndexedMinHeap heap = ws.heap;
+        ws.visit(source, 0L, -1, -1);
+        heap.insertOrDecrease(source, 0L);
+
+        while (!heap.isEmpty()) {
+            int current = heap.pollMin();
+            ws.settled[ws.settledCount++] = current;
+
+            // 종착 허브에 도달하면 종료
+            if (current == target) {
+                heap.clear();
+                return true;
+            }
+
+            long currentTime = ws.dist[current];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                if ((bannedEdges != null && bannedEdges[e]) || (bannedNodes != null && bannedNodes[neighbor])) {
+                    continue;
+                }
+                long newTime = currentTime + (travelTime == null
+                        ? weights[e]
+                        : travelTime.travelMillis(e, departureAtMillis + currentTime));
+                if (newTime < ws.distance(neighbor)) {
+                    ws.visit(neighbor, newTime, current, e);
+                    heap.insertOrDecrease(neighbor, newTime);
+                }
+            }
+        }
+        return target < 0;
+    }
+
+    // 간선 거리(m) 기준 역방향 다익스트라
+    // 음이 아닌 double 은 비트 패턴(long)의 대소가 값의 대소와 같으므로 long 키 힙을 그대로 쓴다
+    private double[] reverseDistances(int arrival) {
+        Workspace ws = workspaces.get();
+        ws.reset();
+        IndexedMinHeap heap = ws.heap;
+        long zero = Double.doubleToLongBits(0.0);
+        ws.visit(arrival, zero, -1, -1);
+        heap.insertOrDecrease(arrival, zero);
+
+        while (!heap.isEmpty()) {
+            int current = heap.pollMin();
+            ws.settled[ws.settledCount++] = current;
+            double currentDistance = Double.longBitsToDouble(ws.dist[current]);
+            for (int i = inOffsets[current]; i < inOffsets[current + 1]; i++) {
+                int e = inEdges[i];
+                int neighbor = sources[e];
+                long newDistance = Double.doubleToLongBits(currentDistance + Math.max(0.0, edges[e].estimatedDistance()));
+                if (newDistance < ws.distance(neighbor)) {
+                    ws.visit(neighbor, newDistance, current, e);
+                    heap.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+        }
+
+        double[] row = new double[hubIds.length];
+        Arrays.fill(row, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < ws.settledCount; i++) {
+            int node = ws.settled[i];
+            row[node] = Double.longBitsToDouble(ws.dist[node]);
+        }
+        return row;
+    }
+
+    private List<UUID> reconstructPath(Workspace ws, int target) {
+        int length = 0;
+        for (int node = target; node >= 0; node = ws.prev[node]) {
+            length++;
+        }
+        UUID[] path = new UUID[length];
+        for (int node = target; node >= 0; node = ws.prev[node]) {
+            path[--length] = hubIds[node];
+        }
+        return Arrays.asList(path);
+    }
+
+    private List<HubRoute> reconstructRoute(Workspace ws, int target) {
+        int length = 0;
+        for (int node = target; ws.prevEdge[node] >= 0; node = ws.prev[node]) {
+            length++;
+        }
+        HubRoute[] route = new HubRoute[length];
+        for (int node = target; ws.prevEdge[node] >= 0; node = ws.prev[node]) {
+            route[--length] = edges[ws.prevEdge[node]];
+        }
+        return Arrays.asList(route);
+    }
+
+    // 탐색마다 배열을 지우지 않도록 stamp 로 유효 여부를 구분
+    private static final class Workspace {
+        private final long[] dist;
+        private final int[] prev;
+        private final int[] prevEdge;
+        private final int[] settled;
+        private final int[] stamps;
+        private final IndexedMinHeap heap;
+        private int stamp;
+        private int settledCount;
+
+        private Workspace(int hubCount) {
+            this.dist = new long[hubCount];
+            this.prev = new int[hubCount];
+            this.prevEdge = new int[hubCount];
+            this.settled = new int[hubCount];
+            this.stamps = new int[hubCount];
+            this.heap = new IndexedMinHeap(hubCount);
+        }
+
+        private void reset() {
+            if (++stamp == 0) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+            settledCount = 0;
+        }
+
+        private long distance(int node) {
+            return stamps[node] == stamp ? dist[node] : UNREACHABLE;
+        }
+
+        private void visit(int node, long distance, int previous, int previousEdge) {
+            stamps[node] = stamp;
+            dist[node] = distance;
+            prev[node] = previous;
+            prevEdge[node] = previousEdge;
+        }
+    }
+}
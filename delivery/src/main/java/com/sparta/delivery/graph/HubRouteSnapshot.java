@@ -0,0 +1,19 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Redis 에서 읽어온 허브 경로 한 벌과 컴파일된 그래프
+// routeVersion: core 가 경로를 갱신할 때마다 올리는 버전 (hub_routes:version)
+public record HubRouteSnapshot(
+        long routeVersion,
+        HubGraph graph,
+        LocalDateTime loadedAt
+) {
+
+    public List<HubRoute> routes() {
+        return graph.routes();
+    }
+}
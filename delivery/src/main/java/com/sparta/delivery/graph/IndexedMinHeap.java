@@ -0,0 +1,111 @@
+package com.sparta.delivery.graph;
+
+import java.util.Arrays;
+
+// 노드 번호(0..capacity-1)를 원소로 갖는 인덱스 이진 힙 - decrease-key 지원
+public final class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] keys;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    public long key(int node) {
+        return keys[node];
+    }
+
+    // 없으면 추가, 있으면 더 작은 키로 갱신
+    public void insertOrDecrease(int node, long key) {
+        int pos = positions[node];
+        if (pos < 0) {
+            pos = size++;
+            heap[pos] = node;
+            positions[node] = pos;
+            keys[node] = key;
+            siftUp(pos);
+        } else if (key < keys[node]) {
+            keys[node] = key;
+            siftUp(pos);
+        }
+    }
+
+    // 최소 키 (비어 있으면 Long.MAX_VALUE)
+    public long minKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[heap[0]];
+    }
+
+    public int pollMin() {
+        int min = heap[0];
+        int last = heap[--size];
+        positions[min] = -1;
+        if (size > 0) {
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    // 탐색을 조기 종료했을 때 남은 원소만 정리 (O(size))
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int node = heap[pos];
+        long key = keys[node];
+        while (pos > 0) {
+            int parentPos = (pos - 1) >>> 1;
+            int parent = heap[parentPos];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[pos] = parent;
+            positions[parent] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = node;
+        positions[node] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int node = heap[pos];
+        long key = keys[node];
+        int half = size >>> 1;
+        while (pos < half) {
+            int childPos = 2 * pos + 1;
+            int child = heap[childPos];
+            int rightPos = childPos + 1;
+            if (rightPos < size && keys[heap[rightPos]] < keys[child]) {
+                childPos = rightPos;
+                child = heap[childPos];
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            heap[pos] = child;
+            positions[child] = pos;
+            pos = childPos;
+        }
+        heap[pos] = node;
+        positions[node] = pos;
+    }
+}
@@ -0,0 +1,171 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+// Yen 알고리즘으로 순환 없는 k개의 최단 경로 탐색
+// 금지 허브/간선 배열과 탐색 작업 공간을 반복마다 재사용하고, 시간 예산을 넘기면 찾은 경로까지만 반환
+public final class KShortestPaths {
+
+    private final HubGraph graph;
+    private final boolean[] bannedNodes;
+    private final boolean[] bannedEdges;
+
+    public KShortestPaths(HubGraph graph, Collection<UUID> excludedHubIds) {
+        this.graph = graph;
+        this.bannedNodes = new boolean[graph.hubCount()];
+        this.bannedEdges = new boolean[graph.edgeCount()];
+        // 제외 허브는 탐색 내내 금지 상태로 둔다 (루트 경로에 포함될 수 없으므로 해제되지 않음)
+        for (UUID hubId : excludedHubIds) {
+            int node = graph.indexOf(hubId);
+            if (node >= 0) {
+                bannedNodes[node] = true;
+            }
+        }
+    }
+
+    public record Path(List<HubRoute> routes, long totalTimeMillis, double totalDistance) {
+
+        public List<UUID> hubIds() {
+            List<UUID> hubIds = new ArrayList<>(routes.size() + 1);
+            hubIds.add(routes.get(0).departureHubId());
+            for (HubRoute route : routes) {
+                hubIds.add(route.arrivalHubId());
+            }
+            return hubIds;
+        }
+    }
+
+    public record Result(List<Path> paths, boolean budgetExceeded) {
+    }
+
+    public Result find(UUID startHubId, UUID endHubId, int k, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int source = graph.indexOf(startHubId);
+        int target = graph.indexOf(endHubId);
+        if (k <= 0 || source < 0 || target < 0 || source == target || bannedNodes[source] || bannedNodes[target]) {
+            return new Result(List.of(), false);
+        }
+
+        List<int[]> accepted = new ArrayList<>();
+        int[] first = graph.shortestEdgePath(source, target, bannedNodes, bannedEdges);
+        if (first == null) {
+            return new Result(List.of(), false);
+        }
+        accepted.add(first);
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        Set<EdgeSequence> seen = new HashSet<>();
+        seen.add(new EdgeSequence(first));
+        boolean budgetExceeded = false;
+
+        iterations:
+        while (accepted.size() < k) {
+            int[] previous = accepted.get(accepted.size() - 1);
+            long rootCost = 0;
+
+            // 직전 경로의 각 허브를 분기점으로 삼아 우회 경로 탐색
+            for (int i = 0; i < previous.length; i++) {
+                if (System.nanoTime() > deadline) {
+                    budgetExceeded = true;
+                    break iterations;
+                }
+                int spurNode = i == 0 ? source : graph.edgeTarget(previous[i - 1]);
+
+                // 같은 루트 경로를 공유하는 기존 경로의 다음 간선 금지
+                for (int[] path : accepted) {
+                    if (path.length > i && Arrays.equals(path, 0, i, previous, 0, i)) {
+                        bannedEdges[path[i]] = true;
+                    }
+                }
+                // 루트 경로의 허브 금지 (순환 방지)
+                bannedNodes[source] = i > 0;
+                for (int j = 0; j < i - 1; j++) {
+                    bannedNodes[graph.edgeTarget(previous[j])] = true;
+                }
+
+                int[] spur = graph.shortestEdgePath(spurNode, target, bannedNodes, bannedEdges);
+                if (spur != null) {
+                    int[] candidate = Arrays.copyOf(previous, i + spur.length);
+                    System.arraycopy(spur, 0, candidate, i, spur.length);
+                    if (seen.add(new EdgeSequence(candidate))) {
+                        candidates.add(new Candidate(candidate, rootCost + cost(spur)));
+                    }
+                }
+
+                // 금지 해제
+                for (int[] path : accepted) {
+                    if (path.length > i) {
+                        bannedEdges[path[i]] = false;
+                    }
+                }
+                bannedNodes[source] = false;
+                for (int j = 0; j < i - 1; j++) {
+                    bannedNodes[graph.edgeTarget(previous[j])] = false;
+                }
+                rootCost += graph.edgeWeight(previous[i]);
+            }
+
+            Candidate next = candidates.poll();
+            if (next == null) {
+                break;
+            }
+            accepted.add(next.edges());
+        }
+
+        List<Path> paths = new ArrayList<>(accepted.size());
+        for (int[] edges : accepted) {
+            paths.add(toPath(edges));
+        }
+        return new Result(paths, budgetExceeded);
+    }
+
+    private long cost(int[] edges) {
+        long total = 0;
+        for (int edge : edges) {
+            total += graph.edgeWeight(edge);
+        }
+        return total;
+    }
+
+    private Path toPath(int[] edges) {
+        List<HubRoute> routes = new ArrayList<>(edges.length);
+        double distance = 0;
+        for (int edge : edges) {
+            HubRoute route = graph.edge(edge);
+            routes.add(route);
+            distance += route.estimatedDistance();
+        }
+        return new Path(List.copyOf(routes), cost(edges), distance);
+    }
+
+    private record Candidate(int[] edges, long cost) implements Comparable<Candidate> {
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byCost = Long.compare(cost, other.cost);
+            return byCost != 0 ? byCost : Integer.compare(edges.length, other.edges.length);
+        }
+    }
+
+    private record EdgeSequence(int[] edges) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof EdgeSequence other && Arrays.equals(edges, other.edges);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(edges);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+// 허브 그래프의 전체 쌍 최단 경로 테이블
+// (출발, 도착) 쌍마다 첫 구간 간선과 총 소요 시간/거리를 n*n 배열로 보관
+// 경로 조회는 탐색 없이 첫 구간 간선을 따라가며 O(경로 길이)로 끝난다
+public final class ShortestPathTable {
+
+    // 배열 인덱스(int)로 n*n 을 표현할 수 있는 최대 허브 수
+    public static final int MAX_HUB_COUNT = 46_340;
+    // 쌍마다 첫 구간 간선(int) + 총 소요 시간(long) + 총 거리(double)
+    private static final long BYTES_PER_PAIR = Integer.BYTES + Long.BYTES + Double.BYTES;
+
+    private final HubGraph graph;
+    private final int hubCount;
+    private final int[] nextEdges;
+    private final long[] totalTimes;
+    private final double[] totalDistances;
+    private final LocalDateTime builtAt;
+    private final Duration buildTime;
+
+    private ShortestPathTable(HubGraph graph, int[] nextEdges, long[] totalTimes, double[] totalDistances,
+                              LocalDateTime builtAt, Duration buildTime) {
+        this.graph = graph;
+        this.hubCount = graph.hubCount();
+        this.nextEdges = nextEdges;
+        this.totalTimes = totalTimes;
+        this.totalDistances = totalDistances;
+        this.builtAt = builtAt;
+        this.buildTime = buildTime;
+    }
+
+    public static ShortestPathTable build(HubGraph graph) {
+        long startedAt = System.nanoTime();
+        int n = graph.hubCount();
+        if (n > MAX_HUB_COUNT) {
+            throw new IllegalArgumentException("최단 경로 테이블을 만들 수 있는 허브 수(" + MAX_HUB_COUNT + ")를 넘었습니다: " + n);
+        }
+        int[] nextEdges = new int[n * n];
+        long[] totalTimes = new long[n * n];
+        double[] totalDistances = new double[n * n];
+        Arrays.fill(nextEdges, -1);
+        Arrays.fill(totalTimes, Long.MAX_VALUE);
+
+        for (int source = 0; source < n; source++) {
+            ShortestPathTree tree = graph.shortestPathTree(source);
+            int row = source * n;
+
+            // 확정 순서대로 보면 부모의 첫 구간/거리가 항상 먼저 채워져 있다
+            for (int node : tree.settledOrder()) {
+                int cell = row + node;
+                totalTimes[cell] = tree.times()[node];
+                if (node == source) {
+                    continue;
+                }
+                int prevNode = tree.prevNodes()[node];
+                int prevEdge = tree.prevEdges()[node];
+                nextEdges[cell] = prevNode == source ? prevEdge : nextEdges[row + prevNode];
+                totalDistances[cell] = totalDistances[row + prevNode] + graph.edge(prevEdge).estimatedDistance();
+            }
+        }
+
+        return new ShortestPathTable(graph, nextEdges, totalTimes, totalDistances,
+                LocalDateTime.now(), Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    public long version() {
+        return graph.version();
+    }
+
+    public HubGraph graph() {
+        return graph;
+    }
+
+    public LocalDateTime builtAt() {
+        return builtAt;
+    }
+
+    public Duration buildTime() {
+        return buildTime;
+    }
+
+    public int hubCount() {
+        return hubCount;
+    }
+
+    // 테이블 배열 크기 (바이트)
+    public long memoryBytes() {
+        return memoryBytes(hubCount);
+    }
+
+    public static long memoryBytes(int hubCount) {
+        return (long) hubCount * hubCount * BYTES_PER_PAIR;
+    }
+
+    // 시작 허브부터 종착 허브까지 구간별 허브 경로, 도달 불가 시 빈 목록
+    public List<HubRoute> route(UUID startHubId, UUID endHubId) {
+        int source = graph.indexOf(startHubId);
+        int target = graph.indexOf(endHubId);
+        if (source < 0 || target < 0 || source == target || nextEdges[source * hubCount + target] < 0) {
+            return Collections.emptyList();
+        }
+
+        List<HubRoute> route = new ArrayList<>();
+        int node = source;
+        // 동일 시간 경로가 섞여도 순환하지 않도록 허브 수만큼만 진행
+        for (int hop = 0; node != target && hop < hubCount; hop++) {
+            int edge = nextEdges[node * hubCount + target];
+            if (edge < 0) {
+                return Collections.emptyList();
+            }
+            route.add(graph.edge(edge));
+            node = graph.edgeTarget(edge);
+        }
+        return node == target ? route : Collections.emptyList();
+    }
+
+    // 시작 허브부터 종착 허브까지 허브 UUID 목록, 도달 불가 시 빈 목록
+    public List<UUID> path(UUID startHubId, UUID endHubId) {
+        if (startHubId.equals(endHubId)) {
+            return List.of(startHubId);
+        }
+        List<HubRoute> route = route(startHubId, endHubId);
+        if (route.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<UUID> path = new ArrayList<>(route.size() + 1);
+        path.add(startHubId);
+        for (HubRoute leg : route) {
+            path.add(leg.arrivalHubId());
+        }
+        return path;
+    }
+
+    public Duration totalTime(UUID startHubId, UUID endHubId) {
+        long time = totalTimes[cell(startHubId, endHubId)];
+        return time == Long.MAX_VALUE ? null : Duration.ofMillis(time);
+    }
+
+    public double totalDistance(UUID startHubId, UUID endHubId) {
+        int cell = cell(startHubId, endHubId);
+        return totalTimes[cell] == Long.MAX_VALUE ? Double.MAX_VALUE : totalDistances[cell];
+    }
+
+    private int cell(UUID startHubId, UUID endHubId) {
+        int source = graph.indexOf(startHubId);
+        int target = graph.indexOf(endHubId);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("등록되지 않은 허브입니다: " + (source < 0 ? startHubId : endHubId));
+        }
+        return source * hubCount + target;
+    }
+}
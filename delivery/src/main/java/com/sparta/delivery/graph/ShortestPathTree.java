@@ -0,0 +1,18 @@
+package com.sparta.delivery.graph;
+
+// 한 출발 허브에서 모든 허브까지의 최단 경로 트리
+// settledOrder: 확정 순서 (부모가 항상 자식보다 먼저 나온다)
+// times[node]: 총 소요 시간(ms), 도달 불가 시 Long.MAX_VALUE
+// prevNodes/prevEdges[node]: 트리에서의 직전 허브 / 직전 간선, 출발 허브와 도달 불가 허브는 -1
+public record ShortestPathTree(
+        int source,
+        int[] settledOrder,
+        long[] times,
+        int[] prevNodes,
+        int[] prevEdges
+) {
+
+    public boolean isReachable(int node) {
+        return times[node] != Long.MAX_VALUE;
+    }
+}
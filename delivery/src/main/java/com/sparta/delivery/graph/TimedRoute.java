@@ -0,0 +1,25 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+
+import java.time.Duration;
+import java.util.List;
+
+// 출발 시각을 반영한 경로 - 구간별 예상 소요 시간 포함
+public record TimedRoute(
+        List<HubRoute> routes,
+        long[] legMillis
+) {
+
+    public Duration legTime(int index) {
+        return Duration.ofMillis(legMillis[index]);
+    }
+
+    public Duration totalTime() {
+        long total = 0;
+        for (long leg : legMillis) {
+            total += leg;
+        }
+        return Duration.ofMillis(total);
+    }
+}
@@ -2,9 +2,13 @@ package com.sparta.delivery.repository;
 
 import com.sparta.delivery.entity.Deliverer;
 import feign.Param;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,9 +16,73 @@ import java.util.UUID;
 public interface DeliverersJpaRepository extends JpaRepository<Deliverer, Long> {
     Optional<Deliverer> findByDelivererId(Long delivererId);
 
+    @Query("SELECT d FROM p_deliverers d WHERE d.isDeleted = false")
+    List<Deliverer> findActiveDeliverers();
+
     @Query("SELECT d FROM p_deliverers d WHERE d.hubId = :hubId AND d.type = 'COMPANY' AND d.isDeleted = false")
     List<Deliverer> findCompanyDeliverersByHub(@Param("hubId") UUID hubId);
 
     @Query("SELECT d FROM p_deliverers d WHERE d.type = 'HUB' AND d.isDeleted = false")
     List<Deliverer> findHubDeliverers();
+
+    // 진행 중인 배송 경로 수 기준 정렬 - Pageable 로 LIMIT 지정
+    @Query("SELECT d FROM p_deliverers d WHERE d.hubId = :hubId AND d.type = 'COMPANY' AND d.isDeleted = false " +
+            "ORDER BY d.activeRecordCount, d.delivererId")
+    List<Deliverer> findLeastLoadedCompanyDeliverers(@Param("hubId") UUID hubId, Pageable pageable);
+
+    @Query("SELECT d FROM p_deliverers d WHERE d.hubId IN :hubIds AND d.type = 'HUB' " +
+            "AND d.status <> com.sparta.delivery.entity.DelivererStatusEnum.MOVING AND d.isDeleted = false " +
+            "ORDER BY d.activeRecordCount, d.delivererId")
+    List<Deliverer> findAvailableHubDeliverersIn(@Param("hubIds") Collection<UUID> hubIds);
+
+    @Query("SELECT d FROM p_deliverers d WHERE d.type = 'HUB' " +
+            "AND d.status <> com.sparta.delivery.entity.DelivererStatusEnum.MOVING AND d.isDeleted = false " +
+            "ORDER BY d.activeRecordCount, d.delivererId")
+    List<Deliverer> findLeastLoadedHubDeliverers(Pageable pageable);
+
+    // 선점 배정 - 다른 트랜잭션이 잡고 있는 행은 건너뛰고 1건을 잠근 채 반환 (트랜잭션 종료 시 해제)
+    @Query(value = "SELECT * FROM p_deliverers WHERE hub_id = :hubId AND type = 'COMPANY' AND is_deleted = false " +
+            "ORDER BY active_record_count, deliverer_id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Deliverer> claimCompanyDeliverer(@Param("hubId") UUID hubId);
+
+    // hubIds 는 가까운 순서로 나열한 PostgreSQL 배열 문자열 ({id1,id2,...}) - 앞선 허브 우선, 같은 허브 안에서는 한가한 순
+    @Query(value = "SELECT * FROM p_deliverers WHERE hub_id IN (SELECT unnest(CAST(:hubIds AS uuid[]))) AND type = 'HUB' " +
+            "AND status <> 'MOVING' AND is_deleted = false " +
+            "ORDER BY array_position(CAST(:hubIds AS uuid[]), hub_id), active_record_count, deliverer_id " +
+            "LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Deliverer> claimNearestHubDeliverer(@Param("hubIds") String hubIds);
+
+    @Query(value = "SELECT * FROM p_deliverers WHERE type = 'HUB' AND status <> 'MOVING' AND is_deleted = false " +
+            "ORDER BY active_record_count, deliverer_id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Deliverer> claimLeastLoadedHubDeliverer();
+
+    // 선점할 행이 없을 때 (후보가 모두 다른 트랜잭션에 잠겨 있을 때) - 같은 순서의 1건을 잠금이 풀릴 때까지 기다려 잠금
+    // 담당자는 여러 구간을 맡을 수 있으므로 잠금은 건수 갱신 순서를 맞추기 위한 것
+    @Query(value = "SELECT * FROM p_deliverers WHERE hub_id = :hubId AND type = 'COMPANY' AND is_deleted = false " +
+            "ORDER BY active_record_count, deliverer_id LIMIT 1 FOR UPDATE", nativeQuery = true)
+    Optional<Deliverer> lockCompanyDeliverer(@Param("hubId") UUID hubId);
+
+    @Query(value = "SELECT * FROM p_deliverers WHERE hub_id IN (SELECT unnest(CAST(:hubIds AS uuid[]))) AND type = 'HUB' " +
+            "AND status <> 'MOVING' AND is_deleted = false " +
+            "ORDER BY array_position(CAST(:hubIds AS uuid[]), hub_id), active_record_count, deliverer_id " +
+            "LIMIT 1 FOR UPDATE", nativeQuery = true)
+    Optional<Deliverer> lockNearestHubDeliverer(@Param("hubIds") String hubIds);
+
+    @Query(value = "SELECT * FROM p_deliverers WHERE type = 'HUB' AND status <> 'MOVING' AND is_deleted = false " +
+            "ORDER BY active_record_count, deliverer_id LIMIT 1 FOR UPDATE", nativeQuery = true)
+    Optional<Deliverer> lockLeastLoadedHubDeliverer();
+
+    // 호출한 트랜잭션 안에서 DB 가 직접 증감 (동시 갱신 시 값 유실 없음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE p_deliverers d SET d.activeRecordCount = d.activeRecordCount + :delta WHERE d.delivererId = :delivererId")
+    int adjustActiveRecordCount(@Param("delivererId") Long delivererId, @Param("delta") int delta);
+
+    // 컬럼 추가 전 데이터 보정용 - 진행 중인 배송 경로 수 재계산
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE p_deliverers d SET active_record_count = (" +
+            "SELECT COUNT(*) FROM p_delivery_records r WHERE r.deliverer_id = d.deliverer_id " +
+            "AND r.status IN ('WAIT', 'IN_PROGRESS') AND r.is_deleted = false)", nativeQuery = true)
+    int recountActiveRecords();
 }
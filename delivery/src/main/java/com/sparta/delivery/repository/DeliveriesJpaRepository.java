@@ -1,13 +1,35 @@
 package com.sparta.delivery.repository;
 
+import com.sparta.delivery.dto.DeliveryDetailRow;
+import com.sparta.delivery.dto.PendingDispatchRow;
 import com.sparta.delivery.entity.Delivery;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface DeliveriesJpaRepository extends JpaRepository<Delivery, UUID> {
+public interface DeliveriesJpaRepository extends JpaRepository<Delivery, UUID>, DeliverySearchRepository {
     @Query("SELECT d FROM p_deliveries d WHERE d.deliveryId = :deliveryId AND d.isDeleted = false")
     Optional<Delivery> findByDeliveryId(UUID deliveryId);
+
+    // 배송 단건 조회용 - 배송, 배송 경로, 배송 담당자 ID 를 조인 한 번으로 DTO 에 바로 담음 (영속성 컨텍스트에 엔티티를 올리지 않음)
+    @Query("SELECT new com.sparta.delivery.dto.DeliveryDetailRow(" +
+            "d.orderId, d.status, d.sourceHubId, d.companyId, d.companyAddress, d.totalSequence, d.currentSeq, d.dispatchDeadline, " +
+            "dr.deliveryRecordId, dr.departures, dr.arrival, dr.sequence, dr.status, " +
+            "dr.estimatedDist, dr.estimatedTime, dr.actualDist, dr.actualTime, dv.delivererId) " +
+            "FROM p_deliveries d " +
+            "LEFT JOIN d.deliveryRecords dr ON dr.isDeleted = false " +
+            "LEFT JOIN dr.deliverer dv " +
+            "WHERE d.deliveryId = :deliveryId AND d.isDeleted = false " +
+            "ORDER BY dr.sequence")
+    List<DeliveryDetailRow> findDeliveryDetail(UUID deliveryId);
+
+    // 아직 첫 구간이 출발하지 않은 배송의 배송 시한 (시작 시 한 번)
+    @Query("SELECT new com.sparta.delivery.dto.PendingDispatchRow(d.deliveryId, d.dispatchDeadline) " +
+            "FROM p_deliveries d WHERE d.startAt IS NULL AND d.status IN :statuses AND d.isDeleted = false")
+    List<PendingDispatchRow> findPendingDispatches(Collection<DeliveryStatusEnum> statuses);
 }
@@ -0,0 +1,171 @@
+package com.sparta.delivery.repository;
+
+import com.sparta.delivery.dto.DeliveryDetailRow;
+import com.sparta.delivery.entity.DeliveryRecordsStatusEnum;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+import com.sparta.delivery.util.DurationToIntervalConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// 완료된 배송 보관 테이블 (PostgreSQL 전용)
+// p_deliveries_archive / p_delivery_records_archive 는 created_at 기준 월 단위 RANGE 파티션 테이블로,
+// 운영 테이블에서 옮겨 온 행만 들어가고 이후 수정되지 않는다
+@Repository
+@RequiredArgsConstructor
+public class DeliveryArchiveRepository {
+
+    public static final String DELIVERIES = "p_deliveries";
+    public static final String DELIVERY_RECORDS = "p_delivery_records";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // 여러 인스턴스에서 보관 작업이 겹치지 않도록 잡는 트랜잭션 advisory lock 키
+    private static final long ARCHIVE_LOCK_KEY = 0x70_64_61_72_63_68L;
+    // PostgreSQL undefined_table - 보관 작업이 한 번도 돌지 않아 보관 테이블이 아직 없음
+    private static final String UNDEFINED_TABLE = "42P01";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DurationToIntervalConverter durationConverter = new DurationToIntervalConverter();
+
+    // 보관 테이블이 없으면 만들고, 운영 테이블에 새로 생긴 컬럼은 보관 테이블에도 추가 - 옮길 컬럼 목록 반환
+    public List<String> ensureArchiveTable(String table) {
+        String archive = archive(table);
+        execute("CREATE TABLE IF NOT EXISTS " + archive + " (LIKE " + table + " INCLUDING DEFAULTS) PARTITION BY RANGE (created_at)");
+        execute("CREATE INDEX IF NOT EXISTS " + archive + "_delivery_id_idx ON " + archive + " (delivery_id)");
+
+        Map<String, String> archived = columns(archive);
+        Map<String, String> columns = columns(table);
+        columns.forEach((name, type) -> {
+            if (!archived.containsKey(name)) {
+                execute("ALTER TABLE " + archive + " ADD COLUMN IF NOT EXISTS " + name + " " + type);
+            }
+        });
+        return List.copyOf(columns.keySet());
+    }
+
+    // 같은 트랜잭션에서 다른 인스턴스가 보관 중이면 false
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:key)",
+                Map.of("key", ARCHIVE_LOCK_KEY), Boolean.class));
+    }
+
+    // 보관 대상 - 완료/취소 후 또는 삭제 후 보관 기준 시각이 지난 배송, 다른 트랜잭션이 잡은 행은 건너뜀
+    public List<UUID> lockArchivableDeliveries(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList("SELECT delivery_id FROM " + DELIVERIES +
+                        " WHERE (status IN (:finished) AND COALESCE(end_at, updated_at, created_at) < :cutoff)" +
+                        " OR (is_deleted = true AND deleted_at < :cutoff)" +
+                        " ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+                new MapSqlParameterSource()
+                        .addValue("finished", List.of(DeliveryStatusEnum.DONE.name(), DeliveryStatusEnum.CANCELED.name()))
+                        .addValue("cutoff", Timestamp.valueOf(cutoff))
+                        .addValue("limit", limit),
+                UUID.class);
+    }
+
+    // 옮길 행이 들어갈 월 파티션 생성 (이미 있으면 그대로)
+    public void ensureMonthlyPartitions(String table, Collection<UUID> deliveryIds) {
+        String archive = archive(table);
+        List<LocalDate> months = jdbcTemplate.queryForList("SELECT DISTINCT CAST(date_trunc('month', created_at) AS date) FROM " + table +
+                " WHERE delivery_id IN (:deliveryIds)", Map.of("deliveryIds", deliveryIds), LocalDate.class);
+        for (LocalDate month : months) {
+            // 보관 행은 수정되지 않으므로 페이지를 꽉 채워 저장
+            execute("CREATE TABLE IF NOT EXISTS " + archive + "_" + PARTITION_SUFFIX.format(month) +
+                    " PARTITION OF " + archive +
+                    " FOR VALUES FROM ('" + month + "') TO ('" + month.plusMonths(1) + "') WITH (fillfactor = 100)");
+        }
+    }
+
+    // 운영 테이블에서 지우면서 같은 문장으로 보관 테이블에 넣음 - 옮긴 행 수 반환
+    public int moveToArchive(String table, List<String> columns, Collection<UUID> deliveryIds) {
+        String columnList = String.join(", ", columns);
+        return jdbcTemplate.update("WITH moved AS (DELETE FROM " + table + " WHERE delivery_id IN (:deliveryIds) RETURNING " + columnList + ")" +
+                " INSERT INTO " + archive(table) + " (" + columnList + ") SELECT " + columnList + " FROM moved",
+                Map.of("deliveryIds", deliveryIds));
+    }
+
+    // 보관된 배송 단건 조회 - 운영 테이블 조회와 같은 행 형태 (보관 테이블이 아직 없으면 빈 결과)
+    // 그 외 DB 오류는 그대로 던짐 - 없는 배송으로 응답해 장애를 가리지 않도록
+    public List<DeliveryDetailRow> findDeliveryDetail(UUID deliveryId) {
+        try {
+            return jdbcTemplate.query("SELECT d.order_id, d.status, d.source_hub_id, d.company_id, d.company_address, " +
+                            "d.total_sequence, d.current_seq, d.dispatch_deadline, " +
+                            "r.delivery_record_id, r.departures, r.arrival, r.sequence, r.status AS record_status, " +
+                            "r.estimated_dist, CAST(r.estimated_time AS text) AS estimated_time, " +
+                            "r.actual_dist, CAST(r.actual_time AS text) AS actual_time, r.deliverer_id " +
+                            "FROM " + archive(DELIVERIES) + " d " +
+                            "LEFT JOIN " + archive(DELIVERY_RECORDS) + " r ON r.delivery_id = d.delivery_id AND r.is_deleted = false " +
+                            "WHERE d.delivery_id = :deliveryId AND d.is_deleted = false " +
+                            "ORDER BY r.sequence",
+                    Map.of("deliveryId", deliveryId),
+                    (rs, rowNum) -> toDetailRow(rs));
+        } catch (DataAccessException e) {
+            if (isUndefinedTable(e)) {
+                return List.of();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isUndefinedTable(DataAccessException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNDEFINED_TABLE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DeliveryDetailRow toDetailRow(ResultSet rs) throws SQLException {
+        String recordStatus = rs.getString("record_status");
+        return new DeliveryDetailRow(
+                rs.getObject("order_id", UUID.class),
+                DeliveryStatusEnum.valueOf(rs.getString("status")),
+                rs.getObject("source_hub_id", UUID.class),
+                rs.getObject("company_id", UUID.class),
+                rs.getString("company_address"),
+                rs.getObject("total_sequence", Integer.class),
+                rs.getObject("current_seq", Integer.class),
+                rs.getObject("dispatch_deadline", LocalDateTime.class),
+                rs.getObject("delivery_record_id", UUID.class),
+                rs.getObject("departures", UUID.class),
+                rs.getObject("arrival", UUID.class),
+                rs.getObject("sequence", Integer.class),
+                recordStatus == null ? null : DeliveryRecordsStatusEnum.valueOf(recordStatus),
+                rs.getBigDecimal("estimated_dist"),
+                durationConverter.convertToEntityAttribute(rs.getString("estimated_time")),
+                rs.getBigDecimal("actual_dist"),
+                durationConverter.convertToEntityAttribute(rs.getString("actual_time")),
+                rs.getObject("deliverer_id", Long.class)
+        );
+    }
+
+    // 컬럼명 -> 타입 (정의 순서)
+    private Map<String, String> columns(String table) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT a.attname, format_type(a.atttypid, a.atttypmod) FROM pg_attribute a " +
+                        "WHERE a.attrelid = CAST(:table AS regclass) AND a.attnum > 0 AND NOT a.attisdropped ORDER BY a.attnum",
+                Map.of("table", table),
+                rs -> {
+                    columns.put(rs.getString(1), rs.getString(2));
+                });
+        return columns;
+    }
+
+    private void execute(String sql) {
+        jdbcTemplate.getJdbcOperations().execute(sql);
+    }
+
+    private static String archive(String table) {
+        return table + "_archive";
+    }
+}
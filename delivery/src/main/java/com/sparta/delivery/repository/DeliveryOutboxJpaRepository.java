@@ -0,0 +1,21 @@
+package com.sparta.delivery.repository;
+
+import com.sparta.delivery.entity.DeliveryOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface DeliveryOutboxJpaRepository extends JpaRepository<DeliveryOutboxEvent, Long> {
+
+    // 릴레이는 한 인스턴스만 실행 - 트랜잭션 advisory lock, 다른 인스턴스가 발행 중이면 false (트랜잭션 종료 시 해제)
+    long RELAY_LOCK_KEY = 0x70_64_6f_75_74_62L;
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(" + RELAY_LOCK_KEY + ")", nativeQuery = true)
+    boolean tryLockRelay();
+
+    // 발행 대기 이벤트 - 배송별 순번 순서 (outbox_id 는 인스턴스별 할당 구간이라 커밋 순서와 다름)
+    @Query(value = "SELECT * FROM p_delivery_outbox ORDER BY delivery_id, delivery_seq LIMIT :limit", nativeQuery = true)
+    List<DeliveryOutboxEvent> findPendingEvents(@Param("limit") int limit);
+}
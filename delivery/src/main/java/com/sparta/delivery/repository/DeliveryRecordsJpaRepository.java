@@ -1,9 +1,14 @@
 package com.sparta.delivery.repository;
 
+import com.sparta.delivery.entity.Deliverer;
 import com.sparta.delivery.entity.DeliveryRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +17,34 @@ public interface DeliveryRecordsJpaRepository extends JpaRepository<DeliveryReco
     @Query("SELECT dr FROM p_delivery_records dr WHERE dr.delivery.deliveryId = :deliveryId AND dr.isDeleted = false")
     List<DeliveryRecord> findAllByDelivery_DeliveryId(UUID deliveryId);
 
+    // 배송 경로와 배송을 한 번에 조회 (상태 변경용)
+    @Query("SELECT dr FROM p_delivery_records dr JOIN FETCH dr.delivery WHERE dr.deliveryRecordId = :deliveryRecordId")
+    Optional<DeliveryRecord> findWithDeliveryById(UUID deliveryRecordId);
+
+    // 일괄 상태 변경용 - 대상 배송 경로와 배송을 IN 조회 한 번으로
+    @Query("SELECT dr FROM p_delivery_records dr JOIN FETCH dr.delivery WHERE dr.deliveryRecordId IN :deliveryRecordIds")
+    List<DeliveryRecord> findAllWithDeliveryByIdIn(Collection<UUID> deliveryRecordIds);
+
+    @Query("SELECT dr FROM p_delivery_records dr WHERE dr.delivery.deliveryId IN :deliveryIds AND dr.isDeleted = false")
+    List<DeliveryRecord> findAllByDeliveryIdIn(Collection<UUID> deliveryIds);
+
     @Query("SELECT dr FROM p_delivery_records dr WHERE dr.delivery.deliveryId = :deliveryId AND dr.sequence = :sequence AND dr.isDeleted = false")
     Optional<DeliveryRecord> findByDeliveryIdAndSequence(UUID deliveryId, int nextSequence);
+
+    // 담당자 배정을 기다리는 허브-허브 구간 - 첫 구간이거나 이전 구간이 완료된 경로
+    @Query("SELECT dr FROM p_delivery_records dr JOIN FETCH dr.delivery d " +
+            "WHERE dr.deliverer IS NULL AND dr.isDeleted = false " +
+            "AND dr.status = com.sparta.delivery.entity.DeliveryRecordsStatusEnum.WAIT " +
+            "AND dr.sequence < d.totalSequence " +
+            "AND (dr.sequence = 1 OR EXISTS (SELECT 1 FROM p_delivery_records prev WHERE prev.delivery = d " +
+            "AND prev.sequence = dr.sequence - 1 AND prev.status = com.sparta.delivery.entity.DeliveryRecordsStatusEnum.COMPLETED)) " +
+            "ORDER BY dr.createdAt")
+    List<DeliveryRecord> findRecordsAwaitingHubDeliverer(Pageable pageable);
+
+    // 담당자가 비어 있을 때만 배정 - 동시에 같은 구간을 배정하면 먼저 커밋한 쪽만 1, 나머지는 0
+    @Transactional
+    @Modifying
+    @Query("UPDATE p_delivery_records dr SET dr.deliverer = :deliverer " +
+            "WHERE dr.deliveryRecordId = :deliveryRecordId AND dr.deliverer IS NULL")
+    int assignDelivererIfUnassigned(UUID deliveryRecordId, Deliverer deliverer);
 }
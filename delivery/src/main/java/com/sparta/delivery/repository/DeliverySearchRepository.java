@@ -0,0 +1,16 @@
+package com.sparta.delivery.repository;
+
+import com.sparta.delivery.dto.DeliveryCursor;
+import com.sparta.delivery.dto.DeliverySummaryResponse;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface DeliverySearchRepository {
+
+    // 조건이 null 이면 해당 조건 없이 조회, (배송 시한, 배송 ID) 순
+    List<DeliverySummaryResponse> searchDeliveries(DeliveryStatusEnum status, UUID sourceHubId, LocalDateTime deadlineBefore,
+                                                   DeliveryCursor after, int limit);
+}
@@ -0,0 +1,60 @@
+package com.sparta.delivery.repository;
+
+import com.sparta.delivery.dto.DeliveryCursor;
+import com.sparta.delivery.dto.DeliverySummaryResponse;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// 배송 목록 키셋 페이지 조회
+// 주어진 조건만 WHERE 에 넣어서 (조건, 배송 시한, 배송 ID) 복합 인덱스를 그대로 타게 하고,
+// OFFSET 대신 마지막 (배송 시한, 배송 ID) 다음부터 읽어서 몇 번째 페이지든 비용이 같다
+// (인덱스 전용 스캔은 아니어서 페이지 행 수만큼 테이블 조회가 더해짐)
+@RequiredArgsConstructor
+public class DeliverySearchRepositoryImpl implements DeliverySearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<DeliverySummaryResponse> searchDeliveries(DeliveryStatusEnum status, UUID sourceHubId, LocalDateTime deadlineBefore,
+                                                          DeliveryCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.sparta.delivery.dto.DeliverySummaryResponse(" +
+                "d.deliveryId, d.orderId, d.status, d.sourceHubId, d.companyId, d.dispatchDeadline, d.currentSeq, d.totalSequence) " +
+                "FROM p_deliveries d WHERE d.isDeleted = false");
+        if (status != null) {
+            jpql.append(" AND d.status = :status");
+        }
+        if (sourceHubId != null) {
+            jpql.append(" AND d.sourceHubId = :sourceHubId");
+        }
+        if (deadlineBefore != null) {
+            jpql.append(" AND d.dispatchDeadline < :deadlineBefore");
+        }
+        if (after != null) {
+            // 행 값 비교 - 인덱스에서 커서 위치로 바로 찾아감
+            jpql.append(" AND (d.dispatchDeadline, d.deliveryId) > (:afterDeadline, :afterId)");
+        }
+        jpql.append(" ORDER BY d.dispatchDeadline, d.deliveryId");
+
+        TypedQuery<DeliverySummaryResponse> query = entityManager.createQuery(jpql.toString(), DeliverySummaryResponse.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (sourceHubId != null) {
+            query.setParameter("sourceHubId", sourceHubId);
+        }
+        if (deadlineBefore != null) {
+            query.setParameter("deadlineBefore", deadlineBefore);
+        }
+        if (after != null) {
+            query.setParameter("afterDeadline", after.dispatchDeadline());
+            query.setParameter("afterId", after.deliveryId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,9 @@
+package com.sparta.delivery.repository;
+
+import com.sparta.delivery.entity.LegTimeProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface LegTimeProfilesJpaRepository extends JpaRepository<LegTimeProfile, UUID> {
+}
@@ -0,0 +1,44 @@
+package com.sparta.delivery.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+// 구간 소요 시간 표본 반영 (PostgreSQL 전용)
+// 프로필 행을 읽어서 덮어쓰지 않고 해당 시간대 칸만 UPDATE 한 문장으로 갱신 - 행 잠금으로 여러 인스턴스의 표본이 모두 반영됨
+@Repository
+@RequiredArgsConstructor
+public class LegTimeSampleRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // 시간대 칸(0부터)에 표본 하나 반영, 갱신된 {평균 소요 시간(초), 표본 수} 반환
+    public int[] addSample(UUID departures, UUID arrival, int slot, long seconds, int maxWeight, int slots) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("departures", departures)
+                .addValue("arrival", arrival)
+                .addValue("index", slot + 1)
+                .addValue("seconds", seconds)
+                .addValue("maxWeight", maxWeight)
+                .addValue("slots", slots);
+
+        jdbcTemplate.update("INSERT INTO p_leg_time_profiles " +
+                "(leg_time_profile_id, departures, arrival, mean_seconds, sample_counts, is_deleted, created_by, created_at) " +
+                "VALUES (gen_random_uuid(), :departures, :arrival, array_fill(0, ARRAY[:slots]), array_fill(0, ARRAY[:slots]), " +
+                "false, 'temp_username', now()) " +
+                "ON CONFLICT (departures, arrival) DO NOTHING", params);
+
+        // SET 의 오른쪽은 모두 갱신 전 값 - 평균은 이전 표본 수 기준 가중치로 계산
+        return jdbcTemplate.queryForObject("UPDATE p_leg_time_profiles SET " +
+                        "mean_seconds[:index] = round(mean_seconds[:index] + " +
+                        "(:seconds - mean_seconds[:index]) / (least(sample_counts[:index], :maxWeight) + 1.0)), " +
+                        "sample_counts[:index] = sample_counts[:index] + 1, " +
+                        "updated_at = now(), updated_by = 'temp_username' " +
+                        "WHERE departures = :departures AND arrival = :arrival " +
+                        "RETURNING mean_seconds[:index] AS mean_seconds, sample_counts[:index] AS sample_count",
+                params, (rs, rowNum) -> new int[]{rs.getInt("mean_seconds"), rs.getInt("sample_count")});
+    }
+}
@@ -0,0 +1,188 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.entity.Deliverer;
+import com.sparta.delivery.entity.DeliveryRecord;
+import com.sparta.delivery.repository.DeliverersJpaRepository;
+import com.sparta.delivery.repository.DeliveryRecordsJpaRepository;
+import com.sparta.delivery.service.DelivererAvailabilityIndex.AvailableDeliverer;
+import com.sparta.delivery.util.MinCostAssignment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// 허브-허브 구간 창 단위 일괄 배정
+// 배정을 기다리는 구간을 짧은 창 동안 모았다가, 배송 중이 아닌 허브 담당자와 최소 비용 매칭으로 한 번에 배정한다
+// 비용 = 담당자 소속 허브에서 구간 출발 허브까지 빈 차로 이동하는 경로 거리 + 진행 중인 배송 경로 수 가중치
+// 같은 구간을 기존 방식(구간마다 빈 차 이동이 가장 짧은 담당자, 중복 배정 허용)으로 배정했을 때의 거리를 함께 남겨 차이를 비교한다
+@Service
+public class AssignmentWindowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssignmentWindowService.class);
+
+    private final DeliveryRecordsJpaRepository deliveryRecordsJpaRepository;
+    private final DeliverersJpaRepository deliverersJpaRepository;
+    private final DelivererAvailabilityIndex delivererAvailabilityIndex;
+    private final DelivererService delivererService;
+    private final PathService pathService;
+    private final DeliveryDetailCache deliveryDetailCache;
+
+    private final Timer solveTimer;
+    private final DistributionSummary windowSize;
+    private final Counter assignedCounter;
+    private final Counter deadheadCounter;
+    private final Counter greedyDeadheadCounter;
+    private final DistributionSummary deadheadSaved;
+    private final DistributionSummary deadheadAdded;
+    private final Counter budgetExceededCounter;
+
+    @Value("${delivery.assignment.window.enabled:false}")
+    private boolean enabled;
+
+    // 한 창에서 배정할 최대 구간 수
+    @Value("${delivery.assignment.window.max-records:500}")
+    private int maxRecords;
+
+    @Value("${delivery.assignment.window.budget-ms:50}")
+    private long budgetMillis;
+
+    // 진행 중인 배송 경로 1건당 가산 거리(m) - 한 담당자에게 몰리지 않도록
+    @Value("${delivery.assignment.window.load-penalty-meters:10000}")
+    private double loadPenaltyMeters;
+
+    public AssignmentWindowService(DeliveryRecordsJpaRepository deliveryRecordsJpaRepository,
+                                   DeliverersJpaRepository deliverersJpaRepository,
+                                   DelivererAvailabilityIndex delivererAvailabilityIndex,
+                                   DelivererService delivererService,
+                                   PathService pathService,
+                                   DeliveryDetailCache deliveryDetailCache,
+                                   MeterRegistry meterRegistry) {
+        this.deliveryRecordsJpaRepository = deliveryRecordsJpaRepository;
+        this.deliverersJpaRepository = deliverersJpaRepository;
+        this.delivererAvailabilityIndex = delivererAvailabilityIndex;
+        this.delivererService = delivererService;
+        this.pathService = pathService;
+        this.deliveryDetailCache = deliveryDetailCache;
+        this.solveTimer = meterRegistry.timer("delivery.assignment.window.solve");
+        this.windowSize = meterRegistry.summary("delivery.assignment.window.records");
+        this.assignedCounter = meterRegistry.counter("delivery.assignment.window.assigned");
+        this.deadheadCounter = meterRegistry.counter("delivery.assignment.window.deadhead.meters");
+        this.greedyDeadheadCounter = meterRegistry.counter("delivery.assignment.window.deadhead.greedy.meters");
+        // 창별 (기존 방식 - 매칭) 거리 차이 - 음수는 요약 지표에 기록되지 않으므로 부호별로 나눠 기록
+        this.deadheadSaved = meterRegistry.summary("delivery.assignment.window.deadhead.difference.meters", "outcome", "saved");
+        this.deadheadAdded = meterRegistry.summary("delivery.assignment.window.deadhead.difference.meters", "outcome", "added");
+        this.budgetExceededCounter = meterRegistry.counter("delivery.assignment.window.budget.exceeded");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.assignment.window.interval-ms:2000}")
+    @Transactional
+    public void assignWindow() {
+        if (!enabled || !delivererAvailabilityIndex.isLoaded()) {
+            return;
+        }
+        List<DeliveryRecord> records = deliveryRecordsJpaRepository.findRecordsAwaitingHubDeliverer(PageRequest.of(0, maxRecords));
+        if (records.isEmpty()) {
+            return;
+        }
+        List<AvailableDeliverer> deliverers = delivererAvailabilityIndex.availableHubDeliverers();
+        List<HubRoute> hubRoutes = pathService.getHubRoutes();
+        if (deliverers.isEmpty() || hubRoutes == null) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        double[][] deadhead = deadheadMatrix(hubRoutes, records, deliverers);
+        double[][] cost = new double[records.size()][deliverers.size()];
+        for (int i = 0; i < records.size(); i++) {
+            for (int j = 0; j < deliverers.size(); j++) {
+                cost[i][j] = deadhead[i][j] >= MinCostAssignment.FORBIDDEN
+                        ? MinCostAssignment.FORBIDDEN
+                        : deadhead[i][j] + loadPenaltyMeters * deliverers.get(j).activeLoad();
+            }
+        }
+
+        MinCostAssignment.Result result = MinCostAssignment.solve(cost,
+                startedAt + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+        solveTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        windowSize.record(records.size());
+        if (result.budgetExceeded()) {
+            budgetExceededCounter.increment();
+        }
+
+        double matchedDeadhead = 0;
+        double greedyDeadhead = 0;
+        int assigned = 0;
+        for (int i = 0; i < records.size(); i++) {
+            int column = result.columnOfRow()[i];
+            if (column < 0) {
+                continue;
+            }
+            DeliveryRecord record = records.get(i);
+            Deliverer deliverer = deliverersJpaRepository.getReferenceById(deliverers.get(column).delivererId());
+            // 조회 후 다른 인스턴스의 창이나 구간 출발 처리가 먼저 배정한 구간은 건너뜀 (배정된 행만 건수 반영)
+            if (deliveryRecordsJpaRepository.assignDelivererIfUnassigned(record.getDeliveryRecordId(), deliverer) == 0) {
+                continue;
+            }
+            // 인덱스에는 미확정 배정으로 반영 - 창 트랜잭션이 롤백되면 되돌림
+            delivererService.reserveDeliverer(deliverer);
+            deliveryDetailCache.evict(record.getDelivery().getDeliveryId());
+            matchedDeadhead += deadhead[i][column];
+            greedyDeadhead += nearestDeadhead(deadhead[i]);
+            assigned++;
+        }
+
+        assignedCounter.increment(assigned);
+        deadheadCounter.increment(matchedDeadhead);
+        greedyDeadheadCounter.increment(greedyDeadhead);
+        double saved = greedyDeadhead - matchedDeadhead;
+        if (saved >= 0) {
+            deadheadSaved.record(saved);
+        } else {
+            deadheadAdded.record(-saved);
+        }
+        logger.info("assignment window: records={}, deliverers={}, assigned={}, deadhead={}m, greedy={}m, took={}ms",
+                records.size(), deliverers.size(), assigned, Math.round(matchedDeadhead), Math.round(greedyDeadhead),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    // [구간][담당자] 빈 차 이동 거리, 도달할 수 없으면 FORBIDDEN
+    private double[][] deadheadMatrix(List<HubRoute> hubRoutes, List<DeliveryRecord> records, List<AvailableDeliverer> deliverers) {
+        // 출발 허브마다 (모든 허브 -> 출발 허브) 거리 한 번씩 조회 (스냅샷별로 보관된 값)
+        Map<UUID, Map<UUID, Double>> distancesByDeparture = new HashMap<>();
+        double[][] deadhead = new double[records.size()][deliverers.size()];
+        for (int i = 0; i < records.size(); i++) {
+            Map<UUID, Double> distances = distancesByDeparture.computeIfAbsent(records.get(i).getDepartures(),
+                    departureHubId -> pathService.calculateDistancesToHub(hubRoutes, departureHubId));
+            for (int j = 0; j < deliverers.size(); j++) {
+                Double distance = distances.get(deliverers.get(j).hubId());
+                deadhead[i][j] = distance == null ? MinCostAssignment.FORBIDDEN : distance;
+            }
+        }
+        return deadhead;
+    }
+
+    // 비교용 기존 방식: 배정 여부, 부하와 관계없이 빈 차 이동이 가장 짧은 담당자 (여러 구간이 같은 담당자를 골라도 됨)
+    // 매칭은 담당자 중복 배정이 없고 부하 가중치도 있으므로 이 값보다 길 수 있음
+    private static double nearestDeadhead(double[] deadheadRow) {
+        double nearest = MinCostAssignment.FORBIDDEN;
+        for (double distance : deadheadRow) {
+            nearest = Math.min(nearest, distance);
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,44 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.graph.ContractionHierarchy;
+import com.sparta.delivery.graph.HubGraph;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+// 최단 경로 테이블을 만들지 않는 큰 그래프(delivery.routing.table.max-hubs 초과)에서만 축약 계층을 만든다
+// 두 구조가 같은 그래프에 함께 만들어지지 않도록 기준은 테이블 서비스 하나만 둔다
+@Service
+@RequiredArgsConstructor
+public class ContractionHierarchyService {
+
+    private final ShortestPathTableService shortestPathTableService;
+
+    private final GraphIndexBuilder<ContractionHierarchy> builder =
+            new GraphIndexBuilder<>("contraction-hierarchy", ContractionHierarchy::build, ContractionHierarchy::version);
+
+    // 새 그래프 버전이면 백그라운드에서 허브 순서를 다시 매기고 축약, 완료 시 한 번에 교체
+    public void refresh(HubGraph graph) {
+        if (!shortestPathTableService.supports(graph)) {
+            builder.refresh(graph);
+        }
+    }
+
+    // 그래프와 같은 버전의 축약 계층이 준비된 경우에만 반환
+    public ContractionHierarchy hierarchyFor(HubGraph graph) {
+        return builder.builtFor(graph);
+    }
+
+    public ContractionHierarchy current() {
+        return builder.current();
+    }
+
+    public long requestedVersion() {
+        return builder.requestedVersion();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdown();
+    }
+}
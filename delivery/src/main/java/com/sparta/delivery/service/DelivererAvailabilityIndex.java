@@ -0,0 +1,261 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.entity.Deliverer;
+import com.sparta.delivery.entity.DelivererStatusEnum;
+import com.sparta.delivery.entity.DelivererTypeEnum;
+import com.sparta.delivery.repository.DeliverersJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+// 배송 담당자 배정용 메모리 인덱스
+// (유형, 소속 허브)별로 (상태, 진행 중인 배송 경로 수, ID) 순으로 정렬된 집합을 유지해서
+// 배정 시 DB 조회 없이 O(log n)으로 가장 한가한 담당자를 고른다
+// 담당자 등록/수정/삭제와 배송 경로 상태 변경 시 갱신하고, 어긋난 값은 주기적으로 DB 기준으로 다시 맞춘다
+// 배정은 고르는 즉시 반영하되 트랜잭션이 끝날 때까지 미확정으로 세어 두고, 롤백되면 되돌린다 (DelivererService 에서 처리)
+@Component
+@RequiredArgsConstructor
+public class DelivererAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DelivererAvailabilityIndex.class);
+
+    private static final Comparator<Entry> AVAILABILITY = Comparator
+            .comparing((Entry entry) -> entry.status() == DelivererStatusEnum.MOVING)
+            .thenComparingInt(Entry::activeLoad)
+            .thenComparingLong(Entry::delivererId);
+
+    private final DeliverersJpaRepository deliverersJpaRepository;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<UUID, NavigableSet<Entry>> companyDeliverersByHub = new HashMap<>();
+    private final Map<UUID, NavigableSet<Entry>> hubDeliverersByHub = new HashMap<>();
+    private final NavigableSet<Entry> hubDeliverers = new TreeSet<>(AVAILABILITY);
+    // 담당자별 아직 커밋되지 않은 배정 수 - DB 값으로 다시 맞출 때 더해서 진행 중인 배정이 빠지지 않도록
+    private final Map<Long, Integer> pendingReservations = new HashMap<>();
+    // DB 를 다시 읽는 동안 들어온 변경 - 조회 결과에 들어갔는지 알 수 없으므로 교체 후 다시 적용 (다시 읽는 중이 아니면 null)
+    private ReloadChanges changesDuringReload;
+
+    // active_record_count 컬럼 추가 이전 데이터가 있으면 기동 시 한 번 재계산
+    @Value("${delivery.deliverer-index.recount-on-startup:false}")
+    private boolean recountOnStartup;
+
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (recountOnStartup) {
+            int updated = deliverersJpaRepository.recountActiveRecords();
+            logger.info("deliverer active record counts recounted: {}", updated);
+        }
+        reload();
+    }
+
+    // DB 의 active_record_count 기준으로 다시 맞춤 (롤백된 배정분 등 메모리 값 보정)
+    // 조회는 잠금 밖에서 하고 (배정을 막지 않도록), 조회 중에 커밋된 배정/해제와 담당자 변경은 기록해 두었다가 교체 후 다시 적용
+    // 조회 직전에 커밋되어 조회 결과에도 들어간 변경은 한 번 더 더해질 수 있으나, 많게 세는 쪽이고 다음 주기에 맞춰진다
+    @Scheduled(initialDelayString = "${delivery.deliverer-index.resync-interval:300000}",
+            fixedDelayString = "${delivery.deliverer-index.resync-interval:300000}")
+    public void reload() {
+        synchronized (this) {
+            changesDuringReload = new ReloadChanges();
+        }
+        List<Deliverer> deliverers;
+        try {
+            deliverers = deliverersJpaRepository.findActiveDeliverers();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringReload = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            ReloadChanges changes = changesDuringReload;
+            changesDuringReload = null;
+            entries.clear();
+            companyDeliverersByHub.clear();
+            hubDeliverersByHub.clear();
+            hubDeliverers.clear();
+            for (Deliverer deliverer : deliverers) {
+                add(new Entry(deliverer.getDelivererId(), deliverer.getHubId(), deliverer.getType(), deliverer.getStatus(),
+                        deliverer.getActiveRecordCount() + pendingReservations.getOrDefault(deliverer.getDelivererId(), 0)));
+            }
+            changes.deleted.forEach(this::remove);
+            changes.upserted.values().forEach(this::upsertEntry);
+            changes.loadDeltas.forEach(this::applyLoad);
+            loaded = true;
+        }
+        logger.info("deliverer availability index loaded: {}", deliverers.size());
+    }
+
+    // 기동 직후 적재 전에는 false - 배정은 DB 정렬 조회로 처리
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // 등록/수정 - 진행 중인 배송 경로 수는 유지
+    public synchronized void upsert(Deliverer deliverer) {
+        Entry entry = new Entry(deliverer.getDelivererId(), deliverer.getHubId(), deliverer.getType(), deliverer.getStatus(), 0);
+        upsertEntry(entry);
+        if (changesDuringReload != null) {
+            changesDuringReload.deleted.remove(entry.delivererId());
+            changesDuringReload.upserted.put(entry.delivererId(), entry);
+        }
+    }
+
+    public synchronized void delete(Long delivererId) {
+        remove(delivererId);
+        if (changesDuringReload != null) {
+            changesDuringReload.upserted.remove(delivererId);
+            changesDuringReload.deleted.add(delivererId);
+        }
+    }
+
+    // 배송 경로가 배정되면 +1, 완료/취소/삭제되거나 다른 담당자로 바뀌면 -1 (커밋 후 호출)
+    public synchronized void adjustLoad(Long delivererId, int delta) {
+        applyLoad(delivererId, delta);
+        recordLoadDuringReload(delivererId, delta);
+    }
+
+    // 미확정 배정 +1 (DB 행 잠금으로 선점한 담당자, 창 단위 배정, 담당자 변경)
+    // 다시 읽는 중이면 교체 시 미확정 수로 더해지므로 따로 기록하지 않음
+    public synchronized void reserve(Long delivererId) {
+        applyLoad(delivererId, 1);
+        pendingReservations.merge(delivererId, 1, Integer::sum);
+    }
+
+    // 미확정 배정 정리 - 커밋되면 그대로 두고, 롤백/배정 실패면 되돌림
+    public synchronized void settle(Long delivererId, int count, boolean committed) {
+        pendingReservations.computeIfPresent(delivererId, (id, pending) -> pending > count ? pending - count : null);
+        if (committed) {
+            // 미확정 수에서 빠지므로, 다시 읽는 중이면 조회 결과에 없을 수 있는 커밋분으로 기록
+            recordLoadDuringReload(delivererId, count);
+        } else {
+            applyLoad(delivererId, -count);
+        }
+    }
+
+    // 허브-업체: 출발 허브 소속 업체 담당자 중 가장 한가한 담당자, 미확정 배정으로 바로 반영
+    public synchronized Optional<Long> assignCompanyDeliverer(UUID hubId) {
+        NavigableSet<Entry> candidates = companyDeliverersByHub.get(hubId);
+        if (candidates == null || candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(reserve(candidates.first()));
+    }
+
+    // 허브-허브: 배송 중이 아닌 허브 담당자 중 출발 허브와 가장 가까운 허브 소속 담당자
+    // 인접 허브에 배정 가능한 담당자가 없으면 전체 허브 담당자 중 가장 한가한 담당자
+    public synchronized Optional<Long> assignHubDeliverer(Map<UUID, Double> distances) {
+        Entry best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (Map.Entry<UUID, Double> hub : distances.entrySet()) {
+            NavigableSet<Entry> candidates = hubDeliverersByHub.get(hub.getKey());
+            if (candidates == null || candidates.isEmpty() || !isAvailable(candidates.first())) {
+                continue;
+            }
+            Entry candidate = candidates.first();
+            if (best == null || hub.getValue() < bestDistance
+                    || (hub.getValue() == bestDistance && AVAILABILITY.compare(candidate, best) < 0)) {
+                best = candidate;
+                bestDistance = hub.getValue();
+            }
+        }
+        if (best == null && !hubDeliverers.isEmpty() && isAvailable(hubDeliverers.first())) {
+            best = hubDeliverers.first();
+        }
+        return best == null ? Optional.empty() : Optional.of(reserve(best));
+    }
+
+    // 배송 중이 아닌 허브 담당자 목록 (창 단위 일괄 배정용 스냅샷)
+    public synchronized List<AvailableDeliverer> availableHubDeliverers() {
+        List<AvailableDeliverer> available = new ArrayList<>();
+        for (Entry entry : hubDeliverers) {
+            if (isAvailable(entry)) {
+                available.add(new AvailableDeliverer(entry.delivererId(), entry.hubId(), entry.activeLoad()));
+            }
+        }
+        return available;
+    }
+
+    public record AvailableDeliverer(long delivererId, UUID hubId, int activeLoad) {
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static boolean isAvailable(Entry entry) {
+        return entry.status() != DelivererStatusEnum.MOVING;
+    }
+
+    private void upsertEntry(Entry entry) {
+        Entry previous = remove(entry.delivererId());
+        add(entry.withActiveLoad(previous == null ? 0 : previous.activeLoad()));
+    }
+
+    private void applyLoad(Long delivererId, int delta) {
+        Entry entry = remove(delivererId);
+        if (entry != null) {
+            add(entry.withActiveLoad(Math.max(0, entry.activeLoad() + delta)));
+        }
+    }
+
+    private void recordLoadDuringReload(Long delivererId, int delta) {
+        if (changesDuringReload != null) {
+            changesDuringReload.loadDeltas.merge(delivererId, delta, Integer::sum);
+        }
+    }
+
+    private long reserve(Entry entry) {
+        remove(entry.delivererId());
+        add(entry.withActiveLoad(entry.activeLoad() + 1));
+        pendingReservations.merge(entry.delivererId(), 1, Integer::sum);
+        return entry.delivererId();
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.delivererId(), entry);
+        if (entry.type() == DelivererTypeEnum.COMPANY) {
+            companyDeliverersByHub.computeIfAbsent(entry.hubId(), k -> new TreeSet<>(AVAILABILITY)).add(entry);
+        } else {
+            hubDeliverersByHub.computeIfAbsent(entry.hubId(), k -> new TreeSet<>(AVAILABILITY)).add(entry);
+            hubDeliverers.add(entry);
+        }
+    }
+
+    private Entry remove(Long delivererId) {
+        Entry entry = entries.remove(delivererId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.type() == DelivererTypeEnum.COMPANY) {
+            companyDeliverersByHub.get(entry.hubId()).remove(entry);
+        } else {
+            hubDeliverersByHub.get(entry.hubId()).remove(entry);
+            hubDeliverers.remove(entry);
+        }
+        return entry;
+    }
+
+    private static final class ReloadChanges {
+        private final Map<Long, Integer> loadDeltas = new HashMap<>();
+        private final Map<Long, Entry> upserted = new HashMap<>();
+        private final Set<Long> deleted = new HashSet<>();
+    }
+
+    private record Entry(long delivererId, UUID hubId, DelivererTypeEnum type, DelivererStatusEnum status,
+                         int activeLoad) {
+
+        private Entry withActiveLoad(int load) {
+            return new Entry(delivererId, hubId, type, status, load);
+        }
+    }
+}
@@ -7,11 +7,17 @@ import com.sparta.delivery.dto.UpdateDelivererRequest;
 import com.sparta.delivery.entity.DelivererStatusEnum;
 import com.sparta.delivery.entity.Deliverer;
 import com.sparta.delivery.repository.DeliverersJpaRepository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -19,6 +25,14 @@ import java.util.*;
 public class DelivererService {
 
     private final DeliverersJpaRepository deliverersJpaRepository;
+    private final DelivererAvailabilityIndex delivererAvailabilityIndex;
+
+    // 트랜잭션별 미확정 배정 목록을 묶어 두는 키
+    private final Object reservationKey = new Object();
+
+    // true 면 DB 행 잠금(FOR UPDATE SKIP LOCKED)으로 담당자 선점 - 인스턴스가 여러 개일 때 사용
+    @Value("${delivery.assignment.claim-enabled:false}")
+    private boolean claimEnabled;
 
     // 배송 담당자 추가
     public ApiResponse<Void> registerDeliverer(RegisterDelivererRequest request) {
@@ -35,6 +49,7 @@ public class DelivererService {
                 request.type()
         );
         deliverersJpaRepository.save(deliverer);
+        delivererAvailabilityIndex.upsert(deliverer);
 
         return new ApiResponse<>(200, "배송담당자 추가 완료", null);
     }
@@ -58,6 +73,7 @@ public class DelivererService {
             Deliverer deliverer = optionalDeliverer.get();
             deliverer.update(request.hubId(), request.type());
             deliverersJpaRepository.save(deliverer);
+            delivererAvailabilityIndex.upsert(deliverer);
             return new ApiResponse<>(200, "배송 담당자 수정 완료", GetDelivererResponse.from(deliverer));
         } else {
             return new ApiResponse<>(400, "해당하는 배송 담당자가 없습니다", null);
@@ -75,6 +91,7 @@ public class DelivererService {
 
             deliverer.deleteBase("temp_username");
             deliverersJpaRepository.save(deliverer);
+            delivererAvailabilityIndex.delete(delivererId);
             return new ApiResponse<>(200, "배송 담당자 삭제 완료", null);
         } else {
             return new ApiResponse<>(400, "해당하는 배송 담당자가 없습니다", null);
@@ -82,19 +99,165 @@ public class DelivererService {
     }
 
     // 배송 담당자 배정 - 허브-업체
+    // 가용성 인덱스에서 고르고, 엔티티는 프록시 참조만 가져옴 (DB 조회 없음)
+    // 인덱스 적재 전에는 진행 중인 배송 경로 수 기준 정렬 조회로 1건만 가져옴
+    // 선점 모드면 SKIP LOCKED 로 다른 요청이 잡은 담당자를 건너뛰고 잠금 (여러 인스턴스 운영 시)
+    // 후보가 모두 잠겨 있으면 (일괄 생성 청크가 잡고 있는 경우 등) 실패하지 않고 가장 한가한 담당자의 잠금을 기다림
+    // 잠금과 미확정 배정은 호출한 트랜잭션이 끝날 때 풀리므로, 배송 경로 저장과 같은 트랜잭션 안에서만 호출
+    @Transactional(propagation = Propagation.MANDATORY)
     public Deliverer assignCompanyDeliverer(UUID departureHubId) {
-        return deliverersJpaRepository.findCompanyDeliverersByHub(departureHubId).stream()
-                .min(Comparator.comparing(deliverer -> deliverer.getDeliveryRecords().size()))
-                .orElseThrow(() -> new IllegalArgumentException("허브-업체 배송에 배정 가능한 담당자가 없습니다."));
+        Optional<Deliverer> assigned;
+        if (claimEnabled) {
+            assigned = deliverersJpaRepository.claimCompanyDeliverer(departureHubId)
+                    .or(() -> deliverersJpaRepository.lockCompanyDeliverer(departureHubId));
+            assigned.ifPresent(deliverer -> reserveInIndex(deliverer.getDelivererId()));
+        } else if (delivererAvailabilityIndex.isLoaded()) {
+            assigned = delivererAvailabilityIndex.assignCompanyDeliverer(departureHubId).map(this::holdReservation);
+        } else {
+            assigned = deliverersJpaRepository.findLeastLoadedCompanyDeliverers(departureHubId, PageRequest.of(0, 1)).stream().findFirst();
+        }
+        return assigned.orElseThrow(() -> new IllegalArgumentException("허브-업체 배송에 배정 가능한 담당자가 없습니다."));
     }
 
     // 배송 담당자 배정 - 허브-허브
+    @Transactional(propagation = Propagation.MANDATORY)
     public Deliverer assignHubDeliverer(Map<UUID, Double> distances) {
-        List<Deliverer> hubDeliverers = deliverersJpaRepository.findHubDeliverers();
-        return hubDeliverers.stream()
-                .filter(deliverer -> deliverer.getStatus() != DelivererStatusEnum.MOVING) // 배송 중이지 않은 담당자 우선 배정
-                .min(Comparator.comparing(deliverer -> distances.getOrDefault(deliverer.getHubId(), Double.MAX_VALUE)))
-                .orElseThrow(() -> new IllegalArgumentException("허브-허브 배송에 배정 가능한 담당자가 없습니다."));
+        Optional<Deliverer> assigned;
+        if (claimEnabled) {
+            assigned = claimHubDeliverer(distances);
+            assigned.ifPresent(deliverer -> reserveInIndex(deliverer.getDelivererId()));
+        } else if (delivererAvailabilityIndex.isLoaded()) {
+            assigned = delivererAvailabilityIndex.assignHubDeliverer(distances).map(this::holdReservation);
+        } else {
+            assigned = findHubDelivererFromDatabase(distances);
+        }
+        return assigned.orElseThrow(() -> new IllegalArgumentException("허브-허브 배송에 배정 가능한 담당자가 없습니다."));
+    }
+
+    // 가까운 허브 순서를 담아 한 번의 쿼리로 선점, 없으면 전체에서 가장 한가한 담당자 선점
+    // 각 단계에서 후보가 모두 잠겨 있으면 같은 순서의 첫 담당자 잠금을 기다림
+    private Optional<Deliverer> claimHubDeliverer(Map<UUID, Double> distances) {
+        if (!distances.isEmpty()) {
+            String hubIds = distances.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .map(hub -> hub.getKey().toString())
+                    .collect(Collectors.joining(",", "{", "}"));
+            Optional<Deliverer> claimed = deliverersJpaRepository.claimNearestHubDeliverer(hubIds)
+                    .or(() -> deliverersJpaRepository.lockNearestHubDeliverer(hubIds));
+            if (claimed.isPresent()) {
+                return claimed;
+            }
+        }
+        return deliverersJpaRepository.claimLeastLoadedHubDeliverer()
+                .or(deliverersJpaRepository::lockLeastLoadedHubDeliverer);
+    }
+
+    // 인접 허브 소속 담당자만 조회해서 가장 가까운 허브 우선, 없으면 전체에서 가장 한가한 담당자
+    private Optional<Deliverer> findHubDelivererFromDatabase(Map<UUID, Double> distances) {
+        if (!distances.isEmpty()) {
+            Optional<Deliverer> nearest = deliverersJpaRepository.findAvailableHubDeliverersIn(distances.keySet()).stream()
+                    .min(Comparator.comparing(deliverer -> distances.get(deliverer.getHubId())));
+            if (nearest.isPresent()) {
+                return nearest;
+            }
+        }
+        return deliverersJpaRepository.findLeastLoadedHubDeliverers(PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    // 배정된 배송 경로가 저장될 때 - 진행 중인 배송 경로 수 +1 (인덱스는 배정 시 이미 반영)
+    public void countAssigned(Deliverer deliverer) {
+        if (deliverer != null) {
+            deliverersJpaRepository.adjustActiveRecordCount(deliverer.getDelivererId(), 1);
+        }
+    }
+
+    // 배송 경로 담당자 변경/완료/취소 시 진행 중인 배송 경로 수 갱신 (인덱스는 커밋 후)
+    public void releaseDeliverer(Deliverer deliverer) {
+        if (deliverer != null) {
+            deliverersJpaRepository.adjustActiveRecordCount(deliverer.getDelivererId(), -1);
+            afterCommit(() -> delivererAvailabilityIndex.adjustLoad(deliverer.getDelivererId(), -1));
+        }
+    }
+
+    public void reserveDeliverer(Deliverer deliverer) {
+        if (deliverer != null) {
+            reserveInIndex(deliverer.getDelivererId());
+            deliverersJpaRepository.adjustActiveRecordCount(deliverer.getDelivererId(), 1);
+        }
+    }
+
+    // 골랐지만 배송 경로에 배정하지 못한 담당자 (다른 요청이 먼저 배정) - 인덱스의 미확정 배정을 바로 되돌림
+    // 이 트랜잭션에서 인덱스에 반영한 배정이 없으면 (인덱스 적재 전 DB 조회 배정) 되돌릴 것도 없음
+    public void cancelReservation(Deliverer deliverer) {
+        Map<Long, Integer> held = heldReservations();
+        if (deliverer == null || held == null || !held.containsKey(deliverer.getDelivererId())) {
+            return;
+        }
+        Long delivererId = deliverer.getDelivererId();
+        held.computeIfPresent(delivererId, (id, count) -> count > 1 ? count - 1 : null);
+        delivererAvailabilityIndex.settle(delivererId, 1, false);
+    }
+
+    // 일괄 상태 변경 - 담당자별 증감을 합쳐 담당자당 UPDATE 한 번
+    // released 는 커밋 후 인덱스에 반영, assigned 는 배정 시 인덱스에 이미 반영되어 있음
+    public void applyLoadChanges(Map<Long, Integer> released, Map<Long, Integer> assigned) {
+        Map<Long, Integer> releasedCopy = Map.copyOf(released);
+        afterCommit(() -> releasedCopy.forEach((delivererId, count) -> delivererAvailabilityIndex.adjustLoad(delivererId, -count)));
+
+        Map<Long, Integer> deltas = new HashMap<>(assigned);
+        released.forEach((delivererId, count) -> deltas.merge(delivererId, -count, Integer::sum));
+        deltas.forEach((delivererId, delta) -> {
+            if (delta != 0) {
+                deliverersJpaRepository.adjustActiveRecordCount(delivererId, delta);
+            }
+        });
+    }
+
+    private void reserveInIndex(Long delivererId) {
+        delivererAvailabilityIndex.reserve(delivererId);
+        holdReservation(delivererId);
+    }
+
+    // 인덱스에 미리 반영한 배정을 트랜잭션이 끝날 때 확정(커밋) 또는 되돌림(롤백)
+    // 한 트랜잭션의 배정은 모아서 완료 시 한 번에 처리 (일괄 생성/상태 변경)
+    private Deliverer holdReservation(Long delivererId) {
+        Map<Long, Integer> held = heldReservations();
+        if (held == null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Long, Integer> reservations = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(reservationKey, reservations);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(reservationKey);
+                    reservations.forEach((id, count) -> delivererAvailabilityIndex.settle(id, count, status == STATUS_COMMITTED));
+                }
+            });
+            held = reservations;
+        }
+        if (held != null) {
+            held.merge(delivererId, 1, Integer::sum);
+        } else {
+            delivererAvailabilityIndex.settle(delivererId, 1, true);
+        }
+        return deliverersJpaRepository.getReferenceById(delivererId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Integer> heldReservations() {
+        return (Map<Long, Integer>) TransactionSynchronizationManager.getResource(reservationKey);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private Optional<Deliverer> findDelivererById(Long delivererId) {
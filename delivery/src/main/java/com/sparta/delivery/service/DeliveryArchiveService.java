@@ -0,0 +1,108 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.repository.DeliveryArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// 완료된 배송 보관
+// 완료/취소 또는 삭제 후 보관 기간이 지난 배송과 배송 경로를 월 파티션 보관 테이블로 옮겨서
+// 운영 테이블(p_deliveries, p_delivery_records)에는 진행 중이거나 최근에 끝난 배송만 남긴다
+// 운영 테이블 조회는 손대지 않아도 작은 테이블만 읽고, 보관된 배송은 단건 조회 시에만 보관 테이블에서 읽는다
+@Service
+public class DeliveryArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryArchiveService.class);
+
+    private final DeliveryArchiveRepository deliveryArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer archiveTimer;
+    private final Counter archivedDeliveriesCounter;
+    private final Counter archivedRecordsCounter;
+
+    @Value("${delivery.archive.enabled:false}")
+    private boolean enabled;
+
+    // 끝난 뒤 이 기간이 지나면 보관
+    @Value("${delivery.archive.retention:30d}")
+    private Duration retention;
+
+    @Value("${delivery.archive.batch-size:500}")
+    private int batchSize;
+
+    // 한 번 실행에서 옮길 최대 배치 수 - 처음 켤 때 쌓인 이력은 여러 번에 나눠 옮김
+    @Value("${delivery.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    public DeliveryArchiveService(DeliveryArchiveRepository deliveryArchiveRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.deliveryArchiveRepository = deliveryArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveTimer = meterRegistry.timer("delivery.archive.run");
+        this.archivedDeliveriesCounter = meterRegistry.counter("delivery.archive.deliveries");
+        this.archivedRecordsCounter = meterRegistry.counter("delivery.archive.records");
+    }
+
+    @Scheduled(initialDelayString = "${delivery.archive.interval-ms:600000}",
+            fixedDelayString = "${delivery.archive.interval-ms:600000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        int archived = 0;
+        try {
+            List<String> deliveryColumns = deliveryArchiveRepository.ensureArchiveTable(DeliveryArchiveRepository.DELIVERIES);
+            List<String> recordColumns = deliveryArchiveRepository.ensureArchiveTable(DeliveryArchiveRepository.DELIVERY_RECORDS);
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff, deliveryColumns, recordColumns));
+                archived += moved == null ? 0 : moved;
+                if (moved == null || moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("delivery archive failed: {}", e.getMessage());
+        } finally {
+            archiveTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+        if (archived > 0) {
+            logger.info("deliveries archived: {}", archived);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff, List<String> deliveryColumns, List<String> recordColumns) {
+        if (!deliveryArchiveRepository.tryLock()) {
+            return 0;
+        }
+        List<UUID> deliveryIds = deliveryArchiveRepository.lockArchivableDeliveries(cutoff, batchSize);
+        if (deliveryIds.isEmpty()) {
+            return 0;
+        }
+
+        deliveryArchiveRepository.ensureMonthlyPartitions(DeliveryArchiveRepository.DELIVERY_RECORDS, deliveryIds);
+        deliveryArchiveRepository.ensureMonthlyPartitions(DeliveryArchiveRepository.DELIVERIES, deliveryIds);
+        // 배송 경로가 배송을 참조하므로 배송 경로부터
+        int records = deliveryArchiveRepository.moveToArchive(DeliveryArchiveRepository.DELIVERY_RECORDS, recordColumns, deliveryIds);
+        int deliveries = deliveryArchiveRepository.moveToArchive(DeliveryArchiveRepository.DELIVERIES, deliveryColumns, deliveryIds);
+
+        archivedRecordsCounter.increment(records);
+        archivedDeliveriesCounter.increment(deliveries);
+        return deliveryIds.size();
+    }
+}
@@ -0,0 +1,8 @@
+package com.sparta.delivery.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// 배송/배송 경로 변경이 커밋된 배송 ID (이 인스턴스 또는 다른 인스턴스에서 변경)
+public record DeliveryChangedEvent(Collection<UUID> deliveryIds) {
+}
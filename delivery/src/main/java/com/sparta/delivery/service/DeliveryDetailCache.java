@@ -0,0 +1,219 @@
+package com.sparta.delivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sparta.delivery.dto.DeliveryDetailRow;
+import com.sparta.delivery.dto.GetDeliveryResponse;
+import com.sparta.delivery.repository.DeliveriesJpaRepository;
+import com.sparta.delivery.repository.DeliveryArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// 배송 단건 조회 캐시 (L1: 인스턴스 로컬 Caffeine, L2: Redis)
+// 조회 시 L1 -> L2 -> DB 순으로 읽고, 같은 키를 동시에 읽으면 DB 조회는 한 번만 한다
+// 배송/배송 경로가 바뀌면 커밋 후 L2 를 지우고 pub/sub 으로 모든 인스턴스의 L1 을 지운다
+// L2 에는 배송별 세대 값을 두어, 무효화 전에 DB 에서 읽은 값이 무효화 후에 L2 에 다시 쓰이지 않도록 한다
+//   조회: DB 조회 전에 세대를 읽고, 세대가 그대로일 때만 L2 에 씀 / 무효화: 세대 +1 후 L2 삭제 (스크립트로 한 번에)
+// 무효화한 배송 ID 는 각 인스턴스에서 DeliveryChangedEvent 로 다시 알린다 (실시간 추적 등)
+@Service
+public class DeliveryDetailCache implements MessageListener {
+
+    public static final String DELIVERY_DETAIL_KEY_PREFIX = "delivery:detail:";
+    public static final String DELIVERY_DETAIL_GENERATION_KEY_PREFIX = "delivery:detail:gen:";
+    public static final String DELIVERY_DETAIL_INVALIDATED_CHANNEL = "delivery:detail:invalidated";
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryDetailCache.class);
+
+    // KEYS = [상세, 세대], ARGV = [읽어 둔 세대, 값, TTL(ms)] - 세대가 바뀌었으면 쓰지 않음
+    private static final RedisScript<Long> WRITE_IF_GENERATION_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1", Long.class);
+
+    // KEYS = [상세1, 세대1, 상세2, 세대2, ...], ARGV = [세대 TTL(ms)]
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS, 2 do " +
+            "redis.call('DEL', KEYS[i]) redis.call('INCR', KEYS[i + 1]) redis.call('PEXPIRE', KEYS[i + 1], ARGV[1]) " +
+            "end return #KEYS / 2", Long.class);
+
+    // 자기 인스턴스가 보낸 알림은 이미 처리했으므로 건너뛰기 위한 식별자
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final DeliveriesJpaRepository deliveriesJpaRepository;
+    private final DeliveryArchiveRepository deliveryArchiveRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<UUID, GetDeliveryResponse> localCache;
+    private final Duration redisTtl;
+
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+    private final Counter invalidationCounter;
+
+    public DeliveryDetailCache(DeliveriesJpaRepository deliveriesJpaRepository,
+                               DeliveryArchiveRepository deliveryArchiveRepository,
+                               StringRedisTemplate redisTemplate,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${delivery.cache.detail.local-max-size:10000}") long localMaxSize,
+                               @Value("${delivery.cache.detail.local-ttl:30s}") Duration localTtl,
+                               @Value("${delivery.cache.detail.redis-ttl:10m}") Duration redisTtl) {
+        this.deliveriesJpaRepository = deliveriesJpaRepository;
+        this.deliveryArchiveRepository = deliveryArchiveRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.redisTtl = redisTtl;
+        // 무효화 알림이 유실돼도 L1 은 local-ttl 안에 정리됨
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "delivery.detail.local");
+        this.redisHitCounter = meterRegistry.counter("delivery.detail.redis", "result", "hit");
+        this.redisMissCounter = meterRegistry.counter("delivery.detail.redis", "result", "miss");
+        this.invalidationCounter = meterRegistry.counter("delivery.detail.invalidations");
+    }
+
+    // 없는 배송이면 null (캐시하지 않음)
+    public GetDeliveryResponse get(UUID deliveryId) {
+        return localCache.get(deliveryId, id -> {
+            RedisEntry entry = readRedis(id);
+            if (entry.cached() != null) {
+                redisHitCounter.increment();
+                return entry.cached();
+            }
+            redisMissCounter.increment();
+            // 배송 + 배송 경로 + 배송 담당자 ID 를 쿼리 한 번으로 조회, 운영 테이블에 없으면 보관 테이블에서
+            List<DeliveryDetailRow> rows = deliveriesJpaRepository.findDeliveryDetail(id);
+            if (rows.isEmpty()) {
+                rows = deliveryArchiveRepository.findDeliveryDetail(id);
+            }
+            GetDeliveryResponse loaded = rows.isEmpty() ? null : GetDeliveryResponse.from(rows);
+            if (loaded != null && entry.generation() != null) {
+                writeRedis(id, loaded, entry.generation());
+            }
+            return loaded;
+        });
+    }
+
+    // 트랜잭션 안이면 커밋 후에 (커밋 전 값이 다시 캐시되지 않도록), 아니면 바로 무효화
+    // 한 트랜잭션에서 여러 번 호출되면 모아서 커밋 후 한 번에 처리 (일괄 상태 변경)
+    public void evict(UUID deliveryId) {
+        if (deliveryId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(List.of(deliveryId));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<UUID> pending = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<UUID> deliveryIds = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, deliveryIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DeliveryDetailCache.this);
+                    if (status == STATUS_COMMITTED) {
+                        evictNow(deliveryIds);
+                    }
+                }
+            });
+            pending = deliveryIds;
+        }
+        pending.add(deliveryId);
+    }
+
+    // 다른 인스턴스의 무효화 알림 수신 ("인스턴스ID|배송ID,배송ID,...")
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        try {
+            List<UUID> deliveryIds = new ArrayList<>();
+            for (String deliveryId : body.substring(separator + 1).split(",")) {
+                deliveryIds.add(UUID.fromString(deliveryId.trim()));
+            }
+            localCache.invalidateAll(deliveryIds);
+            eventPublisher.publishEvent(new DeliveryChangedEvent(deliveryIds));
+        } catch (IllegalArgumentException e) {
+            logger.warn("invalid delivery detail invalidation message: {}", e.getMessage());
+        }
+    }
+
+    private void evictNow(Collection<UUID> deliveryIds) {
+        localCache.invalidateAll(deliveryIds);
+        invalidationCounter.increment(deliveryIds.size());
+        try {
+            List<String> keys = new ArrayList<>(deliveryIds.size() * 2);
+            deliveryIds.forEach(deliveryId -> {
+                keys.add(DELIVERY_DETAIL_KEY_PREFIX + deliveryId);
+                keys.add(DELIVERY_DETAIL_GENERATION_KEY_PREFIX + deliveryId);
+            });
+            // 세대 값은 조회 중인 요청이 쓰기 전까지 남아 있으면 되므로 L2 TTL 만큼만 유지
+            redisTemplate.execute(INVALIDATE_SCRIPT, keys, String.valueOf(redisTtl.toMillis()));
+            redisTemplate.convertAndSend(DELIVERY_DETAIL_INVALIDATED_CHANNEL,
+                    instanceId + "|" + deliveryIds.stream().map(UUID::toString).collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            // L2/다른 인스턴스 L1 은 TTL 로 정리됨
+            logger.warn("delivery detail invalidation failed: deliveries={}, {}", deliveryIds.size(), e.getMessage());
+        }
+        eventPublisher.publishEvent(new DeliveryChangedEvent(deliveryIds));
+    }
+
+    // 상세와 세대를 한 번에 읽음 (세대 키가 없으면 "0")
+    // Redis 장애 시에는 L2 를 건너뛰고 DB 에서 읽음 - 세대를 모르므로 L2 에 쓰지도 않음
+    private RedisEntry readRedis(UUID deliveryId) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(
+                    DELIVERY_DETAIL_KEY_PREFIX + deliveryId, DELIVERY_DETAIL_GENERATION_KEY_PREFIX + deliveryId));
+            String json = values == null ? null : values.get(0);
+            String generation = values == null || values.get(1) == null ? "0" : values.get(1);
+            return new RedisEntry(json == null ? null : objectMapper.readValue(json, GetDeliveryResponse.class), generation);
+        } catch (Exception e) {
+            logger.warn("delivery detail redis read failed: deliveryId={}, {}", deliveryId, e.getMessage());
+            return new RedisEntry(null, null);
+        }
+    }
+
+    // 읽어 둔 세대가 그대로일 때만 씀 - 그 사이 무효화됐으면 읽은 값이 이미 지난 값일 수 있음
+    private void writeRedis(UUID deliveryId, GetDeliveryResponse response, String generation) {
+        try {
+            redisTemplate.execute(WRITE_IF_GENERATION_SCRIPT,
+                    List.of(DELIVERY_DETAIL_KEY_PREFIX + deliveryId, DELIVERY_DETAIL_GENERATION_KEY_PREFIX + deliveryId),
+                    generation, objectMapper.writeValueAsString(response), String.valueOf(redisTtl.toMillis()));
+        } catch (Exception e) {
+            logger.warn("delivery detail redis write failed: deliveryId={}, {}", deliveryId, e.getMessage());
+        }
+    }
+
+    private record RedisEntry(GetDeliveryResponse cached, String generation) {
+    }
+}
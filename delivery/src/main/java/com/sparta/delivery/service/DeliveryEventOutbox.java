@@ -0,0 +1,58 @@
+package com.sparta.delivery.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.delivery.dto.DeliveryEventPayload;
+import com.sparta.delivery.entity.Delivery;
+import com.sparta.delivery.entity.DeliveryEventTypeEnum;
+import com.sparta.delivery.entity.DeliveryOutboxEvent;
+import com.sparta.delivery.entity.DeliveryRecord;
+import com.sparta.delivery.repository.DeliveryOutboxJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// 배송 이벤트를 outbox 테이블에 기록
+// 배송 변경과 같은 트랜잭션에서만 저장되므로, 커밋된 변경의 이벤트는 유실되지 않고 롤백된 변경의 이벤트는 남지 않는다
+// 실제 발행(슬랙/주문 알림 등)은 DeliveryOutboxRelay 가 요청과 별도로 처리
+@Service
+@RequiredArgsConstructor
+public class DeliveryEventOutbox {
+
+    private final DeliveryOutboxJpaRepository deliveryOutboxJpaRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DeliveryEventTypeEnum eventType, Delivery delivery, DeliveryRecord deliveryRecord, LocalDateTime occurredAt) {
+        // 수신자 정보는 슬랙 알림이 필요한 생성 이벤트에만 포함
+        boolean created = eventType == DeliveryEventTypeEnum.DELIVERY_CREATED;
+        DeliveryEventPayload payload = new DeliveryEventPayload(
+                eventType,
+                delivery.getDeliveryId(),
+                delivery.getOrderId(),
+                delivery.getStatus(),
+                delivery.getCurrentSeq(),
+                delivery.getTotalSequence(),
+                deliveryRecord == null ? null : deliveryRecord.getDeliveryRecordId(),
+                deliveryRecord == null ? null : deliveryRecord.getSequence(),
+                created ? delivery.getRecipient() : null,
+                created ? delivery.getRecipientSlackAccount() : null,
+                created ? delivery.getDispatchDeadline() : null,
+                occurredAt
+        );
+
+        deliveryOutboxJpaRepository.save(DeliveryOutboxEvent.create(delivery.getDeliveryId(), delivery.nextEventSeq(),
+                eventType, toJson(payload), occurredAt));
+    }
+
+    private String toJson(DeliveryEventPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("배송 이벤트 직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.entity.DeliveryOutboxEvent;
+import com.sparta.delivery.repository.DeliveryOutboxJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// outbox 에 쌓인 배송 이벤트를 Redis Stream 으로 발행
+// 읽은 배치를 한 번의 파이프라인(XADD)으로 보내고, 성공하면 같은 트랜잭션에서 삭제한다
+// 같은 배송의 이벤트가 커밋 순서대로 나가도록 릴레이는 advisory lock 을 잡은 한 인스턴스만 실행하고, 배송별 순번 순서로 발행한다
+// 발행 도중 실패하면 롤백되어 다음 주기에 다시 보내므로 최소 한 번 전달 - 구독 측은 event_id 로 중복을 거른다
+@Service
+public class DeliveryOutboxRelay {
+
+    public static final String DELIVERY_EVENTS_STREAM = "delivery:events";
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryOutboxRelay.class);
+
+    private final DeliveryOutboxJpaRepository deliveryOutboxJpaRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer relayTimer;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+
+    @Value("${delivery.outbox.enabled:true}")
+    private boolean enabled;
+
+    // 한 번에 잠그고 발행할 최대 이벤트 수
+    @Value("${delivery.outbox.batch-size:500}")
+    private int batchSize;
+
+    // 스트림 최대 길이 (근사 trim) - 구독 측이 이보다 오래 밀리면 오래된 이벤트부터 잘림
+    @Value("${delivery.outbox.stream-max-length:100000}")
+    private long streamMaxLength;
+
+    public DeliveryOutboxRelay(DeliveryOutboxJpaRepository deliveryOutboxJpaRepository,
+                               StringRedisTemplate redisTemplate,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry) {
+        this.deliveryOutboxJpaRepository = deliveryOutboxJpaRepository;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.relayTimer = meterRegistry.timer("delivery.outbox.relay");
+        this.publishedCounter = meterRegistry.counter("delivery.outbox.published");
+        this.failureCounter = meterRegistry.counter("delivery.outbox.relay.failures");
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.outbox.relay-interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // 밀려 있으면 배치가 덜 찰 때까지 이어서 발행
+            Integer published;
+            do {
+                published = relayTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            } while (published != null && published == batchSize);
+        } catch (Exception e) {
+            failureCounter.increment();
+            logger.warn("delivery outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        // 다른 인스턴스가 발행 중이면 이번 주기는 건너뜀
+        if (!deliveryOutboxJpaRepository.tryLockRelay()) {
+            return 0;
+        }
+        List<DeliveryOutboxEvent> events = deliveryOutboxJpaRepository.findPendingEvents(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        byte[] stream = bytes(DELIVERY_EVENTS_STREAM);
+        XAddOptions options = XAddOptions.maxlen(streamMaxLength).approximateTrimming(true);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (DeliveryOutboxEvent event : events) {
+                Map<byte[], byte[]> fields = new LinkedHashMap<>();
+                fields.put(bytes("event_id"), bytes(String.valueOf(event.getOutboxId())));
+                fields.put(bytes("event_type"), bytes(event.getEventType().name()));
+                fields.put(bytes("delivery_id"), bytes(event.getDeliveryId().toString()));
+                fields.put(bytes("payload"), bytes(event.getPayload()));
+                connection.streamCommands().xAdd(StreamRecords.newRecord().in(stream).ofMap(fields), options);
+            }
+            return null;
+        });
+
+        deliveryOutboxJpaRepository.deleteAllInBatch(events);
+        publishedCounter.increment(events.size());
+        return events.size();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
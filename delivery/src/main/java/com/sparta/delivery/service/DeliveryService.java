@@ -3,20 +3,29 @@ package com.sparta.delivery.service;
 import com.sparta.delivery.common.ApiResponse;
 import com.sparta.delivery.dto.*;
 import com.sparta.delivery.entity.*;
+import com.sparta.delivery.graph.KShortestPaths;
+import com.sparta.delivery.graph.TimedRoute;
 import com.sparta.delivery.repository.DeliverersJpaRepository;
 import com.sparta.delivery.util.Point;
 import com.sparta.delivery.repository.DeliveriesJpaRepository;
 import com.sparta.delivery.repository.DeliveryRecordsJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Service
 @RequiredArgsConstructor
@@ -25,20 +34,54 @@ public class DeliveryService {
     private final PathService pathService;
     private final KakaoMapService kakaoMapService;
     private final DelivererService delivererService;
+    private final AssignmentWindowService assignmentWindowService;
+    private final LegTimeProfileService legTimeProfileService;
+    private final DeliveryEventOutbox deliveryEventOutbox;
+    private final DeliveryDetailCache deliveryDetailCache;
+    private final DispatchDeadlineScheduler dispatchDeadlineScheduler;
     private final DeliverersJpaRepository deliverersJpaRepository;
     private final DeliveriesJpaRepository deliveryJpaRepository;
     private final DeliveryRecordsJpaRepository deliveryRecordsJpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     private static final Logger logger = LoggerFactory.getLogger(DeliveryService.class);
+    private static final int MAX_ALTERNATIVE_ROUTES = 10;
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // 허브/업체 좌표 연동 전 임시 좌표
+    private static final Point LAST_HUB_LOCATION = new Point(BigDecimal.valueOf(126.977969), BigDecimal.valueOf(37.566535));
+    private static final Point COMPANY_LOCATION = new Point(BigDecimal.valueOf(127.1058342), BigDecimal.valueOf(37.359708));
+    // 일괄 생성의 허브-업체 구간 조회 키 - 좌표가 연동되면 요청별 (마지막 허브, 업체) 좌표 쌍으로 조회를 묶음
+    private static final RoutePair TEMP_LAST_MILE = new RoutePair(LAST_HUB_LOCATION, COMPANY_LOCATION);
+
+    @Value("${delivery.jdbc.batch-size:500}")
+    private int batchChunkSize;
+
+    // 허브-업체 구간 카카오 길찾기 대기 한도 (경로 탐색과 동시에 시작한 시점부터)
+    @Value("${delivery.last-mile.timeout-ms:1500}")
+    private long lastMileTimeoutMillis;
+
+    // 카카오 응답이 없을 때 추정값 - 직선 거리 * 우회 계수, 평균 속도
+    @Value("${delivery.last-mile.detour-factor:1.3}")
+    private double lastMileDetourFactor;
+
+    @Value("${delivery.last-mile.fallback-speed-kmh:30}")
+    private double lastMileFallbackSpeedKmh;
 
 
     // 배송 생성
-    @Transactional
+    // 검증, 경로 탐색, 카카오 응답 대기는 트랜잭션 밖에서 처리하고 저장만 트랜잭션으로 묶음 (대기 중 DB 연결을 잡지 않음)
     public ApiResponse<Void> createDelivery(CreateDeliveryRequest request) {
 
         try {
 
-            Delivery delivery = createDeliveryEntity(request);
+            validateRequest(request);
+
+            // 마지막 허브에서 업체까지의 경로는 허브 경로 탐색과 동시에 조회
+            long lastMileDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lastMileTimeoutMillis);
+            Future<KakaoRouteResponse> lastMile = kakaoMapService.getRouteAsync(LAST_HUB_LOCATION, COMPANY_LOCATION);
 
             // Redis에서 경로 데이터 가져오기
             List<HubRoute> hubRoutes = pathService.getHubRoutes();
@@ -46,31 +89,18 @@ public class DeliveryService {
             // 없을 경우 DB에서 가져오기
 
             // 최단 경로 생성
-            List<DeliveryRecord> deliveryRecordList = createDeliveryRecords(request, hubRoutes, delivery);
-
-            // 마지막 허브에서 업체까지의 경로 추가
-            addFinalDeliveryRecord(deliveryRecordList, delivery);
+            long routingStartedAt = System.nanoTime();
+            TimedRoute route = findRoute(request, hubRoutes);
+            stageTimer("routing").record(System.nanoTime() - routingStartedAt, TimeUnit.NANOSECONDS);
 
-            // 배송 시한 업데이트
-            updateDispatchDeadline(delivery, deliveryRecordList, request);
+            // 기한 안에 응답이 없으면 조회를 취소하고 추정값 사용
+            LastMileLeg lastMileLeg = awaitLastMile(lastMile, lastMileDeadline);
+            kakaoMapService.cancel(List.of(lastMile));
 
-            // 배송 담당자 지정
-            DeliveryRecord firstRecord = deliveryRecordList.get(0);
-            Map<UUID, Double> distances = pathService.calculateDistancesFromHub(hubRoutes, firstRecord.getDepartures());
-            Deliverer firstDeliverer;
-            if (firstRecord.getSequence() == delivery.getTotalSequence()) {
-                // 허브-업체 배송인 경우
-                firstDeliverer = delivererService.assignCompanyDeliverer(firstRecord.getDepartures());
-            } else {
-                // 허브-허브 배송인 경우
-                firstDeliverer = delivererService.assignHubDeliverer(distances);
-            }
-            firstRecord.assignDeliverer(firstDeliverer);
+            // 배송/배송 경로 생성, 담당자 지정 후 저장
+            transactionTemplate.execute(status -> saveNewDelivery(request, route, lastMileLeg, hubRoutes));
 
-            // 배송 데이터 저장
-            saveDelivery(delivery, deliveryRecordList);
-
-            // 슬랙 메시지 발송
+            // 슬랙 메시지 발송은 배송 생성 이벤트(outbox)를 구독하는 쪽에서 처리
 
             return new ApiResponse<>(200, "배송 생성 성공", null);
         } catch (Exception e) {
@@ -79,6 +109,194 @@ public class DeliveryService {
         }
     }
 
+    // 배송 일괄 생성 - (출발 허브, 출발 시간대)별로 최단 경로 트리를 한 번씩만 계산하고, 청크 단위 JDBC 배치로 저장
+    // 계획 단계에서는 경로와 허브-업체 구간만 정하고, 엔티티 생성/담당자 배정/저장은 청크 트랜잭션 안에서 처리
+    public ApiResponse<BatchResponse> createDeliveries(List<CreateDeliveryRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return new ApiResponse<>(400, "한 번에 1 ~ " + MAX_BATCH_SIZE + "건까지 생성할 수 있습니다", null);
+        }
+
+        List<HubRoute> hubRoutes = pathService.getHubRoutes();
+        if (hubRoutes == null) {
+            return new ApiResponse<>(500, "허브 경로 데이터가 없습니다", null);
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<PlannedDelivery> planned = planDeliveries(requests, hubRoutes, results);
+
+        // 청크 단위 저장, 청크가 실패하면 해당 청크만 건별로 다시 저장해서 실패 건을 가려냄
+        // 롤백된 청크의 엔티티(생성된 ID/버전)는 버리고 계획으로부터 새로 만듦 - 담당자 선점과 건수 증가도 롤백으로 함께 되돌아감
+        for (int from = 0; from < planned.size(); from += batchChunkSize) {
+            List<PlannedDelivery> chunk = planned.subList(from, Math.min(from + batchChunkSize, planned.size()));
+            try {
+                List<UUID> deliveryIds = transactionTemplate.execute(status ->
+                        chunk.stream().map(plan -> saveNewDelivery(plan, hubRoutes)).toList());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunk.get(i).index()] = BatchItemResult.success(chunk.get(i).index(), deliveryIds.get(i));
+                }
+            } catch (Exception chunkFailure) {
+                logger.warn("createDeliveries chunk failed, retrying one by one: {}", chunkFailure.getMessage());
+                for (PlannedDelivery plan : chunk) {
+                    try {
+                        UUID deliveryId = transactionTemplate.execute(status -> saveNewDelivery(plan, hubRoutes));
+                        results[plan.index()] = BatchItemResult.success(plan.index(), deliveryId);
+                    } catch (Exception e) {
+                        results[plan.index()] = BatchItemResult.failure(plan.index(), "배송 저장 실패: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        return new ApiResponse<>(200, "배송 일괄 생성 완료", BatchResponse.from(Arrays.asList(results)));
+    }
+
+    private List<PlannedDelivery> planDeliveries(List<CreateDeliveryRequest> requests, List<HubRoute> hubRoutes, BatchItemResult[] results) {
+        // 허브-업체 구간 조회를 먼저 모두 걸어 두고 경로 탐색 - 풀 한도를 넘은 건은 바로 추정값 사용
+        // 출발/도착 좌표가 같은 건은 조회 한 번을 함께 기다림
+        long lastMileDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lastMileTimeoutMillis);
+        Map<RoutePair, Future<KakaoRouteResponse>> lastMiles = new HashMap<>();
+        Map<UUID, List<Integer>> indexesBySource = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateDeliveryRequest request = requests.get(i);
+            try {
+                validateRequest(request);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchItemResult.failure(i, e.getMessage());
+                continue;
+            }
+            indexesBySource.computeIfAbsent(request.sourceHubId(), k -> new ArrayList<>()).add(i);
+            lastMiles.computeIfAbsent(TEMP_LAST_MILE,
+                    pair -> kakaoMapService.getRouteAsync(pair.origin(), pair.destination()));
+        }
+
+        List<PlannedDelivery> planned = new ArrayList<>();
+        LocalDateTime[] departures = new LocalDateTime[requests.size()];
+
+        for (Map.Entry<UUID, List<Integer>> group : indexesBySource.entrySet()) {
+            UUID sourceHubId = group.getKey();
+
+            // 출발 허브별 정적 최단 경로 트리로 출발 시각을 잡고, 출발 시간대(1시간)별로 묶음
+            Map<LocalDateTime, List<Integer>> indexesBySlot = groupByDepartureSlot(
+                    requests, group.getValue(), hubRoutes, sourceHubId, departures, results);
+
+            // (출발 허브, 출발 시간대) 묶음마다 시간 의존 경로 탐색 한 번, 구간 시간은 건별 출발 시각으로 계산
+            for (Map.Entry<LocalDateTime, List<Integer>> slot : indexesBySlot.entrySet()) {
+                Set<UUID> destinations = new HashSet<>();
+                slot.getValue().forEach(i -> destinations.add(requests.get(i).destinationId()));
+                Map<UUID, List<HubRoute>> routes = pathService.findTimeDependentRoutes(hubRoutes, sourceHubId, destinations, slot.getKey());
+
+                for (int i : slot.getValue()) {
+                    CreateDeliveryRequest request = requests.get(i);
+                    try {
+                        List<HubRoute> legs = routes.getOrDefault(request.destinationId(), List.of());
+                        requireRoute(request, legs);
+                        TimedRoute route = pathService.timeRoute(hubRoutes, legs, departures[i]);
+                        planned.add(new PlannedDelivery(i, request, route, awaitLastMile(lastMiles.get(TEMP_LAST_MILE), lastMileDeadline)));
+                    } catch (Exception e) {
+                        results[i] = BatchItemResult.failure(i, e.getMessage());
+                    }
+                }
+            }
+        }
+        // 기한 안에 끝나지 않은 조회는 취소 (대기열에 남은 작업 포함)
+        kakaoMapService.cancel(lastMiles.values());
+        return planned;
+    }
+
+    private Map<LocalDateTime, List<Integer>> groupByDepartureSlot(List<CreateDeliveryRequest> requests, List<Integer> indexes,
+                                                                   List<HubRoute> hubRoutes, UUID sourceHubId,
+                                                                   LocalDateTime[] departures, BatchItemResult[] results) {
+        Set<UUID> destinations = new HashSet<>();
+        indexes.forEach(i -> destinations.add(requests.get(i).destinationId()));
+        Map<UUID, List<HubRoute>> staticRoutes = pathService.findShortestRoutes(hubRoutes, sourceHubId, destinations);
+
+        Map<LocalDateTime, List<Integer>> indexesBySlot = new LinkedHashMap<>();
+        for (int i : indexes) {
+            CreateDeliveryRequest request = requests.get(i);
+            try {
+                List<HubRoute> staticLegs = staticRoutes.getOrDefault(request.destinationId(), List.of());
+                requireRoute(request, staticLegs);
+                departures[i] = departureAt(request, staticLegs);
+                indexesBySlot.computeIfAbsent(departures[i].truncatedTo(ChronoUnit.HOURS), k -> new ArrayList<>()).add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchItemResult.failure(i, e.getMessage());
+            }
+        }
+        return indexesBySlot;
+    }
+
+    private record RoutePair(Point origin, Point destination) {
+    }
+
+    // 저장 전 배송 계획 - 엔티티를 담지 않아 재시도할 때마다 새로 만들 수 있음
+    private record PlannedDelivery(int index, CreateDeliveryRequest request, TimedRoute route, LastMileLeg lastMile) {
+    }
+
+    // 단건/일괄 생성 공통 검증
+    private static void validateRequest(CreateDeliveryRequest request) {
+        if (request == null || request.sourceHubId() == null || request.destinationId() == null || request.deliverDate() == null) {
+            throw new IllegalArgumentException("필수 값이 없습니다");
+        }
+    }
+
+    // 단건 생성 경로 탐색
+    // 정적 예상 시간으로 출발 시각을 먼저 잡고, 그 시각 기준 시간대별 소요 시간으로 경로 재탐색
+    private TimedRoute findRoute(CreateDeliveryRequest request, List<HubRoute> hubRoutes) {
+        List<HubRoute> staticLegs = pathService.findShortestRoute(hubRoutes, request.sourceHubId(), request.destinationId());
+        requireRoute(request, staticLegs);
+        TimedRoute route = pathService.findTimeDependentRoute(hubRoutes, request.sourceHubId(), request.destinationId(),
+                departureAt(request, staticLegs));
+        requireRoute(request, route.routes());
+        return route;
+    }
+
+    // 허브 구간이 없는 것은 출발 허브와 도착 허브가 같을 때뿐
+    private static void requireRoute(CreateDeliveryRequest request, List<HubRoute> legs) {
+        if (legs.isEmpty() && !request.sourceHubId().equals(request.destinationId())) {
+            throw new IllegalArgumentException("이동 가능한 경로가 없습니다");
+        }
+    }
+
+    // 정적 예상 시간 기준 출발 시각 - 시간대별 소요 시간 조회 기준
+    private static LocalDateTime departureAt(CreateDeliveryRequest request, List<HubRoute> staticLegs) {
+        Duration staticTotal = staticLegs.stream()
+                .map(HubRoute::estimateTime)
+                .reduce(Duration.ZERO, Duration::plus);
+        return request.deliverDate().minus(staticTotal);
+    }
+
+    private UUID saveNewDelivery(PlannedDelivery plan, List<HubRoute> hubRoutes) {
+        return saveNewDelivery(plan.request(), plan.route(), plan.lastMile(), hubRoutes);
+    }
+
+    // 경로로 배송/배송 경로 엔티티를 새로 만들고 첫 구간 담당자를 배정해 저장 - 호출한 트랜잭션 안에서 실행
+    private UUID saveNewDelivery(CreateDeliveryRequest request, TimedRoute route, LastMileLeg lastMile, List<HubRoute> hubRoutes) {
+        Delivery delivery = createDeliveryEntity(request);
+        List<DeliveryRecord> deliveryRecordList = createDeliveryRecords(route, delivery);
+
+        // 마지막 허브에서 업체까지의 경로 추가
+        addFinalDeliveryRecord(deliveryRecordList, delivery, lastMile);
+
+        // 배송 시한 업데이트
+        updateDispatchDeadline(delivery, deliveryRecordList, request);
+
+        // 배송 담당자 지정
+        DeliveryRecord firstRecord = deliveryRecordList.get(0);
+        Deliverer firstDeliverer;
+        if (firstRecord.getSequence() == deliveryRecordList.size()) {
+            // 허브-업체 배송인 경우
+            firstDeliverer = delivererService.assignCompanyDeliverer(firstRecord.getDepartures());
+        } else {
+            // 허브-허브 배송인 경우
+            firstDeliverer = assignHubLegDeliverer(hubRoutes, firstRecord.getDepartures());
+        }
+        firstRecord.assignDeliverer(firstDeliverer);
+
+        // 배송 데이터 저장
+        saveDelivery(delivery, deliveryRecordList);
+        return delivery.getDeliveryId();
+    }
+
     private Delivery createDeliveryEntity(CreateDeliveryRequest request) {
         return Delivery.create(
                 request.orderId(),
@@ -90,21 +308,16 @@ public class DeliveryService {
         );
     }
 
-    private List<DeliveryRecord> createDeliveryRecords(CreateDeliveryRequest request, List<HubRoute> hubRoutes, Delivery delivery) {
-        List<UUID> paths = pathService.findShortestPath(hubRoutes, request.sourceHubId(), request.destinationId());
+    private List<DeliveryRecord> createDeliveryRecords(TimedRoute route, Delivery delivery) {
         List<DeliveryRecord> deliveryRecordList = new ArrayList<>();
-
-        for (int i = 0; i < paths.size() - 1; i++) {
-            UUID departureHubId = paths.get(i);
-            UUID arrivalHubId = paths.get(i + 1);
-
-            HubRoute hubRoute = pathService.findHubRoute(hubRoutes, departureHubId, arrivalHubId);
+        for (int i = 0; i < route.routes().size(); i++) {
+            HubRoute hubRoute = route.routes().get(i);
 
             DeliveryRecord deliveryRecord = DeliveryRecord.create(
-                    departureHubId,
-                    arrivalHubId,
+                    hubRoute.departureHubId(),
+                    hubRoute.arrivalHubId(),
                     i + 1,
-                    hubRoute.estimateTime(),
+                    route.legTime(i),
                     BigDecimal.valueOf(hubRoute.estimatedDistance()),
                     delivery
             );
@@ -113,31 +326,71 @@ public class DeliveryService {
         return deliveryRecordList;
     }
 
-    private void addFinalDeliveryRecord(List<DeliveryRecord> deliveryRecordList, Delivery delivery) {
-        Point lastHubLocation = new Point(BigDecimal.valueOf(126.977969), BigDecimal.valueOf(37.566535));
-        Point companyLocation = new Point(BigDecimal.valueOf(127.1058342), BigDecimal.valueOf(37.359708));
-
-        kakaoMapService.getRouteAsync(lastHubLocation, companyLocation)
-                .thenAccept(response -> {
-                    if (response != null && response.routes().length > 0) {
-                        BigDecimal distance = response.routes()[0].summary().distance();
-                        BigDecimal duration = response.routes()[0].summary().duration();
-                        DeliveryRecord finalRecord = DeliveryRecord.create(
-                                deliveryRecordList.get(deliveryRecordList.size() - 1).getArrival(),
-                                delivery.getCompanyId(),
-                                deliveryRecordList.size() + 1,
-                                Duration.ofMillis(duration.longValue()),
-                                distance,
-                                delivery
-                        );
-                        deliveryRecordList.add(finalRecord);
-                    } else {
-                        logger.warn("유효한 경로가 없음");
-                    }
-                }).exceptionally(e -> {
-                    logger.error("addFinalDeliveryRecord failed: {}", e.getMessage(), e);
-                    return null;
-                });
+    // 허브-업체 구간 추가 - 카카오 조회 결과, 실패/초과 시 추정값
+    private void addFinalDeliveryRecord(List<DeliveryRecord> deliveryRecordList, Delivery delivery, LastMileLeg leg) {
+        // 허브 구간이 없는 것은 출발 허브와 도착 허브가 같을 때뿐 - 도달할 수 없는 목적지를 한 구간 배송으로 만들지 않음
+        if (deliveryRecordList.isEmpty() && !delivery.getSourceHubId().equals(delivery.getCompanyId())) {
+            throw new IllegalArgumentException("이동 가능한 경로가 없습니다");
+        }
+
+        UUID lastHubId = deliveryRecordList.isEmpty()
+                ? delivery.getSourceHubId()
+                : deliveryRecordList.get(deliveryRecordList.size() - 1).getArrival();
+        deliveryRecordList.add(DeliveryRecord.create(
+                lastHubId,
+                delivery.getCompanyId(),
+                deliveryRecordList.size() + 1,
+                leg.duration(),
+                leg.distance(),
+                delivery
+        ));
+    }
+
+    // 미리 시작한 카카오 조회를 기한까지 기다림 - 취소는 호출한 쪽에서 (같은 조회를 여러 건이 기다릴 수 있음)
+    private LastMileLeg awaitLastMile(Future<KakaoRouteResponse> lastMile, long deadlineNanos) {
+        long waitStartedAt = System.nanoTime();
+        LastMileLeg leg = waitLastMile(lastMile, deadlineNanos);
+        stageTimer("last_mile_wait").record(System.nanoTime() - waitStartedAt, TimeUnit.NANOSECONDS);
+        return leg;
+    }
+
+    private LastMileLeg waitLastMile(Future<KakaoRouteResponse> lastMile, long deadlineNanos) {
+        String fallbackReason;
+        try {
+            KakaoRouteResponse response = lastMile.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (response != null && response.routes() != null && response.routes().length > 0) {
+                KakaoRouteResponse.Summary summary = response.routes()[0].summary();
+                // 카카오 응답의 거리는 m, 시간은 초 단위
+                return new LastMileLeg(summary.distance(), Duration.ofSeconds(summary.duration().longValue()));
+            }
+            logger.warn("유효한 경로가 없음");
+            fallbackReason = "empty";
+        } catch (TimeoutException e) {
+            fallbackReason = "timeout";
+        } catch (CancellationException e) {
+            fallbackReason = "canceled";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fallbackReason = "interrupted";
+        } catch (ExecutionException e) {
+            logger.warn("last mile route failed: {}", e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+            fallbackReason = e.getCause() instanceof RejectedExecutionException ? "rejected" : "error";
+        }
+        meterRegistry.counter("delivery.last_mile.fallback", "reason", fallbackReason).increment();
+        return estimateLastMile();
+    }
+
+    private LastMileLeg estimateLastMile() {
+        double meters = LAST_HUB_LOCATION.distanceMeters(COMPANY_LOCATION) * lastMileDetourFactor;
+        long seconds = Math.round(meters / (lastMileFallbackSpeedKmh * 1000 / 3600));
+        return new LastMileLeg(BigDecimal.valueOf(Math.round(meters)), Duration.ofSeconds(seconds));
+    }
+
+    private record LastMileLeg(BigDecimal distance, Duration duration) {
+    }
+
+    private Timer stageTimer(String stage) {
+        return meterRegistry.timer("delivery.create.stage", "stage", stage);
     }
 
     private void updateDispatchDeadline(Delivery delivery, List<DeliveryRecord> deliveryRecordList, CreateDeliveryRequest request) {
@@ -158,23 +411,62 @@ public class DeliveryService {
         delivery.setCurrentSeq(0);
         deliveryJpaRepository.save(delivery);
         deliveryRecordsJpaRepository.saveAll(deliveryRecordList);
+        deliveryRecordList.forEach(deliveryRecord -> delivererService.countAssigned(deliveryRecord.getDeliverer()));
+        deliveryEventOutbox.append(DeliveryEventTypeEnum.DELIVERY_CREATED, delivery, null, LocalDateTime.now());
+        dispatchDeadlineScheduler.track(delivery.getDeliveryId(), delivery.getDispatchDeadline());
     }
 
-    // 배송 단건 조회
-    @Transactional(readOnly = true)
+    // 배송 단건 조회 - 캐시 적중 시 DB 연결을 잡지 않도록 트랜잭션 없이 조회
     public ApiResponse<GetDeliveryResponse> getDelivery(UUID deliveryId) {
         // 사용자 권한 및 유효성 체크
 
-        Delivery delivery = findById(deliveryId);
-        if(delivery == null || delivery.isDeleted()) {
+        GetDeliveryResponse response = deliveryDetailCache.get(deliveryId);
+        if(response == null) {
             return new ApiResponse<>(400, "해당하는 배송 정보가 없습니다", null);
         }
 
-        List<DeliveryRecord> deliveryRecordList = deliveryRecordsJpaRepository.findAllByDelivery_DeliveryId(deliveryId);
+        return new ApiResponse<>(200, "배송 정보 조회 성공", response);
+    }
 
-        GetDeliveryResponse response = GetDeliveryResponse.create(delivery, deliveryRecordList);
+    // 배송 목록 조회 - (배송 시한, 배송 ID) 키셋 페이지
+    public ApiResponse<DeliverySearchResponse> searchDeliveries(DeliveryStatusEnum status, UUID sourceHubId,
+                                                                LocalDateTime deadlineBefore, String after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return new ApiResponse<>(400, "페이지 크기는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다", null);
+        }
 
-        return new ApiResponse<>(200, "배송 정보 조회 성공", response);
+        try {
+            DeliveryCursor cursor = after == null || after.isBlank() ? null : DeliveryCursor.decode(after);
+            // 한 건 더 읽어서 다음 페이지가 있는지 확인
+            List<DeliverySummaryResponse> deliveries = deliveryJpaRepository.searchDeliveries(status, sourceHubId, deadlineBefore, cursor, size + 1);
+            String next = null;
+            if (deliveries.size() > size) {
+                deliveries = deliveries.subList(0, size);
+                next = DeliveryCursor.of(deliveries.get(size - 1)).encode();
+            }
+            return new ApiResponse<>(200, "배송 목록 조회 성공", new DeliverySearchResponse(deliveries, next));
+        } catch (IllegalArgumentException e) {
+            return new ApiResponse<>(400, e.getMessage(), null);
+        }
+    }
+
+    // 대체 경로 조회
+    public ApiResponse<AlternativeRoutesResponse> getAlternativeRoutes(UUID startHubId, UUID endHubId, int k, List<UUID> excludedHubIds) {
+        if (k < 1 || k > MAX_ALTERNATIVE_ROUTES) {
+            return new ApiResponse<>(400, "대체 경로 개수는 1 ~ " + MAX_ALTERNATIVE_ROUTES + " 사이여야 합니다", null);
+        }
+
+        try {
+            KShortestPaths.Result result = pathService.findAlternativePaths(
+                    startHubId, endHubId, k, excludedHubIds == null ? List.of() : excludedHubIds);
+            if (result.paths().isEmpty()) {
+                return new ApiResponse<>(400, "이동 가능한 경로가 없습니다", null);
+            }
+            return new ApiResponse<>(200, "대체 경로 조회 성공", AlternativeRoutesResponse.from(result));
+        } catch (Exception e) {
+            logger.error("getAlternativeRoutes failed: {}", e.getMessage(), e);
+            return new ApiResponse<>(500, "대체 경로 조회 실패", null);
+        }
     }
 
     // 배송 경로 배송 담당자 수정
@@ -203,8 +495,14 @@ public class DeliveryService {
             }
 
             // 배송 담당자 변경
+            Deliverer previousDeliverer = existRecord.getDeliverer();
             existRecord.changeDeliverer(existDeliverer);
             deliveryRecordsJpaRepository.save(existRecord);
+            deliveryDetailCache.evict(existRecord.getDelivery().getDeliveryId());
+            if (existRecord.getStatus() != DeliveryRecordsStatusEnum.CANCELED) {
+                delivererService.releaseDeliverer(previousDeliverer);
+                delivererService.reserveDeliverer(existDeliverer);
+            }
 
             return new ApiResponse<>(200, "배송 담당자 변경 성공", null);
 
@@ -221,7 +519,7 @@ public class DeliveryService {
     // 배송 상태 업데이트
     @Transactional
     public ApiResponse<Void> updateDeliveryStatus(UUID deliveryRecordId, UpdateDeliveryStatusRequest request) {
-        DeliveryRecord deliveryRecord = deliveryRecordsJpaRepository.findById(deliveryRecordId)
+        DeliveryRecord deliveryRecord = deliveryRecordsJpaRepository.findWithDeliveryById(deliveryRecordId)
                 .orElseThrow(() -> new IllegalArgumentException("해당하는 배송 경로 정보가 없습니다."));
 
         try {
@@ -229,6 +527,8 @@ public class DeliveryService {
             return new ApiResponse<>(200, "배송 상태 업데이트 완료", null);
         } catch (Exception e) {
             logger.error("Error updating delivery status: {}", e.getMessage(), e);
+            // 실패 응답을 돌려주더라도 일부만 바뀐 상태와 outbox 이벤트가 커밋되지 않도록 롤백
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return new ApiResponse<>(500, "배송 상태 업데이트 실패", null);
         }
     }
@@ -236,38 +536,170 @@ public class DeliveryService {
     private void handleDeliveryStatusUpdate(DeliveryRecord deliveryRecord, UpdateDeliveryStatusRequest request) {
         Delivery delivery = deliveryRecord.getDelivery();
         if (deliveryRecord.getStatus() == DeliveryRecordsStatusEnum.WAIT) {
-            startDelivery(deliveryRecord, delivery);
+            startDelivery(deliveryRecord, delivery, LocalDateTime.now());
+            deliveryRecordsJpaRepository.save(deliveryRecord);
+            // 구간이 출발하면 다음 구간 담당자를 미리 배정
+            assignNextDelivererIfNeeded(deliveryRecord);
         } else if (deliveryRecord.getStatus() == DeliveryRecordsStatusEnum.IN_PROGRESS) {
-            completeDelivery(deliveryRecord, delivery, request);
+            completeDelivery(deliveryRecord, delivery, request.actualDist(), LocalDateTime.now());
+            delivererService.releaseDeliverer(deliveryRecord.getDeliverer());
+            deliveryRecordsJpaRepository.save(deliveryRecord);
         } else {
             throw new IllegalArgumentException("이미 완료된 배송 경로입니다.");
         }
 
-        updateDeliveryStatusIfNeeded(delivery);
-        assignNextDelivererIfNeeded(deliveryRecord);
+        // 버전 검사로 같은 배송의 동시 갱신은 한쪽이 실패
+        deliveryJpaRepository.save(delivery);
     }
 
-    private void startDelivery(DeliveryRecord deliveryRecord, Delivery delivery) {
+    // 배송 상태 일괄 업데이트 (허브 스캐너)
+    // 청크마다 대상 배송 경로/배송을 IN 조회로 한 번에 읽고, 상태 전이는 메모리에서 적용한 뒤 커밋 시 JDBC 배치로 UPDATE
+    public ApiResponse<BatchResponse> updateDeliveryStatuses(List<LegStatusEvent> events) {
+        if (events == null || events.isEmpty() || events.size() > MAX_BATCH_SIZE) {
+            return new ApiResponse<>(400, "한 번에 1 ~ " + MAX_BATCH_SIZE + "건까지 처리할 수 있습니다", null);
+        }
+
+        BatchItemResult[] results = new BatchItemResult[events.size()];
         LocalDateTime now = LocalDateTime.now();
-        deliveryRecord.startDelivery(now);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            LegStatusEvent event = events.get(i);
+            if (event == null || event.deliveryRecordId() == null || event.event() == null) {
+                results[i] = BatchItemResult.failure(i, "필수 값이 없습니다");
+                continue;
+            }
+            order.add(i);
+        }
+        // 같은 배송 경로의 출발/도착이 한 요청에 함께 오면 스캔 시각 순서로 적용
+        order.sort(Comparator.comparing(i -> occurredAt(events.get(i), now)));
+
+        // 청크가 실패하면 (동시 갱신 충돌 등) 해당 청크만 건별로 다시 처리해서 실패 건을 가려냄
+        for (int from = 0; from < order.size(); from += batchChunkSize) {
+            List<Integer> chunk = order.subList(from, Math.min(from + batchChunkSize, order.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyStatusEvents(events, chunk, now, results));
+            } catch (Exception chunkFailure) {
+                logger.warn("updateDeliveryStatuses chunk failed, retrying one by one: {}", chunkFailure.getMessage());
+                for (int i : chunk) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> applyStatusEvents(events, List.of(i), now, results));
+                    } catch (Exception e) {
+                        results[i] = BatchItemResult.failure(i, "배송 상태 저장 실패: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        return new ApiResponse<>(200, "배송 상태 일괄 업데이트 완료", BatchResponse.from(Arrays.asList(results)));
+    }
+
+    private void applyStatusEvents(List<LegStatusEvent> events, List<Integer> indexes, LocalDateTime now, BatchItemResult[] results) {
+        Set<UUID> recordIds = new HashSet<>();
+        indexes.forEach(i -> recordIds.add(events.get(i).deliveryRecordId()));
+
+        Map<UUID, DeliveryRecord> recordsById = new HashMap<>();
+        Set<UUID> deliveryIds = new HashSet<>();
+        for (DeliveryRecord deliveryRecord : deliveryRecordsJpaRepository.findAllWithDeliveryByIdIn(recordIds)) {
+            recordsById.put(deliveryRecord.getDeliveryRecordId(), deliveryRecord);
+            deliveryIds.add(deliveryRecord.getDelivery().getDeliveryId());
+        }
+
+        // 다음 구간 담당자 배정용 - 같은 영속성 컨텍스트라 위에서 읽은 배송 경로는 같은 인스턴스로 돌아옴
+        Map<UUID, Map<Integer, DeliveryRecord>> legsByDelivery = new HashMap<>();
+        for (DeliveryRecord deliveryRecord : deliveryRecordsJpaRepository.findAllByDeliveryIdIn(deliveryIds)) {
+            legsByDelivery.computeIfAbsent(deliveryRecord.getDelivery().getDeliveryId(), k -> new HashMap<>())
+                    .put(deliveryRecord.getSequence(), deliveryRecord);
+        }
+
+        List<HubRoute> hubRoutes = pathService.getHubRoutes();
+        Map<Long, Integer> released = new HashMap<>();
+        Map<Long, Integer> assigned = new HashMap<>();
+        for (int i : indexes) {
+            LegStatusEvent event = events.get(i);
+            try {
+                DeliveryRecord deliveryRecord = recordsById.get(event.deliveryRecordId());
+                if (deliveryRecord == null || deliveryRecord.isDeleted()) {
+                    throw new IllegalArgumentException("해당하는 배송 경로 정보가 없습니다.");
+                }
+                applyStatusEvent(deliveryRecord, event, occurredAt(event, now), hubRoutes,
+                        legsByDelivery.get(deliveryRecord.getDelivery().getDeliveryId()), released, assigned);
+                results[i] = BatchItemResult.success(i, deliveryRecord.getDeliveryRecordId());
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchItemResult.failure(i, e.getMessage());
+            }
+        }
+
+        delivererService.applyLoadChanges(released, assigned);
+    }
+
+    // 검증과 다음 구간 배정을 먼저 끝낸 뒤 상태를 바꿔서, 실패한 건은 엔티티에 흔적이 남지 않음
+    private void applyStatusEvent(DeliveryRecord deliveryRecord, LegStatusEvent event, LocalDateTime at, List<HubRoute> hubRoutes,
+                                  Map<Integer, DeliveryRecord> legs, Map<Long, Integer> released, Map<Long, Integer> assigned) {
+        Delivery delivery = deliveryRecord.getDelivery();
+        if (event.event() == LegStatusEvent.Type.START) {
+            if (deliveryRecord.getStatus() != DeliveryRecordsStatusEnum.WAIT) {
+                throw new IllegalArgumentException("출발 대기 중인 배송 경로가 아닙니다.");
+            }
+            DeliveryRecord nextRecord = legs.get(deliveryRecord.getSequence() + 1);
+            Deliverer nextDeliverer = null;
+            if (nextRecord != null && nextRecord.getDeliverer() == null) {
+                nextDeliverer = nextRecord.getSequence().equals(delivery.getTotalSequence())
+                        ? delivererService.assignCompanyDeliverer(nextRecord.getDepartures())
+                        : assignHubLegDeliverer(hubRoutes, nextRecord.getDepartures());
+            }
+
+            startDelivery(deliveryRecord, delivery, at);
+            if (nextDeliverer != null && assignIfUnassigned(nextRecord, nextDeliverer)) {
+                assigned.merge(nextDeliverer.getDelivererId(), 1, Integer::sum);
+            }
+        } else {
+            if (deliveryRecord.getStatus() != DeliveryRecordsStatusEnum.IN_PROGRESS) {
+                throw new IllegalArgumentException("이동 중인 배송 경로가 아닙니다.");
+            }
+            if (at.isBefore(deliveryRecord.getStartAt())) {
+                throw new IllegalArgumentException("도착 시각이 출발 시각보다 빠릅니다.");
+            }
+
+            completeDelivery(deliveryRecord, delivery, event.actualDist(), at);
+            if (deliveryRecord.getDeliverer() != null) {
+                released.merge(deliveryRecord.getDeliverer().getDelivererId(), 1, Integer::sum);
+            }
+        }
+    }
+
+    private static LocalDateTime occurredAt(LegStatusEvent event, LocalDateTime now) {
+        return event.occurredAt() == null ? now : event.occurredAt();
+    }
+
+    private void startDelivery(DeliveryRecord deliveryRecord, Delivery delivery, LocalDateTime startAt) {
+        deliveryRecord.startDelivery(startAt);
 
         if (deliveryRecord.getSequence() == 1) {
-            delivery.setStartAt(now);
+            delivery.setStartAt(startAt);
             delivery.setCurrentSeq(1);
             if(delivery.getStatus() == DeliveryStatusEnum.HUB_ARRIVED) {
                 delivery.setStatus(DeliveryStatusEnum.IN_DELIVERY);
             } else {
                 delivery.setStatus(DeliveryStatusEnum.HUB_MOVE);
             }
+            dispatchDeadlineScheduler.untrack(delivery.getDeliveryId());
         }
-        deliveryRecordsJpaRepository.save(deliveryRecord);
+        deliveryEventOutbox.append(DeliveryEventTypeEnum.LEG_STARTED, delivery, deliveryRecord, startAt);
+        deliveryDetailCache.evict(delivery.getDeliveryId());
     }
 
-    private void completeDelivery(DeliveryRecord deliveryRecord, Delivery delivery, UpdateDeliveryStatusRequest request) {
-        LocalDateTime now = LocalDateTime.now();
-        deliveryRecord.endDelivery(now, request.actualDist());
+    private void completeDelivery(DeliveryRecord deliveryRecord, Delivery delivery, BigDecimal actualDist, LocalDateTime endAt) {
+        deliveryRecord.endDelivery(endAt, actualDist);
 
-        if (deliveryRecord.getSequence() == delivery.getTotalSequence()) {
+        // 허브-허브 구간이면 시간대별 소요 시간 프로필 갱신
+        if (deliveryRecord.getSequence() < delivery.getTotalSequence()) {
+            legTimeProfileService.record(deliveryRecord.getDepartures(), deliveryRecord.getArrival(),
+                    deliveryRecord.getStartAt(), deliveryRecord.getActualTime());
+        }
+
+        // 완료 구간 수로 배송 완료 여부 판단 (배송 경로 전체 조회 없음)
+        boolean allCompleted = delivery.completeLeg();
+        if (allCompleted || deliveryRecord.getSequence().equals(delivery.getTotalSequence())) {
             delivery.setStatus(DeliveryStatusEnum.DONE);
         } else {
             if(delivery.getTotalSequence() - deliveryRecord.getSequence() == 1) {
@@ -275,18 +707,12 @@ public class DeliveryService {
             }
             delivery.setCurrentSeq(deliveryRecord.getSequence() +1 );
         }
-        deliveryRecordsJpaRepository.save(deliveryRecord);
-    }
 
-    private void updateDeliveryStatusIfNeeded(Delivery delivery) {
-        boolean allCompleted = deliveryRecordsJpaRepository.findAllByDelivery_DeliveryId(delivery.getDeliveryId())
-                .stream()
-                .allMatch(deliveryRecord -> deliveryRecord.getStatus() == DeliveryRecordsStatusEnum.COMPLETED);
-
-        if (allCompleted) {
-            delivery.setStatus(DeliveryStatusEnum.DONE);
+        deliveryEventOutbox.append(DeliveryEventTypeEnum.LEG_COMPLETED, delivery, deliveryRecord, endAt);
+        deliveryDetailCache.evict(delivery.getDeliveryId());
+        if (delivery.getStatus() == DeliveryStatusEnum.DONE) {
+            deliveryEventOutbox.append(DeliveryEventTypeEnum.DELIVERY_COMPLETED, delivery, deliveryRecord, endAt);
         }
-        deliveryJpaRepository.save(delivery);
     }
 
     private void assignNextDelivererIfNeeded(DeliveryRecord currentRecord) {
@@ -294,7 +720,7 @@ public class DeliveryService {
         Optional<DeliveryRecord> nextRecordOpt = deliveryRecordsJpaRepository
                 .findByDeliveryIdAndSequence(currentRecord.getDelivery().getDeliveryId(), nextSequence);
 
-        nextRecordOpt.ifPresent(nextRecord -> {
+        nextRecordOpt.filter(nextRecord -> nextRecord.getDeliverer() == null).ifPresent(nextRecord -> {
             UUID departureHubId = nextRecord.getDepartures();
             Deliverer nextDeliverer;
 
@@ -303,15 +729,34 @@ public class DeliveryService {
                 nextDeliverer = delivererService.assignCompanyDeliverer(departureHubId);
             } else {
                 // 허브-허브 배송
-                Map<UUID, Double> distances = pathService.calculateDistancesFromHub(pathService.getHubRoutes(), departureHubId);
-                nextDeliverer = delivererService.assignHubDeliverer(distances);
+                nextDeliverer = assignHubLegDeliverer(pathService.getHubRoutes(), departureHubId);
             }
 
-            nextRecord.assignDeliverer(nextDeliverer);
-            deliveryRecordsJpaRepository.save(nextRecord);
+            if (nextDeliverer != null && assignIfUnassigned(nextRecord, nextDeliverer)) {
+                delivererService.countAssigned(nextDeliverer);
+            }
         });
     }
 
+    // 담당자가 비어 있을 때만 배정 (조건부 UPDATE) - 배정 창 등 다른 트랜잭션이 먼저 배정했으면 고른 담당자의 미확정 배정을 되돌림
+    private boolean assignIfUnassigned(DeliveryRecord deliveryRecord, Deliverer deliverer) {
+        if (deliveryRecordsJpaRepository.assignDelivererIfUnassigned(deliveryRecord.getDeliveryRecordId(), deliverer) == 0) {
+            delivererService.cancelReservation(deliverer);
+            return false;
+        }
+        // 같은 영속성 컨텍스트에서 이후 완료 처리 시 담당자를 읽을 수 있도록 엔티티에도 반영
+        deliveryRecord.assignDeliverer(deliverer);
+        return true;
+    }
+
+    // 창 단위 일괄 배정을 쓰면 허브-허브 구간은 비워 두고 다음 배정 창에서 배정
+    private Deliverer assignHubLegDeliverer(List<HubRoute> hubRoutes, UUID departureHubId) {
+        if (assignmentWindowService.isEnabled()) {
+            return null;
+        }
+        return delivererService.assignHubDeliverer(pathService.calculateDistancesToHub(hubRoutes, departureHubId));
+    }
+
     // 배송 취소 요청
     @Transactional
     public ApiResponse<Void> cancleDelivery(UUID deliveryId) {
@@ -329,13 +774,18 @@ public class DeliveryService {
 
         delivery.setStatus(DeliveryStatusEnum.CANCELED);
         List<DeliveryRecord> records = deliveryRecordsJpaRepository.findAllByDelivery_DeliveryId(deliveryId);
+        releaseActiveDeliverers(records);
         records.forEach(DeliveryRecord::cancelDelivery);
         deliveryRecordsJpaRepository.saveAll(records);
         deliveryJpaRepository.save(delivery);
+        deliveryEventOutbox.append(DeliveryEventTypeEnum.DELIVERY_CANCELED, delivery, null, LocalDateTime.now());
+        deliveryDetailCache.evict(deliveryId);
+        dispatchDeadlineScheduler.untrack(deliveryId);
         return new ApiResponse<>(200, "배송 취소 성공", null);
     }
 
     // 배송 삭제 요청
+    @Transactional
     public ApiResponse<Void> deleteDelivery(UUID deliveryId) {
         Delivery delivery = findById(deliveryId);
         if(delivery == null || delivery.isDeleted()) {
@@ -345,15 +795,27 @@ public class DeliveryService {
             return new ApiResponse<>(400, "진행중인 배송입니다", null);
         }
         List<DeliveryRecord> records = deliveryRecordsJpaRepository.findAllByDelivery_DeliveryId(deliveryId);
+        releaseActiveDeliverers(records);
         records.forEach(deliveryRecord -> deliveryRecord.deleteBase("temp_username"));
         deliveryRecordsJpaRepository.saveAll(records);
 
         delivery.deleteBase("temp_username");
         deliveryJpaRepository.save(delivery);
+        deliveryEventOutbox.append(DeliveryEventTypeEnum.DELIVERY_DELETED, delivery, null, LocalDateTime.now());
+        deliveryDetailCache.evict(deliveryId);
+        dispatchDeadlineScheduler.untrack(deliveryId);
 
         return new ApiResponse<>(200, "배송 정보 삭제 성공", null);
     }
 
+    // 대기/이동 중인 배송 경로의 담당자 배정분 해제
+    private void releaseActiveDeliverers(List<DeliveryRecord> records) {
+        records.stream()
+                .filter(deliveryRecord -> deliveryRecord.getStatus() == DeliveryRecordsStatusEnum.WAIT
+                        || deliveryRecord.getStatus() == DeliveryRecordsStatusEnum.IN_PROGRESS)
+                .forEach(deliveryRecord -> delivererService.releaseDeliverer(deliveryRecord.getDeliverer()));
+    }
+
     private Delivery findById(UUID deliveryId){
         return deliveryJpaRepository.findByDeliveryId(deliveryId).orElse(null);
     }
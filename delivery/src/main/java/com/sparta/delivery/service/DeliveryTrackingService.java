@@ -0,0 +1,245 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.dto.GetDeliveryResponse;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 배송 실시간 추적 (SSE)
+// 구독 시 현재 상태를 한 번 보내고, 이후 배송 변경(DeliveryChangedEvent)마다 갱신된 상태를 보낸다
+// 구독자는 서블릿 비동기 응답으로 유지되어 요청 스레드를 점유하지 않고,
+// 상태는 조회 캐시(로컬 캐시 적중)에서 읽어 보낸다 (구독자 수만큼 DB 조회하지 않음)
+// 구독자별로 보낼 것을 합쳐 두고 한 번에 한 전송 스레드만 보내므로, 느린 구독자는 자기 갱신만 늦어지고 대기열은 구독자 수를 넘지 않는다
+@Service
+public class DeliveryTrackingService {
+
+    public static final String DELIVERY_EVENT = "delivery";
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryTrackingService.class);
+
+    private final DeliveryDetailCache deliveryDetailCache;
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    // 느린 구독자 전송이 변경을 커밋한 요청/알림 수신 스레드를 막지 않도록 별도 스레드에서 전송
+    // 대기열이 차면 이번 전송은 건너뛰고, 구독자에 남은 표시로 다음 변경/하트비트 때 최신 상태를 보냄
+    private final ThreadPoolExecutor executor;
+    private final Counter droppedCounter;
+    private final Counter slowEvictedCounter;
+
+    @Value("${delivery.tracking.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${delivery.tracking.emitter-timeout:30m}")
+    private Duration emitterTimeout;
+
+    // 한 번 전송에 이보다 오래 걸린 구독자는 연결을 끊음 - 전송 스레드를 계속 붙잡지 않도록 (브라우저 EventSource 는 자동 재연결)
+    @Value("${delivery.tracking.slow-send-threshold:1s}")
+    private Duration slowSendThreshold;
+
+    public DeliveryTrackingService(DeliveryDetailCache deliveryDetailCache,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${delivery.tracking.sender-threads:4}") int senderThreads,
+                                   @Value("${delivery.tracking.send-queue-capacity:10000}") int sendQueueCapacity) {
+        this.deliveryDetailCache = deliveryDetailCache;
+        this.executor = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(sendQueueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "delivery-tracking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.droppedCounter = meterRegistry.counter("delivery.tracking.send.dropped");
+        this.slowEvictedCounter = meterRegistry.counter("delivery.tracking.slow_evicted");
+        meterRegistry.gauge("delivery.tracking.subscribers", subscriberCount);
+    }
+
+    // 없는 배송이면 null, 구독자 수 한도를 넘으면 IllegalStateException
+    // 구독자로 먼저 등록한 뒤 존재 여부를 확인 - 등록 전 변경을 놓치지 않도록
+    // 첫 상태도 구독자 전송 순서 안에서 보낼 때 캐시를 다시 읽으므로, 먼저 나간 최신 상태를 오래된 상태로 덮어쓰지 않음
+    public SseEmitter subscribe(UUID deliveryId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("실시간 추적 구독자 수가 한도를 넘었습니다");
+        }
+
+        Subscriber subscriber = new Subscriber(deliveryId, new SseEmitter(emitterTimeout.toMillis()));
+        // 마지막 구독자가 빠지며 목록이 지워지는 것과 겹쳐도 유실되지 않도록 맵 안에서 추가
+        subscribers.compute(deliveryId, (k, registered) -> {
+            Set<Subscriber> updated = registered == null ? new CopyOnWriteArraySet<>() : registered;
+            updated.add(subscriber);
+            return updated;
+        });
+
+        GetDeliveryResponse snapshot;
+        try {
+            snapshot = deliveryDetailCache.get(deliveryId);
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+        if (snapshot == null) {
+            unsubscribe(subscriber);
+            return null;
+        }
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitter.complete());
+
+        // 구독 직후 현재 상태 전송 - 이미 끝난 배송이면 보낸 뒤 종료
+        subscriber.offerState();
+        return emitter;
+    }
+
+    @EventListener
+    public void onDeliveryChanged(DeliveryChangedEvent event) {
+        for (UUID deliveryId : event.deliveryIds()) {
+            Set<Subscriber> registered = subscribers.get(deliveryId);
+            if (registered != null) {
+                registered.forEach(Subscriber::offerState);
+            }
+        }
+    }
+
+    // 프록시/로드밸런서의 유휴 연결 종료 방지 - 구독자마다 하나, 보낼 상태가 이미 있으면 그것으로 대신함
+    @Scheduled(fixedDelayString = "${delivery.tracking.heartbeat-interval:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(registered -> registered.forEach(Subscriber::offerHeartbeat));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        subscribers.values().forEach(registered -> registered.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.deliveryId, (k, registered) -> {
+            if (registered.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return registered.isEmpty() ? null : registered;
+        });
+    }
+
+    private static boolean isFinished(GetDeliveryResponse snapshot) {
+        DeliveryStatusEnum status = snapshot.delivery().status();
+        return status == DeliveryStatusEnum.DONE || status == DeliveryStatusEnum.CANCELED;
+    }
+
+    // 구독자별 전송 상태 - 보낼 것은 표시만 해 두고 (합쳐짐), 전송 스레드는 구독자당 하나만 돌면서 보낼 때 최신 상태를 읽는다
+    private final class Subscriber {
+        private final UUID deliveryId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean stateChanged;
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(UUID deliveryId, SseEmitter emitter) {
+            this.deliveryId = deliveryId;
+            this.emitter = emitter;
+        }
+
+        private void offerState() {
+            stateChanged = true;
+            schedule();
+        }
+
+        private void offerHeartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                droppedCounter.increment();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (stateChanged || heartbeatDue) {
+                    if (stateChanged) {
+                        // 상태를 보내면 하트비트는 필요 없음
+                        stateChanged = false;
+                        heartbeatDue = false;
+                        sendState();
+                    } else {
+                        heartbeatDue = false;
+                        send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // 마지막 확인 뒤 scheduled 를 내리기 전에 들어온 표시
+            if (stateChanged || heartbeatDue) {
+                schedule();
+            }
+        }
+
+        private void sendState() {
+            GetDeliveryResponse snapshot;
+            try {
+                snapshot = deliveryDetailCache.get(deliveryId);
+            } catch (Exception e) {
+                logger.warn("delivery tracking publish failed: deliveryId={}, {}", deliveryId, e.getMessage());
+                return;
+            }
+            // 삭제된 배송이면 상태 없이 종료
+            if (snapshot != null) {
+                send(SseEmitter.event().id(deliveryId.toString()).name(DELIVERY_EVENT).data(snapshot));
+            }
+            if (snapshot == null || isFinished(snapshot)) {
+                emitter.complete();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            long startedAt = System.nanoTime();
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                emitter.complete();
+                return;
+            }
+            if (System.nanoTime() - startedAt > slowSendThreshold.toNanos()) {
+                slowEvictedCounter.increment();
+                emitter.complete();
+            }
+        }
+    }
+}
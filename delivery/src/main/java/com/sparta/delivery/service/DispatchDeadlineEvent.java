@@ -0,0 +1,17 @@
+package com.sparta.delivery.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// 출발 전 배송의 배송 시한 임박/초과
+public record DispatchDeadlineEvent(
+        UUID deliveryId,
+        Type type,
+        LocalDateTime dispatchDeadline
+) {
+
+    public enum Type {
+        AT_RISK, // 시한 임박 (delivery.dispatch-deadline.at-risk-lead 전)
+        OVERDUE // 시한 초과
+    }
+}
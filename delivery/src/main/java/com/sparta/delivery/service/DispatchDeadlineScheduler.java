@@ -0,0 +1,192 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.dto.PendingDispatchRow;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+import com.sparta.delivery.repository.DeliveriesJpaRepository;
+import com.sparta.delivery.service.DispatchDeadlineEvent.Type;
+import com.sparta.delivery.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 출발 전 배송의 배송 시한 감시
+// 시작 시 출발 전 배송을 한 번 읽어 타이밍 휠에 올리고, 이후에는 생성/취소/삭제/첫 구간 출발 시에만 갱신한다 (DB 주기 조회 없음)
+// 시한 at-risk-lead 전에 AT_RISK, 시한이 지나면 OVERDUE 를 DispatchDeadlineEvent 로 알린다 (tick 간격 안에)
+// 휠에는 배송당 항목 하나만 있어 메모리는 출발 전 배송 수에 비례
+// 인스턴스마다 자기가 처리한 변경만 반영하므로 기본은 꺼 두고, 여러 인스턴스 운영 시에는 한 인스턴스에서만 켠다
+// (모든 인스턴스에서 켜면 같은 배송의 알림이 인스턴스 수만큼 나가고, 다른 인스턴스가 출발 처리한 배송도 알림이 나감)
+@Service
+public class DispatchDeadlineScheduler {
+
+    // 첫 구간 출발 전 상태 (업체 배송 한 구간뿐인 배송은 생성 시 HUB_ARRIVED)
+    public static final List<DeliveryStatusEnum> PENDING_STATUSES =
+            List.of(DeliveryStatusEnum.HUB_WAIT, DeliveryStatusEnum.HUB_ARRIVED);
+
+    private static final Logger logger = LoggerFactory.getLogger(DispatchDeadlineScheduler.class);
+    private static final int WHEEL_LEVELS = 4;
+
+    private final DeliveriesJpaRepository deliveriesJpaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimingWheel<UUID, Pending> wheel;
+    private final ScheduledExecutorService ticker;
+    private final long tickMillis;
+
+    private final Counter atRiskCounter;
+    private final Counter overdueCounter;
+
+    // 적재 쿼리 이후 취소/출발한 배송 - 적재 결과로 다시 올리지 않도록 (적재 중에만 사용)
+    private Set<UUID> untrackedWhileLoading;
+
+    @Value("${delivery.dispatch-deadline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${delivery.dispatch-deadline.at-risk-lead:30m}")
+    private Duration atRiskLead;
+
+    public DispatchDeadlineScheduler(DeliveriesJpaRepository deliveriesJpaRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${delivery.dispatch-deadline.tick:100ms}") Duration tick) {
+        this.deliveriesJpaRepository = deliveriesJpaRepository;
+        this.eventPublisher = eventPublisher;
+        this.tickMillis = tick.toMillis();
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_LEVELS, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dispatch-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.atRiskCounter = meterRegistry.counter("delivery.dispatch_deadline.events", "type", "at_risk");
+        this.overdueCounter = meterRegistry.counter("delivery.dispatch_deadline.events", "type", "overdue");
+        meterRegistry.gauge("delivery.dispatch_deadline.pending", this, DispatchDeadlineScheduler::pendingCount);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            untrackedWhileLoading = new HashSet<>();
+        }
+        List<PendingDispatchRow> rows = deliveriesJpaRepository.findPendingDispatches(PENDING_STATUSES);
+        synchronized (this) {
+            for (PendingDispatchRow row : rows) {
+                // 적재 중에 새로 등록된 배송은 등록된 값 유지
+                if (!untrackedWhileLoading.contains(row.deliveryId()) && !wheel.contains(row.deliveryId())) {
+                    schedule(row.deliveryId(), row.dispatchDeadline());
+                }
+            }
+            untrackedWhileLoading = null;
+        }
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        logger.info("dispatch deadlines loaded: {}", rows.size());
+    }
+
+    // 배송 생성 - 커밋 후 등록
+    public void track(UUID deliveryId, LocalDateTime dispatchDeadline) {
+        if (enabled && deliveryId != null && dispatchDeadline != null) {
+            afterCommit(() -> {
+                synchronized (this) {
+                    schedule(deliveryId, dispatchDeadline);
+                }
+            });
+        }
+    }
+
+    // 첫 구간 출발/취소/삭제 - 커밋 후 해제
+    public void untrack(UUID deliveryId) {
+        if (enabled && deliveryId != null) {
+            afterCommit(() -> {
+                synchronized (this) {
+                    wheel.cancel(deliveryId);
+                    if (untrackedWhileLoading != null) {
+                        untrackedWhileLoading.add(deliveryId);
+                    }
+                }
+            });
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    void tick() {
+        List<DispatchDeadlineEvent> events = new ArrayList<>();
+        try {
+            synchronized (this) {
+                wheel.advance(System.currentTimeMillis(), (deliveryId, pending) -> {
+                    events.add(new DispatchDeadlineEvent(deliveryId, pending.next(), pending.dispatchDeadline()));
+                    // 임박 알림 후에는 시한 초과 시각으로 다시 등록
+                    if (pending.next() == Type.AT_RISK) {
+                        wheel.schedule(deliveryId, new Pending(pending.dispatchDeadline(), Type.OVERDUE),
+                                toEpochMillis(pending.dispatchDeadline()));
+                    }
+                });
+            }
+            // 리스너는 잠금 밖에서 호출
+            for (DispatchDeadlineEvent event : events) {
+                (event.type() == Type.AT_RISK ? atRiskCounter : overdueCounter).increment();
+                logger.warn("dispatch deadline {}: deliveryId={}, deadline={}",
+                        event.type(), event.deliveryId(), event.dispatchDeadline());
+                eventPublisher.publishEvent(event);
+            }
+        } catch (Exception e) {
+            // 예외가 나가면 이후 실행이 멈추므로 여기서 끊음
+            logger.error("dispatch deadline tick failed: events={}", events.size(), e);
+        }
+    }
+
+    // 이미 시한이 지났으면 임박 알림 없이 바로 초과
+    private void schedule(UUID deliveryId, LocalDateTime dispatchDeadline) {
+        long deadlineMillis = toEpochMillis(dispatchDeadline);
+        if (System.currentTimeMillis() >= deadlineMillis) {
+            wheel.schedule(deliveryId, new Pending(dispatchDeadline, Type.OVERDUE), deadlineMillis);
+        } else {
+            wheel.schedule(deliveryId, new Pending(dispatchDeadline, Type.AT_RISK), deadlineMillis - atRiskLead.toMillis());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Pending(LocalDateTime dispatchDeadline, Type next) {
+    }
+}
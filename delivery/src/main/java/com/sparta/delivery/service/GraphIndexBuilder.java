@@ -0,0 +1,79 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.graph.HubGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// 허브 그래프로 만드는 경로 탐색용 전처리 구조(최단 경로 테이블, 축약 계층)의 백그라운드 빌더
+// 새 그래프 버전이 들어오면 전용 스레드에서 만들고, 완료되면 한 번에 교체 (그동안은 이전 구조 또는 그래프 탐색 사용)
+final class GraphIndexBuilder<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphIndexBuilder.class);
+
+    private final String name;
+    private final Function<HubGraph, T> builder;
+    private final ToLongFunction<T> versionOf;
+    private final AtomicReference<T> built = new AtomicReference<>();
+    private final AtomicLong requestedVersion = new AtomicLong();
+    private final ExecutorService executor;
+
+    GraphIndexBuilder(String name, Function<HubGraph, T> builder, ToLongFunction<T> versionOf) {
+        this.name = name;
+        this.builder = builder;
+        this.versionOf = versionOf;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void refresh(HubGraph graph) {
+        long version = graph.version();
+        if (requestedVersion.getAndAccumulate(version, Math::max) >= version) {
+            return;
+        }
+
+        executor.execute(() -> {
+            // 대기하는 동안 더 새로운 그래프가 요청되었으면 건너뜀
+            if (requestedVersion.get() != version) {
+                return;
+            }
+            try {
+                long startedAt = System.nanoTime();
+                T next = builder.apply(graph);
+                built.accumulateAndGet(next, (current, candidate) ->
+                        current == null || versionOf.applyAsLong(current) < versionOf.applyAsLong(candidate) ? candidate : current);
+                logger.info("{} built: version={}, hubs={}, took={}ms",
+                        name, version, graph.hubCount(), (System.nanoTime() - startedAt) / 1_000_000);
+            } catch (Exception e) {
+                logger.error("{} build failed: version={}", name, version, e);
+            }
+        });
+    }
+
+    // 그래프와 같은 버전이 준비된 경우에만 반환
+    T builtFor(HubGraph graph) {
+        T current = built.get();
+        return current != null && versionOf.applyAsLong(current) == graph.version() ? current : null;
+    }
+
+    T current() {
+        return built.get();
+    }
+
+    long requestedVersion() {
+        return requestedVersion.get();
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
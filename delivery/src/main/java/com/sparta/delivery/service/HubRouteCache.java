@@ -0,0 +1,141 @@
+package com.sparta.delivery.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.graph.HubGraph;
+import com.sparta.delivery.graph.HubRouteSnapshot;
+import com.sparta.delivery.util.HubRouteSnapshotCodec;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 허브 경로 로컬 캐시
+// 처음 한 번 Redis 에서 읽어 컴파일해 두고, core 의 변경 알림(pub/sub)이나
+// 주기적인 버전 확인에서 버전이 바뀐 경우에만 다시 읽는다
+@Service
+@RequiredArgsConstructor
+public class HubRouteCache implements MessageListener {
+
+    public static final String HUB_ROUTES_KEY = "hub_routes";
+    public static final String HUB_ROUTES_SNAPSHOT_KEY = "hub_routes:snapshot";
+    public static final String HUB_ROUTES_VERSION_KEY = "hub_routes:version";
+    public static final String HUB_ROUTES_CHANGED_CHANNEL = "hub_routes:changed";
+
+    private static final Logger logger = LoggerFactory.getLogger(HubRouteCache.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ShortestPathTableService shortestPathTableService;
+    private final ContractionHierarchyService contractionHierarchyService;
+
+    private final AtomicReference<HubRouteSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong graphVersion = new AtomicLong();
+
+    // 현재 스냅샷, 아직 없으면 한 번 적재 시도
+    public HubRouteSnapshot current() {
+        HubRouteSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        return reload(readVersion());
+    }
+
+    // core 의 변경 알림 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        long version = parseVersion(new String(message.getBody()));
+        logger.info("hub routes changed: version={}", version);
+        refreshIfChanged(version);
+    }
+
+    // 알림 유실 대비 주기적 버전 확인
+    @Scheduled(fixedDelayString = "${delivery.hub-routes.version-check-interval:30000}")
+    public void checkVersion() {
+        try {
+            refreshIfChanged(readVersion());
+        } catch (Exception e) {
+            logger.warn("hub routes version check failed: {}", e.getMessage());
+        }
+    }
+
+    private void refreshIfChanged(long version) {
+        HubRouteSnapshot current = snapshot.get();
+        if (current == null || current.routeVersion() != version) {
+            reload(version);
+        }
+    }
+
+    private synchronized HubRouteSnapshot reload(long version) {
+        // 다른 스레드가 이미 같은 버전을 적재했으면 그대로 사용
+        HubRouteSnapshot current = snapshot.get();
+        if (current != null && current.routeVersion() == version) {
+            return current;
+        }
+
+        HubRouteSnapshotCodec.Snapshot decoded = readSnapshot(version);
+        if (decoded == null) {
+            return current;
+        }
+
+        HubGraph graph = HubGraph.compile(graphVersion.incrementAndGet(), decoded.routes());
+        HubRouteSnapshot loaded = new HubRouteSnapshot(decoded.routeVersion(), graph, LocalDateTime.now());
+        snapshot.set(loaded);
+        shortestPathTableService.refresh(graph);
+        contractionHierarchyService.refresh(graph);
+
+        logger.info("hub routes loaded: version={}, hubs={}, routes={}",
+                loaded.routeVersion(), graph.hubCount(), graph.edgeCount());
+        return loaded;
+    }
+
+    // 바이너리 스냅샷 우선, 없으면 기존 JSON 데이터 사용
+    private HubRouteSnapshotCodec.Snapshot readSnapshot(long version) {
+        byte[] snapshotBytes = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands()
+                .get(HUB_ROUTES_SNAPSHOT_KEY.getBytes(StandardCharsets.UTF_8)));
+        if (snapshotBytes != null) {
+            return HubRouteSnapshotCodec.decode(snapshotBytes);
+        }
+
+        List<HubRoute> hubRoutes = readJsonHubRoutes();
+        return hubRoutes == null ? null : new HubRouteSnapshotCodec.Snapshot(version, hubRoutes);
+    }
+
+    private List<HubRoute> readJsonHubRoutes() {
+        try {
+            String hubRoutesJson = redisTemplate.opsForValue().get(HUB_ROUTES_KEY);
+            if (Objects.isNull(hubRoutesJson)) {
+                return null;
+            }
+            return List.copyOf(objectMapper.readValue(hubRoutesJson, new TypeReference<List<HubRoute>>() {}));
+        } catch (Exception e) {
+            throw new RuntimeException("레디스 조회 실패", e);
+        }
+    }
+
+    private long readVersion() {
+        return parseVersion(redisTemplate.opsForValue().get(HUB_ROUTES_VERSION_KEY));
+    }
+
+    // 버전 키가 아직 없으면 0
+    private long parseVersion(String version) {
+        try {
+            return version == null ? 0L : Long.parseLong(version.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -2,53 +2,104 @@ package com.sparta.delivery.service;
 
 import com.sparta.delivery.dto.KakaoRouteResponse;
 import com.sparta.delivery.util.Point;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.*;
 
 
+// 카카오 모빌리티 길찾기 호출
+// 호출은 동시 실행 수와 대기열이 제한된 전용 스레드 풀에서 실행 - 한도를 넘으면 바로 실패한 future 를 돌려주고 호출 측이 추정값을 쓴다
 @Service
 public class KakaoMapService {
 
-    @Value("${kakao.api.key}")
-    private String kakaoApiKey;
+    private final String kakaoApiKey;
+    private final RestTemplate restTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Timer requestTimer;
 
-    @Async
-    public CompletableFuture<KakaoRouteResponse> getRouteAsync(Point origin, Point destination) {
+    public KakaoMapService(@Value("${kakao.api.key}") String kakaoApiKey,
+                           @Value("${kakao.api.max-concurrency:16}") int maxConcurrency,
+                           @Value("${kakao.api.queue-capacity:200}") int queueCapacity,
+                           @Value("${kakao.api.connect-timeout:1s}") Duration connectTimeout,
+                           @Value("${kakao.api.read-timeout:3s}") Duration readTimeout,
+                           MeterRegistry meterRegistry) {
+        this.kakaoApiKey = kakaoApiKey;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "kakao-map");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.requestTimer = meterRegistry.timer("delivery.last_mile.kakao");
+        meterRegistry.gauge("delivery.last_mile.kakao.queue", executor.getQueue(), BlockingQueue::size);
+    }
+
+    // 풀에 직접 넣은 작업의 Future - 취소하면 대기 중인 작업은 실행되지 않고, 실행 중인 호출 스레드는 인터럽트
+    public Future<KakaoRouteResponse> getRouteAsync(Point origin, Point destination) {
         try {
-            String url = UriComponentsBuilder.newInstance()
-                    .scheme("https")
-                    .host("apis-navi.kakaomobility.com")
-                    .path("/v1/directions")
-                    .queryParam("origin", origin.getLongitude() + "," + origin.getLatitude())
-                    .queryParam("destination", destination.getLongitude() + "," + destination.getLatitude())
-                    .queryParam("priority", "SHORTEST")
-                    .build()
-                    .toUriString();
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "KakaoAK " + kakaoApiKey);
-
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<KakaoRouteResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    new HttpEntity<>(headers),
-                    KakaoRouteResponse.class
-            );
-
-            return CompletableFuture.completedFuture(response.getBody());
-        } catch (Exception e) {
+            return executor.submit(() -> requestTimer.record(() -> getRoute(origin, destination)));
+        } catch (RejectedExecutionException e) {
             return CompletableFuture.failedFuture(e);
         }
     }
 
+    // 더 기다리지 않는 조회 취소 - 취소된 작업이 대기열 자리를 차지하지 않도록 한 번에 비움
+    public void cancel(Collection<? extends Future<?>> routes) {
+        boolean canceled = false;
+        for (Future<?> route : routes) {
+            canceled |= route.cancel(true);
+        }
+        if (canceled) {
+            executor.purge();
+        }
+    }
+
+    private KakaoRouteResponse getRoute(Point origin, Point destination) {
+        String url = UriComponentsBuilder.newInstance()
+                .scheme("https")
+                .host("apis-navi.kakaomobility.com")
+                .path("/v1/directions")
+                .queryParam("origin", origin.getLongitude() + "," + origin.getLatitude())
+                .queryParam("destination", destination.getLongitude() + "," + destination.getLatitude())
+                .queryParam("priority", "SHORTEST")
+                .build()
+                .toUriString();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "KakaoAK " + kakaoApiKey);
+
+        ResponseEntity<KakaoRouteResponse> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                KakaoRouteResponse.class
+        );
+        return response.getBody();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
 }
@@ -0,0 +1,146 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.entity.LegTimeProfile;
+import com.sparta.delivery.graph.EdgeTravelTime;
+import com.sparta.delivery.graph.HubGraph;
+import com.sparta.delivery.repository.LegTimeProfilesJpaRepository;
+import com.sparta.delivery.repository.LegTimeSampleRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 완료된 구간의 실제 소요 시간으로 만드는 구간별 요일-시간대 프로필
+// 구간이 완료될 때마다 해당 시간대 평균만 갱신하고, 시작 시에는 프로필 테이블만 읽는다 (배송 이력 전체 조회 없음)
+@Service
+@RequiredArgsConstructor
+public class LegTimeProfileService {
+
+    // 이 표본 수 이상 쌓인 시간대만 사용, 그 전에는 정적 예상 시간 사용
+    private static final int MIN_SAMPLES = 3;
+    // 평균 갱신 시 최대 가중치 - 오래된 표본의 영향이 점점 줄어듦
+    private static final int MAX_WEIGHT = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(LegTimeProfileService.class);
+
+    private final LegTimeProfilesJpaRepository legTimeProfilesJpaRepository;
+    private final LegTimeSampleRepository legTimeSampleRepository;
+
+    private final Map<LegKey, Profile> profiles = new ConcurrentHashMap<>();
+    // 프로필이 새로 생길 때마다 증가 - 그래프별 간선 배열 재구성 판단용
+    private final AtomicLong structureVersion = new AtomicLong();
+    private final AtomicReference<EdgeProfiles> edgeProfiles = new AtomicReference<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (LegTimeProfile entity : legTimeProfilesJpaRepository.findAll()) {
+            profiles.put(new LegKey(entity.getDepartures(), entity.getArrival()),
+                    new Profile(entity.getMeanSeconds().clone(), entity.getSampleCounts().clone()));
+        }
+        structureVersion.incrementAndGet();
+        logger.info("leg time profiles loaded: {}", profiles.size());
+    }
+
+    // 완료된 구간 반영 - 호출한 트랜잭션 안에서 프로필 행의 해당 시간대 칸을 갱신
+    public void record(UUID departures, UUID arrival, LocalDateTime startAt, Duration actualTime) {
+        if (startAt == null || actualTime == null || actualTime.isNegative()) {
+            return;
+        }
+        int slot = hourOfWeek(toMillis(startAt));
+        int[] updated = legTimeSampleRepository.addSample(departures, arrival, slot, actualTime.getSeconds(),
+                MAX_WEIGHT, LegTimeProfile.SLOTS);
+
+        // 메모리 프로필은 커밋된 값만 반영 (롤백/재시도된 표본이 두 번 들어가지 않도록)
+        // 다른 인스턴스 표본까지 포함된 DB 값으로 해당 칸을 맞춤
+        LegKey key = new LegKey(departures, arrival);
+        Runnable apply = () -> {
+            Profile profile = profiles.computeIfAbsent(key, k -> {
+                structureVersion.incrementAndGet();
+                return new Profile(new int[LegTimeProfile.SLOTS], new int[LegTimeProfile.SLOTS]);
+            });
+            profile.set(slot, updated[0], updated[1]);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    // 그래프 간선별 시간대 소요 시간 함수
+    public EdgeTravelTime travelTime(HubGraph graph) {
+        long structure = structureVersion.get();
+        EdgeProfiles cached = edgeProfiles.get();
+        if (cached == null || cached.graph() != graph || cached.structureVersion() != structure) {
+            Profile[] byEdge = new Profile[graph.edgeCount()];
+            for (int edge = 0; edge < byEdge.length; edge++) {
+                HubRoute route = graph.edge(edge);
+                byEdge[edge] = profiles.get(new LegKey(route.departureHubId(), route.arrivalHubId()));
+            }
+            cached = new EdgeProfiles(graph, structure, byEdge);
+            edgeProfiles.set(cached);
+        }
+
+        Profile[] byEdge = cached.byEdge();
+        return (edge, departureAtMillis) -> {
+            Profile profile = byEdge[edge];
+            if (profile != null) {
+                int slot = hourOfWeek(departureAtMillis);
+                if (profile.sampleCounts[slot] >= MIN_SAMPLES) {
+                    return profile.meanSeconds[slot] * 1000L;
+                }
+            }
+            return graph.edgeWeight(edge);
+        };
+    }
+
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000L;
+    }
+
+    // 월요일 0시 = 0 ... 일요일 23시 = 167 (1970-01-01 은 목요일)
+    static int hourOfWeek(long millis) {
+        long hours = Math.floorDiv(millis, 3_600_000L) + 3 * 24;
+        return (int) Math.floorMod(hours, (long) LegTimeProfile.SLOTS);
+    }
+
+    private record LegKey(UUID departures, UUID arrival) {
+    }
+
+    private record EdgeProfiles(HubGraph graph, long structureVersion, Profile[] byEdge) {
+    }
+
+    private static final class Profile {
+        private final int[] meanSeconds;
+        private final int[] sampleCounts;
+
+        private Profile(int[] meanSeconds, int[] sampleCounts) {
+            this.meanSeconds = meanSeconds;
+            this.sampleCounts = sampleCounts;
+        }
+
+        private synchronized void set(int slot, int mean, int count) {
+            meanSeconds[slot] = mean;
+            sampleCounts[slot] = count;
+        }
+    }
+}
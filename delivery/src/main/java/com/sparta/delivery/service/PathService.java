@@ -1,126 +1,159 @@
 package com.sparta.delivery.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.graph.ContractionHierarchy;
+import com.sparta.delivery.graph.HubGraph;
+import com.sparta.delivery.graph.HubRouteSnapshot;
+import com.sparta.delivery.graph.KShortestPaths;
+import com.sparta.delivery.graph.ShortestPathTable;
+import com.sparta.delivery.graph.TimedRoute;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class PathService {
 
-    private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final HubRouteCache hubRouteCache;
+    private final ShortestPathTableService shortestPathTableService;
+    private final ContractionHierarchyService contractionHierarchyService;
+    private final LegTimeProfileService legTimeProfileService;
 
-    // Redis에서 허브 경로 데이터 가져오기
+    private final AtomicReference<HubGraph> adhocGraph = new AtomicReference<>();
+
+    @Value("${delivery.routing.alternatives.budget-ms:50}")
+    private long alternativesBudgetMillis;
+
+    // 로컬 캐시의 허브 경로 데이터 (없으면 null)
     public List<HubRoute> getHubRoutes() {
-        try {
-            String hubRoutesJson = redisTemplate.opsForValue().get("hub_routes");
-            if (Objects.isNull(hubRoutesJson)) {
-                return null;
-            }
-            return objectMapper.readValue(hubRoutesJson, new TypeReference<>() {});
-        } catch (Exception e) {
-            throw new RuntimeException("레디스 조회 실패", e);
-        }
+        HubRouteSnapshot snapshot = hubRouteCache.current();
+        return snapshot == null ? null : snapshot.routes();
     }
 
     // 시작 허브부터 종착 허브까지 최단 경로 찾기
     public List<UUID> findShortestPath(List<HubRoute> hubRoutes, UUID startHubId, UUID endHubId) {
+        HubGraph graph = graphOf(hubRoutes);
 
-        // 그래프 구성
-        Map<UUID, List<HubRoute>> graph = buildGraph(hubRoutes);
-
-        return dijkstra(graph, startHubId, endHubId);
+        // 전체 쌍 테이블이 준비되어 있으면 탐색 없이 조회
+        ShortestPathTable table = shortestPathTableService.tableFor(graph);
+        if (table != null) {
+            return table.path(startHubId, endHubId);
+        }
+        // 허브 수가 많아 테이블이 없으면 축약 계층으로 조회
+        ContractionHierarchy hierarchy = contractionHierarchyService.hierarchyFor(graph);
+        if (hierarchy != null) {
+            return hierarchy.path(startHubId, endHubId);
+        }
+        return graph.shortestPath(startHubId, endHubId);
     }
 
-    private Map<UUID, List<HubRoute>> buildGraph(List<HubRoute> hubRoutes) {
-        Map<UUID, List<HubRoute>> graph = new HashMap<>();
-        for (HubRoute route : hubRoutes) {
-            graph.computeIfAbsent(route.departureHubId(), k -> new ArrayList<>()).add(route);
+    // 시작 허브부터 종착 허브까지 최단 경로의 구간별 허브 경로
+    public List<HubRoute> findShortestRoute(List<HubRoute> hubRoutes, UUID startHubId, UUID endHubId) {
+        HubGraph graph = graphOf(hubRoutes);
+
+        ShortestPathTable table = shortestPathTableService.tableFor(graph);
+        if (table != null) {
+            return table.route(startHubId, endHubId);
+        }
+        ContractionHierarchy hierarchy = contractionHierarchyService.hierarchyFor(graph);
+        if (hierarchy != null) {
+            return hierarchy.route(startHubId, endHubId);
         }
-        return graph;
+        return graph.shortestRoute(startHubId, endHubId);
     }
 
-    private List<UUID> dijkstra(Map<UUID, List<HubRoute>> graph, UUID startHubId, UUID endHubId) {
-        // 우선순위 큐 (최단 시간 기준)
-        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparing(Node::totalTime));
-        Map<UUID, Duration> shortestTimes = new HashMap<>();
-        Map<UUID, UUID> previousNodes = new HashMap<>();
-
-        // 초기화
-        queue.add(new Node(startHubId, Duration.ZERO));
-        shortestTimes.put(startHubId, Duration.ZERO);
-
-        while (!queue.isEmpty()) {
-            Node currentNode = queue.poll();
-            UUID currentHubId = currentNode.hubId();
-
-            // 종착 허브에 도달하면 경로 복원
-            if (currentHubId.equals(endHubId)) {
-                return reconstructPath(previousNodes, endHubId);
-            }
-
-            // 인접 허브 탐색
-            List<HubRoute> neighbors = graph.getOrDefault(currentHubId, Collections.emptyList());
-            for (HubRoute route : neighbors) {
-                UUID neighborHubId = route.arrivalHubId();
-                Duration newTime = currentNode.totalTime().plus(route.estimateTime());
-
-                if (newTime.compareTo(shortestTimes.getOrDefault(neighborHubId, Duration.ofDays(Long.MAX_VALUE))) < 0) {
-                    shortestTimes.put(neighborHubId, newTime);
-                    previousNodes.put(neighborHubId, currentHubId);
-                    queue.add(new Node(neighborHubId, newTime));
-                }
-            }
+    // 한 출발 허브에서 여러 종착 허브까지의 구간별 허브 경로 (일괄 처리용)
+    public Map<UUID, List<HubRoute>> findShortestRoutes(List<HubRoute> hubRoutes, UUID startHubId, Collection<UUID> endHubIds) {
+        HubGraph graph = graphOf(hubRoutes);
+
+        ShortestPathTable table = shortestPathTableService.tableFor(graph);
+        if (table != null) {
+            Map<UUID, List<HubRoute>> routes = new HashMap<>();
+            endHubIds.forEach(endHubId -> routes.put(endHubId, table.route(startHubId, endHubId)));
+            return routes;
         }
+        return graph.shortestRoutes(startHubId, endHubIds);
+    }
 
-        return Collections.emptyList();
+    // 출발 시각의 요일-시간대별 실제 소요 시간을 반영한 경로
+    // 축약 계층이 있는 큰 그래프는 전체 허브 다익스트라 대신 계층이 찾은 최단 경로에 구간별 시간대 소요 시간을 적용
+    // (경로 선택은 정적 예상 시간 기준, 시간대는 구간 소요 시간에만 반영)
+    public TimedRoute findTimeDependentRoute(List<HubRoute> hubRoutes, UUID startHubId, UUID endHubId, LocalDateTime departureAt) {
+        HubGraph graph = graphOf(hubRoutes);
+        long departureAtMillis = LegTimeProfileService.toMillis(departureAt);
+        ContractionHierarchy hierarchy = contractionHierarchyService.hierarchyFor(graph);
+        if (hierarchy != null) {
+            return graph.timedRoute(hierarchy.route(startHubId, endHubId), departureAtMillis, legTimeProfileService.travelTime(graph));
+        }
+        return graph.timeDependentRoute(startHubId, endHubId, departureAtMillis, legTimeProfileService.travelTime(graph));
     }
 
-    private List<UUID> reconstructPath(Map<UUID, UUID> previousNodes, UUID endHubId) {
-        List<UUID> path = new LinkedList<>();
-        for (UUID arrival = endHubId; arrival != null; arrival = previousNodes.get(arrival)) {
-            path.add(0, arrival);
+    // 한 출발 허브, 같은 출발 시간대의 여러 종착 허브까지의 경로 (일괄 처리용) - 구간 시간은 timeRoute 로 건별 출발 시각 기준 계산
+    // 축약 계층이 있는 큰 그래프는 단건과 같이 계층 경로, 그 외에는 시간대 시작 시각 기준 시간 의존 최단 경로 트리 한 번
+    public Map<UUID, List<HubRoute>> findTimeDependentRoutes(List<HubRoute> hubRoutes, UUID startHubId,
+                                                             Collection<UUID> endHubIds, LocalDateTime departureAt) {
+        HubGraph graph = graphOf(hubRoutes);
+        ContractionHierarchy hierarchy = contractionHierarchyService.hierarchyFor(graph);
+        if (hierarchy != null) {
+            Map<UUID, List<HubRoute>> routes = new HashMap<>();
+            endHubIds.forEach(endHubId -> routes.put(endHubId, hierarchy.route(startHubId, endHubId)));
+            return routes;
         }
-        return path;
+        return graph.timeDependentRoutes(startHubId, endHubIds,
+                LegTimeProfileService.toMillis(departureAt), legTimeProfileService.travelTime(graph));
     }
 
-    private static class Node {
-        private final UUID hubId;
-        private final Duration totalTime;
+    // 이미 정한 경로의 구간별 소요 시간 (출발 시각의 요일-시간대 기준)
+    public TimedRoute timeRoute(List<HubRoute> hubRoutes, List<HubRoute> route, LocalDateTime departureAt) {
+        HubGraph graph = graphOf(hubRoutes);
+        return graph.timedRoute(route, LegTimeProfileService.toMillis(departureAt), legTimeProfileService.travelTime(graph));
+    }
 
-        public Node(UUID hubId, Duration totalTime) {
-            this.hubId = hubId;
-            this.totalTime = totalTime;
+    // 시작 허브부터 종착 허브까지 순환 없는 k개의 최단 경로 (제외 허브 우회)
+    public KShortestPaths.Result findAlternativePaths(UUID startHubId, UUID endHubId, int k, Collection<UUID> excludedHubIds) {
+        HubRouteSnapshot snapshot = hubRouteCache.current();
+        if (snapshot == null) {
+            throw new IllegalStateException("허브 경로 데이터가 없습니다");
         }
+        return new KShortestPaths(snapshot.graph(), excludedHubIds)
+                .find(startHubId, endHubId, k, TimeUnit.MILLISECONDS.toNanos(alternativesBudgetMillis));
+    }
 
-        public UUID hubId() {
-            return hubId;
+    // 캐시의 경로 목록이면 캐시에 컴파일된 그래프 사용, 그 외 목록은 별도로 컴파일 (테이블 미사용)
+    private HubGraph graphOf(List<HubRoute> hubRoutes) {
+        HubRouteSnapshot snapshot = hubRouteCache.current();
+        if (snapshot != null && snapshot.routes() == hubRoutes) {
+            return snapshot.graph();
         }
-
-        public Duration totalTime() {
-            return totalTime;
+        HubGraph graph = adhocGraph.get();
+        if (graph != null && graph.routes() == hubRoutes) {
+            return graph;
         }
+        HubGraph compiled = HubGraph.compile(0L, hubRoutes);
+        adhocGraph.set(compiled);
+        return compiled;
     }
 
+    // (출발, 도착) 허브 경로 조회 - 그래프의 해시 인덱스 사용
     public HubRoute findHubRoute(List<HubRoute> hubRoutes, UUID departureHubId, UUID arrivalHubId) {
-        return hubRoutes.stream()
-                .filter(route -> route.departureHubId().equals(departureHubId) && route.arrivalHubId().equals(arrivalHubId))
-                .findFirst()
-                .orElse(null);
+        return graphOf(hubRoutes).findEdge(departureHubId, arrivalHubId);
+    }
+
+    // 모든 허브에서 해당 허브까지의 경로 거리 - 그래프 스냅샷별로 역방향 탐색 결과를 보관
+    // 담당자 소속 허브가 몇 구간 떨어져 있어도 실제 이동 거리로 비교할 수 있음
+    public Map<UUID, Double> calculateDistancesToHub(List<HubRoute> hubRoutes, UUID hubId) {
+        return graphOf(hubRoutes).distancesTo(hubId);
     }
 
+    // 출발 허브에서 바로 연결된 허브별 거리 - 그래프에 미리 만들어 둔 맵 사용
     public Map<UUID, Double> calculateDistancesFromHub(List<HubRoute> hubRoutes, UUID hubId) {
-        return hubRoutes.stream()
-                .filter(r -> r.departureHubId().equals(hubId))
-                .collect(Collectors.toMap(HubRoute::arrivalHubId, HubRoute::estimatedDistance));
+        return graphOf(hubRoutes).outgoingDistances(hubId);
     }
 
 }
\ No newline at end of file
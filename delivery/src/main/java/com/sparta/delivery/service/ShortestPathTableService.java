@@ -0,0 +1,65 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.graph.HubGraph;
+import com.sparta.delivery.graph.ShortestPathTable;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ShortestPathTableService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortestPathTableService.class);
+
+    // n*n 배열이라 허브 수가 많으면 테이블을 만들지 않고 축약 계층(ContractionHierarchyService)으로 처리
+    // 쌍당 20바이트 - 기본 1000개면 약 20MB, 2000개면 약 80MB
+    private final int maxHubCount;
+
+    private final GraphIndexBuilder<ShortestPathTable> builder =
+            new GraphIndexBuilder<>("shortest-path-table", ShortestPathTableService::build, ShortestPathTable::version);
+
+    public ShortestPathTableService(@Value("${delivery.routing.table.max-hubs:1000}") int maxHubCount) {
+        if (maxHubCount > ShortestPathTable.MAX_HUB_COUNT) {
+            throw new IllegalArgumentException("delivery.routing.table.max-hubs 는 " + ShortestPathTable.MAX_HUB_COUNT + " 이하여야 합니다: " + maxHubCount);
+        }
+        this.maxHubCount = maxHubCount;
+    }
+
+    private static ShortestPathTable build(HubGraph graph) {
+        ShortestPathTable table = ShortestPathTable.build(graph);
+        logger.info("shortest-path-table memory: version={}, hubs={}, size={}MB",
+                table.version(), table.hubCount(), table.memoryBytes() / (1024 * 1024));
+        return table;
+    }
+
+    public boolean supports(HubGraph graph) {
+        return graph.hubCount() <= maxHubCount;
+    }
+
+    // 새 그래프 버전이면 백그라운드에서 테이블 재계산, 완료 시 한 번에 교체
+    public void refresh(HubGraph graph) {
+        if (supports(graph)) {
+            builder.refresh(graph);
+        }
+    }
+
+    // 그래프와 같은 버전의 테이블이 준비된 경우에만 반환
+    public ShortestPathTable tableFor(HubGraph graph) {
+        return builder.builtFor(graph);
+    }
+
+    public ShortestPathTable current() {
+        return builder.current();
+    }
+
+    public long requestedVersion() {
+        return builder.requestedVersion();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdown();
+    }
+}
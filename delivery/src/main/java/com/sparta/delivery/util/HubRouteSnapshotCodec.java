@@ -0,0 +1,113 @@
+package com.sparta.delivery.util;
+
+import com.sparta.delivery.dto.HubRoute;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 허브 경로 스냅샷 바이너리 포맷 (core 의 HubRouteSnapshotCodec 과 동일한 포맷)
+//
+// [헤더 28 bytes]
+//   int   magic          0x48525331 ("HRS1")
+//   short formatVersion  1
+//   short reserved       0
+//   long  routeVersion   hub_routes:version 값
+//   int   hubCount
+//   int   routeCount
+// [허브 테이블 hubCount * 16 bytes]
+//   long msb, long lsb    허브 UUID, 순서가 곧 허브 인덱스
+// [경로 레코드 routeCount * 40 bytes]
+//   long msb, long lsb    허브 경로 UUID
+//   int departureIndex, int arrivalIndex
+//   double estimatedDistance (m)
+//   long estimatedTimeMillis
+//
+// 모든 값은 빅엔디언
+public final class HubRouteSnapshotCodec {
+
+    public static final int MAGIC = 0x48525331;
+    public static final short FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 28;
+    public static final int HUB_SIZE = 16;
+    public static final int ROUTE_SIZE = 40;
+
+    private HubRouteSnapshotCodec() {
+    }
+
+    public record Snapshot(long routeVersion, List<HubRoute> routes) {
+    }
+
+    public static byte[] encode(long routeVersion, List<HubRoute> routes) {
+        Map<UUID, Integer> hubIndex = new HashMap<>();
+        List<UUID> hubs = new ArrayList<>();
+        for (HubRoute route : routes) {
+            hubIndex.computeIfAbsent(route.departureHubId(), id -> { hubs.add(id); return hubs.size() - 1; });
+            hubIndex.computeIfAbsent(route.arrivalHubId(), id -> { hubs.add(id); return hubs.size() - 1; });
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + hubs.size() * HUB_SIZE + routes.size() * ROUTE_SIZE);
+        buffer.putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putShort((short) 0)
+                .putLong(routeVersion)
+                .putInt(hubs.size())
+                .putInt(routes.size());
+        for (UUID hub : hubs) {
+            putUuid(buffer, hub);
+        }
+        for (HubRoute route : routes) {
+            putUuid(buffer, route.hubRouteId());
+            buffer.putInt(hubIndex.get(route.departureHubId()))
+                    .putInt(hubIndex.get(route.arrivalHubId()))
+                    .putDouble(route.estimatedDistance())
+                    .putLong(route.estimateTime().toMillis());
+        }
+        return buffer.array();
+    }
+
+    public static Snapshot decode(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("허브 경로 스냅샷 헤더가 잘렸습니다: " + bytes.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int magic = buffer.getInt();
+        short formatVersion = buffer.getShort();
+        buffer.getShort();
+        if (magic != MAGIC || formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 허브 경로 스냅샷 포맷입니다: magic=" + Integer.toHexString(magic)
+                    + ", version=" + formatVersion);
+        }
+        long routeVersion = buffer.getLong();
+        int hubCount = buffer.getInt();
+        int routeCount = buffer.getInt();
+        long expectedSize = HEADER_SIZE + (long) hubCount * HUB_SIZE + (long) routeCount * ROUTE_SIZE;
+        if (hubCount < 0 || routeCount < 0 || bytes.length != expectedSize) {
+            throw new IllegalArgumentException("허브 경로 스냅샷 크기가 맞지 않습니다: expected=" + expectedSize
+                    + ", actual=" + bytes.length);
+        }
+
+        UUID[] hubs = new UUID[hubCount];
+        for (int i = 0; i < hubCount; i++) {
+            hubs[i] = new UUID(buffer.getLong(), buffer.getLong());
+        }
+        HubRoute[] routes = new HubRoute[routeCount];
+        for (int i = 0; i < routeCount; i++) {
+            UUID hubRouteId = new UUID(buffer.getLong(), buffer.getLong());
+            UUID departure = hubs[buffer.getInt()];
+            UUID arrival = hubs[buffer.getInt()];
+            double distance = buffer.getDouble();
+            Duration time = Duration.ofMillis(buffer.getLong());
+            routes[i] = new HubRoute(hubRouteId, departure, arrival, distance, time);
+        }
+        return new Snapshot(routeVersion, List.of(routes));
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,142 @@
+package com.sparta.delivery.util;
+
+import java.util.Arrays;
+
+// 최소 비용 이분 매칭 (헝가리안 알고리즘, O(n^2 m))
+// 행(배송 경로)마다 최대 1개의 열(배송 담당자)을 배정하고 총 비용을 최소화한다
+// 행을 하나씩 추가하며 증가 경로를 찾으므로, 시간 예산을 넘기면 남은 행은 남은 열 중 최소 비용으로 탐욕 배정한다
+public final class MinCostAssignment {
+
+    // 배정 불가 (도달 불가 등) - 이 값 이상인 쌍은 결과에서 제외
+    public static final double FORBIDDEN = 1e15;
+
+    private MinCostAssignment() {
+    }
+
+    public record Result(int[] columnOfRow, double totalCost, boolean budgetExceeded) {
+    }
+
+    public static Result solve(double[][] cost, long deadlineNanos) {
+        int rows = cost.length;
+        int columns = rows == 0 ? 0 : cost[0].length;
+        if (rows == 0 || columns == 0) {
+            int[] empty = new int[rows];
+            Arrays.fill(empty, -1);
+            return new Result(empty, 0, false);
+        }
+
+        // 행 수 <= 열 수 일 때만 동작하므로 필요하면 전치해서 풀고 되돌린다
+        boolean transposed = rows > columns;
+        double[][] matrix = transposed ? transpose(cost) : cost;
+        int n = matrix.length;
+        int m = matrix[0].length;
+
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] p = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minv = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        boolean budgetExceeded = false;
+        int row = 1;
+        for (; row <= n; row++) {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                budgetExceeded = true;
+                break;
+            }
+            p[0] = row;
+            int j0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) {
+                        continue;
+                    }
+                    double current = matrix[i0 - 1][j - 1] - u[i0] - v[j];
+                    if (current < minv[j]) {
+                        minv[j] = current;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] columnOfRow = new int[n];
+        Arrays.fill(columnOfRow, -1);
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0) {
+                columnOfRow[p[j] - 1] = j - 1;
+            }
+        }
+
+        // 예산 초과 - 남은 행은 비어 있는 열 중 가장 싼 열로
+        for (int i = row - 1; i < n; i++) {
+            int best = -1;
+            for (int j = 1; j <= m; j++) {
+                if (p[j] == 0 && (best < 0 || matrix[i][j - 1] < matrix[i][best - 1])) {
+                    best = j;
+                }
+            }
+            if (best > 0) {
+                p[best] = i + 1;
+                columnOfRow[i] = best - 1;
+            }
+        }
+
+        // 배정 불가 쌍 제외
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            if (columnOfRow[i] >= 0 && matrix[i][columnOfRow[i]] >= FORBIDDEN) {
+                columnOfRow[i] = -1;
+            } else if (columnOfRow[i] >= 0) {
+                total += matrix[i][columnOfRow[i]];
+            }
+        }
+
+        if (!transposed) {
+            return new Result(columnOfRow, total, budgetExceeded);
+        }
+        int[] original = new int[rows];
+        Arrays.fill(original, -1);
+        for (int i = 0; i < n; i++) {
+            if (columnOfRow[i] >= 0) {
+                original[columnOfRow[i]] = i;
+            }
+        }
+        return new Result(original, total, budgetExceeded);
+    }
+
+    private static double[][] transpose(double[][] cost) {
+        double[][] transposed = new double[cost[0].length][cost.length];
+        for (int i = 0; i < cost.length; i++) {
+            for (int j = 0; j < cost[0].length; j++) {
+                transposed[j][i] = cost[i][j];
+            }
+        }
+        return transposed;
+    }
+}
@@ -1,8 +1,11 @@
 package com.sparta.delivery.util;
 
 import java.math.BigDecimal;
+import java.util.Objects;
 
 public class Point {
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+
     private final BigDecimal longitude;
     private final BigDecimal latitude;
 
@@ -18,4 +21,32 @@ public class Point {
     public BigDecimal getLatitude() {
         return latitude;
     }
-}
\ No newline at end of file
+
+    // 두 좌표 사이 직선(대원) 거리(m)
+    public double distanceMeters(Point other) {
+        double lat1 = Math.toRadians(latitude.doubleValue());
+        double lat2 = Math.toRadians(other.latitude.doubleValue());
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(other.longitude.doubleValue() - longitude.doubleValue());
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // 소수 자릿수와 관계없이 같은 좌표면 같은 값
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Point other)) {
+            return false;
+        }
+        return longitude.compareTo(other.longitude) == 0 && latitude.compareTo(other.latitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(longitude.stripTrailingZeros(), latitude.stripTrailingZeros());
+    }
+}
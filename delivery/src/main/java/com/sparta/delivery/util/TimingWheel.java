@@ -0,0 +1,164 @@
+package com.sparta.delivery.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// 계층형 타이밍 휠 - 키마다 만료 시각 하나
+// 단계마다 64칸, 0단계 한 칸 = tickMillis, 위 단계 한 칸 = 아래 단계 한 바퀴
+// 등록/취소 O(1), 시간이 한 칸 지날 때마다 해당 칸만 처리 (위 단계 칸은 아래 단계로 내려 보냄)
+// 최상위 단계 범위를 넘는 항목은 별도 목록에 두었다가 최상위 단계가 한 바퀴 돌 때 다시 배치
+// 만료 시각은 칸 단위로 올림하므로 만료 시각보다 일찍 꺼내지 않고, 늦어도 한 칸 안에 꺼낸다
+// 동기화하지 않음 - 호출하는 쪽에서 잠금
+public final class TimingWheel<K, V> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    // [단계 * 64 + 칸] 연결 리스트의 첫 항목, 마지막 칸은 범위를 넘는 항목
+    private final Node<K, V>[] heads;
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int levels, long startMillis) {
+        if (tickMillis <= 0 || levels < 1 || levels * SLOT_BITS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("잘못된 타이밍 휠 설정입니다");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.heads = new Node[levels * SLOTS + 1];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    // 같은 키가 있으면 바꿔서 등록, 이미 지난 시각이면 다음 칸에서 꺼냄
+    public void schedule(K key, V value, long expireAtMillis) {
+        cancel(key);
+        long tick = Math.max(Math.floorDiv(expireAtMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Node<K, V> node = new Node<>(key, value, tick);
+        nodes.put(key, node);
+        place(node);
+    }
+
+    // 등록되어 있던 값, 없으면 null
+    public V cancel(K key) {
+        Node<K, V> node = nodes.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    public boolean contains(K key) {
+        return nodes.containsKey(key);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    // nowMillis 까지 시간을 진행하고 만료된 항목을 칸 순서대로 전달
+    // 전달된 항목은 휠에서 빠진 상태 - expired 안에서 다시 등록해도 됨
+    public void advance(long nowMillis, BiConsumer<K, V> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (nodes.isEmpty()) {
+            currentTick = Math.max(currentTick, targetTick);
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 위 단계 칸 경계를 지나면 그 칸의 항목을 아래 단계로 다시 배치
+            if ((currentTick & ((1L << (SLOT_BITS * levels)) - 1)) == 0) {
+                cascade(levels * SLOTS);
+            }
+            for (int level = levels - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level * SLOTS + digit(currentTick, level));
+                }
+            }
+
+            List<Node<K, V>> due = drain(digit(currentTick, 0));
+            for (Node<K, V> node : due) {
+                nodes.remove(node.key);
+            }
+            for (Node<K, V> node : due) {
+                expired.accept(node.key, node.value);
+            }
+            if (nodes.isEmpty()) {
+                currentTick = targetTick;
+            }
+        }
+    }
+
+    // 만료 시각과 현재 시각의 윗자리가 같아지는 가장 낮은 단계에 배치
+    private void place(Node<K, V> node) {
+        int index = levels * SLOTS;
+        for (int level = 0; level < levels; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((node.tick >>> shift) == (currentTick >>> shift)) {
+                index = level * SLOTS + digit(node.tick, level);
+                break;
+            }
+        }
+        node.index = index;
+        node.prev = null;
+        node.next = heads[index];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        heads[index] = node;
+    }
+
+    private void cascade(int index) {
+        for (Node<K, V> node : drain(index)) {
+            place(node);
+        }
+    }
+
+    private List<Node<K, V>> drain(int index) {
+        List<Node<K, V>> drained = new ArrayList<>();
+        for (Node<K, V> node = heads[index]; node != null; node = node.next) {
+            drained.add(node);
+        }
+        heads[index] = null;
+        return drained;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            heads[node.index] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static int digit(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final long tick;
+        private int index;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long tick) {
+            this.key = key;
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+}
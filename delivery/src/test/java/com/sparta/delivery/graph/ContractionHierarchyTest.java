@@ -0,0 +1,75 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContractionHierarchyTest {
+
+    private final UUID hubA = UUID.randomUUID();
+    private final UUID hubB = UUID.randomUUID();
+    private final UUID hubC = UUID.randomUUID();
+    private final UUID hubD = UUID.randomUUID();
+
+    private HubRoute route(UUID departure, UUID arrival, long minutes) {
+        return new HubRoute(UUID.randomUUID(), departure, arrival, 100, Duration.ofMinutes(minutes));
+    }
+
+    private long totalMillis(List<HubRoute> routes) {
+        return routes.stream().mapToLong(route -> route.estimateTime().toMillis()).sum();
+    }
+
+    @Test
+    @DisplayName("지름길 간선을 원래 허브 경로로 풀어서 반환한다")
+    void route_UnpacksShortcuts() {
+        HubRoute ab = route(hubA, hubB, 10);
+        HubRoute bc = route(hubB, hubC, 10);
+        HubRoute cd = route(hubC, hubD, 10);
+        HubRoute ad = route(hubA, hubD, 45);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(HubGraph.compile(2L, List.of(ab, bc, cd, ad)));
+
+        assertThat(hierarchy.version()).isEqualTo(2L);
+        assertThat(hierarchy.route(hubA, hubD)).containsExactly(ab, bc, cd);
+        assertThat(hierarchy.path(hubA, hubD)).containsExactly(hubA, hubB, hubC, hubD);
+        assertThat(hierarchy.route(hubD, hubA)).isEmpty();
+        assertThat(hierarchy.path(hubA, hubA)).containsExactly(hubA);
+    }
+
+    @Test
+    @DisplayName("무작위 그래프에서 다익스트라와 같은 최소 소요 시간을 구한다")
+    void route_MatchesDijkstra() {
+        Random random = new Random(7);
+        List<UUID> hubs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            hubs.add(UUID.randomUUID());
+        }
+        List<HubRoute> routes = new ArrayList<>();
+        for (int i = 0; i < 800; i++) {
+            routes.add(route(hubs.get(random.nextInt(hubs.size())), hubs.get(random.nextInt(hubs.size())),
+                    1 + random.nextInt(120)));
+        }
+        HubGraph graph = HubGraph.compile(1L, routes);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+
+        for (int i = 0; i < 2000; i++) {
+            UUID start = hubs.get(random.nextInt(hubs.size()));
+            UUID end = hubs.get(random.nextInt(hubs.size()));
+            List<HubRoute> expected = graph.shortestRoute(start, end);
+            List<HubRoute> actual = hierarchy.route(start, end);
+
+            assertThat(actual.isEmpty()).isEqualTo(expected.isEmpty());
+            assertThat(totalMillis(actual)).isEqualTo(totalMillis(expected));
+            for (int leg = 1; leg < actual.size(); leg++) {
+                assertThat(actual.get(leg).departureHubId()).isEqualTo(actual.get(leg - 1).arrivalHubId());
+            }
+        }
+    }
+}
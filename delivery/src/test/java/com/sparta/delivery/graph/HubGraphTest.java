@@ -0,0 +1,153 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HubGraphTest {
+
+    private final UUID hubA = UUID.randomUUID();
+    private final UUID hubB = UUID.randomUUID();
+    private final UUID hubC = UUID.randomUUID();
+    private final UUID hubD = UUID.randomUUID();
+
+    private HubRoute route(UUID departure, UUID arrival, long minutes) {
+        return new HubRoute(UUID.randomUUID(), departure, arrival, minutes * 1000.0, Duration.ofMinutes(minutes));
+    }
+
+    @Test
+    @DisplayName("소요 시간이 가장 짧은 경로를 찾는다")
+    void shortestPath_PrefersLowerTotalTime() {
+        HubGraph graph = HubGraph.compile(1L, List.of(
+                route(hubA, hubB, 10),
+                route(hubB, hubD, 10),
+                route(hubA, hubC, 5),
+                route(hubC, hubD, 30),
+                route(hubA, hubD, 25)
+        ));
+
+        assertThat(graph.shortestPath(hubA, hubD)).containsExactly(hubA, hubB, hubD);
+        assertThat(graph.hubCount()).isEqualTo(4);
+        assertThat(graph.edgeCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("도달할 수 없거나 등록되지 않은 허브는 빈 경로를 반환한다")
+    void shortestPath_Unreachable() {
+        HubGraph graph = HubGraph.compile(1L, List.of(
+                route(hubA, hubB, 10),
+                route(hubC, hubD, 10)
+        ));
+
+        assertThat(graph.shortestPath(hubA, hubD)).isEmpty();
+        assertThat(graph.shortestPath(UUID.randomUUID(), hubB)).isEmpty();
+        assertThat(graph.shortestPath(hubA, hubA)).containsExactly(hubA);
+    }
+
+    @Test
+    @DisplayName("같은 그래프로 반복 탐색해도 이전 탐색 상태가 섞이지 않는다")
+    void shortestPath_ReusesWorkspace() {
+        HubGraph graph = HubGraph.compile(1L, List.of(
+                route(hubA, hubB, 10),
+                route(hubB, hubC, 10),
+                route(hubC, hubD, 10),
+                route(hubD, hubA, 10)
+        ));
+
+        assertThat(graph.shortestPath(hubA, hubC)).containsExactly(hubA, hubB, hubC);
+        assertThat(graph.shortestPath(hubC, hubB)).containsExactly(hubC, hubD, hubA, hubB);
+        assertThat(graph.shortestPath(hubA, hubC)).containsExactly(hubA, hubB, hubC);
+    }
+
+    @Test
+    @DisplayName("출발/도착 허브로 허브 경로와 인접 허브 거리를 조회한다")
+    void findEdge_AndOutgoingDistances() {
+        HubRoute ab = route(hubA, hubB, 10);
+        HubRoute ac = route(hubA, hubC, 20);
+        HubRoute bc = route(hubB, hubC, 5);
+        HubGraph graph = HubGraph.compile(1L, List.of(ab, ac, bc));
+
+        assertThat(graph.findEdge(hubA, hubC)).isSameAs(ac);
+        assertThat(graph.findEdge(hubC, hubA)).isNull();
+        assertThat(graph.findEdge(hubD, hubA)).isNull();
+        assertThat(graph.outgoingDistances(hubA)).containsOnlyKeys(hubB, hubC)
+                .containsEntry(hubC, ac.estimatedDistance());
+        assertThat(graph.outgoingRoutes(hubA)).containsExactly(ab, ac);
+        assertThat(graph.outgoingDistances(hubD)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 구간 떨어진 허브까지 포함해 모든 허브에서 도착 허브까지의 경로 거리를 구한다")
+    void distancesTo_AllHubs() {
+        HubGraph graph = HubGraph.compile(1L, List.of(
+                route(hubA, hubB, 10),
+                route(hubB, hubC, 5),
+                route(hubA, hubC, 20),
+                route(hubC, hubD, 1)
+        ));
+
+        Map<UUID, Double> distances = graph.distancesTo(hubC);
+
+        assertThat(distances).containsOnlyKeys(hubA, hubB, hubC)
+                .containsEntry(hubA, 15000.0)
+                .containsEntry(hubB, 5000.0)
+                .containsEntry(hubC, 0.0);
+        // 같은 스냅샷에서는 계산 결과를 재사용
+        assertThat(graph.distancesTo(graph.indexOf(hubC))).isSameAs(graph.distancesTo(graph.indexOf(hubC)));
+        assertThat(graph.distancesTo(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("출발 시각에 따라 구간 소요 시간이 달라지면 경로도 달라진다")
+    void timeDependentRoute_DependsOnDepartureTime() {
+        HubRoute ab = route(hubA, hubB, 10);
+        HubRoute bd = route(hubB, hubD, 10);
+        HubRoute ac = route(hubA, hubC, 15);
+        HubRoute cd = route(hubC, hubD, 10);
+        HubGraph graph = HubGraph.compile(1L, List.of(ab, bd, ac, cd));
+        long rushHour = Duration.ofHours(8).toMillis();
+        long night = Duration.ofHours(22).toMillis();
+
+        // 출근 시간대에는 A -> B 구간이 60분 걸림
+        EdgeTravelTime travelTime = (edge, departureAtMillis) ->
+                graph.edge(edge) == ab && departureAtMillis < Duration.ofHours(12).toMillis()
+                        ? Duration.ofMinutes(60).toMillis()
+                        : graph.edgeWeight(edge);
+
+        TimedRoute atRushHour = graph.timeDependentRoute(hubA, hubD, rushHour, travelTime);
+        TimedRoute atNight = graph.timeDependentRoute(hubA, hubD, night, travelTime);
+
+        assertThat(atRushHour.routes()).containsExactly(ac, cd);
+        assertThat(atRushHour.totalTime()).isEqualTo(Duration.ofMinutes(25));
+        assertThat(atNight.routes()).containsExactly(ab, bd);
+        assertThat(atNight.legTime(0)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("정해진 경로에 출발 시각 기준으로 구간별 소요 시간을 적용한다")
+    void timedRoute_AppliesProfileAlongPath() {
+        HubRoute ab = route(hubA, hubB, 10);
+        HubRoute bc = route(hubB, hubC, 10);
+        HubGraph graph = HubGraph.compile(1L, List.of(ab, bc));
+        long departure = Duration.ofHours(8).minusMinutes(5).toMillis();
+
+        // 8시부터 B -> C 구간이 30분 걸림 - A 에서 7시 55분에 출발하면 B 에는 8시 5분에 도착
+        EdgeTravelTime travelTime = (edge, departureAtMillis) ->
+                graph.edge(edge) == bc && departureAtMillis >= Duration.ofHours(8).toMillis()
+                        ? Duration.ofMinutes(30).toMillis()
+                        : graph.edgeWeight(edge);
+
+        TimedRoute timed = graph.timedRoute(List.of(ab, bc), departure, travelTime);
+
+        assertThat(timed.routes()).containsExactly(ab, bc);
+        assertThat(timed.legTime(0)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(timed.legTime(1)).isEqualTo(Duration.ofMinutes(30));
+    }
+}
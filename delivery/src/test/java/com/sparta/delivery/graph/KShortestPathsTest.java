@@ -0,0 +1,69 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KShortestPathsTest {
+
+    private static final long BUDGET = TimeUnit.SECONDS.toNanos(1);
+
+    private final UUID hubA = UUID.randomUUID();
+    private final UUID hubB = UUID.randomUUID();
+    private final UUID hubC = UUID.randomUUID();
+    private final UUID hubD = UUID.randomUUID();
+
+    private HubRoute route(UUID departure, UUID arrival, long minutes) {
+        return new HubRoute(UUID.randomUUID(), departure, arrival, minutes * 1000.0, Duration.ofMinutes(minutes));
+    }
+
+    private HubGraph graph() {
+        return HubGraph.compile(1L, List.of(
+                route(hubA, hubB, 10),
+                route(hubB, hubD, 10),
+                route(hubA, hubC, 15),
+                route(hubC, hubD, 10),
+                route(hubB, hubC, 2),
+                route(hubA, hubD, 40)
+        ));
+    }
+
+    @Test
+    @DisplayName("소요 시간 순으로 순환 없는 k개의 경로를 반환한다")
+    void find_OrderedLoopFreePaths() {
+        KShortestPaths.Result result = new KShortestPaths(graph(), Set.of()).find(hubA, hubD, 4, BUDGET);
+
+        assertThat(result.budgetExceeded()).isFalse();
+        assertThat(result.paths()).extracting(KShortestPaths.Path::hubIds).containsExactly(
+                List.of(hubA, hubB, hubD),
+                List.of(hubA, hubB, hubC, hubD),
+                List.of(hubA, hubC, hubD),
+                List.of(hubA, hubD)
+        );
+        assertThat(result.paths()).extracting(KShortestPaths.Path::totalTimeMillis).containsExactly(
+                Duration.ofMinutes(20).toMillis(),
+                Duration.ofMinutes(22).toMillis(),
+                Duration.ofMinutes(25).toMillis(),
+                Duration.ofMinutes(40).toMillis()
+        );
+    }
+
+    @Test
+    @DisplayName("제외한 허브를 지나는 경로는 반환하지 않는다")
+    void find_SkipsExcludedHubs() {
+        KShortestPaths.Result result = new KShortestPaths(graph(), Set.of(hubB)).find(hubA, hubD, 5, BUDGET);
+
+        assertThat(result.paths()).extracting(KShortestPaths.Path::hubIds).containsExactly(
+                List.of(hubA, hubC, hubD),
+                List.of(hubA, hubD)
+        );
+    }
+}
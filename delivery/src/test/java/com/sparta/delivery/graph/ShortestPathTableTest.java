@@ -0,0 +1,63 @@
+package com.sparta.delivery.graph;
+
+import com.sparta.delivery.dto.HubRoute;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortestPathTableTest {
+
+    private final UUID hubA = UUID.randomUUID();
+    private final UUID hubB = UUID.randomUUID();
+    private final UUID hubC = UUID.randomUUID();
+    private final UUID hubD = UUID.randomUUID();
+
+    private HubRoute route(UUID departure, UUID arrival, long minutes, double distance) {
+        return new HubRoute(UUID.randomUUID(), departure, arrival, distance, Duration.ofMinutes(minutes));
+    }
+
+    @Test
+    @DisplayName("모든 허브 쌍의 경로와 총 소요 시간/거리를 미리 계산한다")
+    void build_AllPairs() {
+        HubRoute ab = route(hubA, hubB, 10, 100);
+        HubRoute bc = route(hubB, hubC, 10, 120);
+        HubRoute cd = route(hubC, hubD, 10, 80);
+        HubRoute ad = route(hubA, hubD, 45, 150);
+        ShortestPathTable table = ShortestPathTable.build(HubGraph.compile(3L, List.of(ab, bc, cd, ad)));
+
+        assertThat(table.version()).isEqualTo(3L);
+        assertThat(table.route(hubA, hubD)).containsExactly(ab, bc, cd);
+        assertThat(table.path(hubA, hubD)).containsExactly(hubA, hubB, hubC, hubD);
+        assertThat(table.totalTime(hubA, hubD)).isEqualTo(Duration.ofMinutes(30));
+        assertThat(table.totalDistance(hubA, hubD)).isEqualTo(300.0);
+        assertThat(table.route(hubB, hubD)).containsExactly(bc, cd);
+    }
+
+    @Test
+    @DisplayName("도달할 수 없는 허브 쌍은 빈 경로를 반환한다")
+    void build_Unreachable() {
+        ShortestPathTable table = ShortestPathTable.build(HubGraph.compile(1L, List.of(
+                route(hubA, hubB, 10, 100),
+                route(hubC, hubD, 10, 100)
+        )));
+
+        assertThat(table.route(hubA, hubD)).isEmpty();
+        assertThat(table.path(hubA, hubD)).isEmpty();
+        assertThat(table.totalTime(hubA, hubD)).isNull();
+        assertThat(table.path(hubA, hubA)).containsExactly(hubA);
+    }
+
+    @Test
+    @DisplayName("테이블 크기는 허브 수가 커도 int 범위를 넘기지 않고 계산한다")
+    void memoryBytes_NoOverflow() {
+        assertThat(ShortestPathTable.memoryBytes(1000)).isEqualTo(20_000_000L);
+        assertThat(ShortestPathTable.memoryBytes(ShortestPathTable.MAX_HUB_COUNT))
+                .isEqualTo((long) ShortestPathTable.MAX_HUB_COUNT * ShortestPathTable.MAX_HUB_COUNT * 20);
+        assertThat((long) ShortestPathTable.MAX_HUB_COUNT * ShortestPathTable.MAX_HUB_COUNT).isLessThanOrEqualTo(Integer.MAX_VALUE);
+    }
+}
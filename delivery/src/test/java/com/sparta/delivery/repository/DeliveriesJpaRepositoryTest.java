@@ -0,0 +1,149 @@
+package com.sparta.delivery.repository;
+
+import com.sparta.delivery.dto.DeliveryCursor;
+import com.sparta.delivery.dto.DeliveryDetailRow;
+import com.sparta.delivery.dto.DeliverySummaryResponse;
+import com.sparta.delivery.dto.GetDeliveryResponse;
+import com.sparta.delivery.entity.Deliverer;
+import com.sparta.delivery.entity.DelivererTypeEnum;
+import com.sparta.delivery.entity.Delivery;
+import com.sparta.delivery.entity.DeliveryRecord;
+import com.sparta.delivery.entity.DeliveryStatusEnum;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DeliveriesJpaRepositoryTest {
+
+    @Autowired
+    private DeliveriesJpaRepository deliveriesJpaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("배송 단건 조회는 배송 경로 수와 관계없이 쿼리 한 번으로 끝나고 엔티티를 적재하지 않는다")
+    void findDeliveryDetail_SingleQuery() {
+        Deliverer hubDeliverer = entityManager.persist(Deliverer.create(1L, UUID.randomUUID(), DelivererTypeEnum.HUB));
+        Deliverer companyDeliverer = entityManager.persist(Deliverer.create(2L, UUID.randomUUID(), DelivererTypeEnum.COMPANY));
+        Delivery delivery = persistDelivery(3);
+        DeliveryRecord first = persistRecord(delivery, 1);
+        persistRecord(delivery, 3).assignDeliverer(companyDeliverer);
+        persistRecord(delivery, 2);
+        first.assignDeliverer(hubDeliverer);
+        persistRecord(delivery, 4).deleteBase("tester");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<DeliveryDetailRow> rows = deliveriesJpaRepository.findDeliveryDetail(delivery.getDeliveryId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        GetDeliveryResponse response = GetDeliveryResponse.from(rows);
+        assertThat(response.delivery().orderId()).isEqualTo(delivery.getOrderId());
+        assertThat(response.details()).extracting("seq").containsExactly(1, 2, 3);
+        assertThat(response.details()).extracting("delivererId").containsExactly(1L, null, 2L);
+        assertThat(response.details().get(0).estimatedTime()).isEqualTo("01:30");
+    }
+
+    @Test
+    @DisplayName("배송 경로가 없는 배송도 배송 정보는 조회되고, 없는 배송은 빈 결과다")
+    void findDeliveryDetail_WithoutRecords() {
+        Delivery delivery = persistDelivery(0);
+        entityManager.flush();
+        entityManager.clear();
+
+        GetDeliveryResponse response = GetDeliveryResponse.from(deliveriesJpaRepository.findDeliveryDetail(delivery.getDeliveryId()));
+
+        assertThat(response.delivery().companyAddress()).isEqualTo("서울특별시 중구");
+        assertThat(response.details()).isEmpty();
+        assertThat(deliveriesJpaRepository.findDeliveryDetail(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("배송 목록은 (배송 시한, 배송 ID) 순으로 커서 다음부터 이어서 조회되고, 페이지마다 쿼리 한 번이다")
+    void searchDeliveries_Keyset() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        List<Delivery> deliveries = List.of(
+                persistDelivery(base), persistDelivery(base), persistDelivery(base.plusHours(1)),
+                persistDelivery(base.plusHours(2)), persistDelivery(base.plusHours(3)));
+        deliveries.get(3).setStatus(DeliveryStatusEnum.DONE);
+        deliveries.get(4).deleteBase("tester");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<DeliverySummaryResponse> firstPage = deliveriesJpaRepository.searchDeliveries(null, null, null, null, 2);
+        List<DeliverySummaryResponse> secondPage = deliveriesJpaRepository.searchDeliveries(null, null, null,
+                DeliveryCursor.of(firstPage.get(1)), 2);
+        List<DeliverySummaryResponse> lastPage = deliveriesJpaRepository.searchDeliveries(null, null, null,
+                DeliveryCursor.of(secondPage.get(1)), 2);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(firstPage).extracting("dispatchDeadline").containsExactly(base, base);
+        assertThat(firstPage).extracting("deliveryId")
+                .containsExactlyInAnyOrder(deliveries.get(0).getDeliveryId(), deliveries.get(1).getDeliveryId());
+        assertThat(secondPage).extracting("dispatchDeadline").containsExactly(base.plusHours(1), base.plusHours(2));
+        assertThat(lastPage).isEmpty();
+
+        assertThat(deliveriesJpaRepository.searchDeliveries(DeliveryStatusEnum.DONE, null, null, null, 10))
+                .extracting("deliveryId").containsExactly(deliveries.get(3).getDeliveryId());
+        assertThat(deliveriesJpaRepository.searchDeliveries(null, null, base.plusHours(1), null, 10)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("페이지 위치는 문자열로 인코딩했다가 그대로 복원되고, 잘못된 값은 예외다")
+    void deliveryCursor_EncodeDecode() {
+        DeliveryCursor cursor = new DeliveryCursor(LocalDateTime.of(2026, 1, 1, 9, 0, 30), UUID.randomUUID());
+
+        assertThat(DeliveryCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThatThrownBy(() -> DeliveryCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Delivery persistDelivery(LocalDateTime dispatchDeadline) {
+        Delivery delivery = persistDelivery(0);
+        delivery.setDispatchDeadline(dispatchDeadline);
+        return delivery;
+    }
+
+    private Delivery persistDelivery(int totalSequence) {
+        Delivery delivery = Delivery.create(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                "서울특별시 중구", "수령인", "recipient-slack");
+        delivery.setDispatchDeadline(LocalDateTime.now().plusDays(1));
+        delivery.setTotalSequence(totalSequence);
+        delivery.setCurrentSeq(0);
+        return entityManager.persist(delivery);
+    }
+
+    private DeliveryRecord persistRecord(Delivery delivery, int sequence) {
+        return entityManager.persist(DeliveryRecord.create(UUID.randomUUID(), UUID.randomUUID(), sequence,
+                Duration.ofMinutes(90), BigDecimal.valueOf(1000L * sequence), delivery));
+    }
+}
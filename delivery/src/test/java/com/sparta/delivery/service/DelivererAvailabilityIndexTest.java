@@ -0,0 +1,86 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.entity.Deliverer;
+import com.sparta.delivery.entity.DelivererTypeEnum;
+import com.sparta.delivery.repository.DeliverersJpaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DelivererAvailabilityIndexTest {
+
+    private final UUID hubA = UUID.randomUUID();
+    private final UUID hubB = UUID.randomUUID();
+
+    private final DelivererAvailabilityIndex index = new DelivererAvailabilityIndex(null);
+
+    @Test
+    @DisplayName("허브-업체 배정은 진행 중인 배송 경로가 가장 적은 담당자를 고르고 바로 반영한다")
+    void assignCompanyDeliverer_LeastLoaded() {
+        index.upsert(Deliverer.create(1L, hubA, DelivererTypeEnum.COMPANY));
+        index.upsert(Deliverer.create(2L, hubA, DelivererTypeEnum.COMPANY));
+        index.upsert(Deliverer.create(3L, hubB, DelivererTypeEnum.COMPANY));
+        index.adjustLoad(1L, 2);
+
+        assertThat(index.assignCompanyDeliverer(hubA)).contains(2L);
+        assertThat(index.assignCompanyDeliverer(hubA)).contains(2L);
+        // 2번 담당자도 2건이 되면 ID 순
+        assertThat(index.assignCompanyDeliverer(hubA)).contains(1L);
+
+        index.delete(1L);
+        index.delete(2L);
+        assertThat(index.assignCompanyDeliverer(hubA)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("허브-허브 배정은 가장 가까운 허브 소속 담당자를 고르고, 인접 허브에 없으면 전체에서 고른다")
+    void assignHubDeliverer_NearestHub() {
+        index.upsert(Deliverer.create(10L, hubA, DelivererTypeEnum.HUB));
+        index.upsert(Deliverer.create(20L, hubB, DelivererTypeEnum.HUB));
+
+        assertThat(index.assignHubDeliverer(Map.of(hubA, 50.0, hubB, 10.0))).contains(20L);
+        assertThat(index.assignHubDeliverer(Map.of(UUID.randomUUID(), 1.0))).contains(10L);
+    }
+
+    @Test
+    @DisplayName("롤백된 배정은 되돌리고, 커밋된 배정은 그대로 남긴다")
+    void settle_RollbackReleasesReservation() {
+        index.upsert(Deliverer.create(1L, hubA, DelivererTypeEnum.COMPANY));
+        index.upsert(Deliverer.create(2L, hubA, DelivererTypeEnum.COMPANY));
+
+        assertThat(index.assignCompanyDeliverer(hubA)).contains(1L);
+        index.settle(1L, 1, false);
+        assertThat(index.assignCompanyDeliverer(hubA)).contains(1L);
+        index.settle(1L, 1, true);
+        assertThat(index.assignCompanyDeliverer(hubA)).contains(2L);
+    }
+
+    @Test
+    @DisplayName("DB 를 다시 읽는 동안 커밋된 배정과 새로 등록된 담당자는 교체 후에도 남는다")
+    void reload_ReplaysChangesDuringRead() {
+        DeliverersJpaRepository repository = mock(DeliverersJpaRepository.class);
+        DelivererAvailabilityIndex reloading = new DelivererAvailabilityIndex(repository);
+        reloading.upsert(Deliverer.create(1L, hubA, DelivererTypeEnum.COMPANY));
+        reloading.upsert(Deliverer.create(2L, hubA, DelivererTypeEnum.COMPANY));
+        assertThat(reloading.assignCompanyDeliverer(hubA)).contains(1L);
+
+        // 조회 결과에는 아직 1번 담당자의 배정 커밋이 반영되지 않은 상태
+        when(repository.findActiveDeliverers()).thenAnswer(invocation -> {
+            reloading.settle(1L, 1, true);
+            reloading.upsert(Deliverer.create(3L, hubB, DelivererTypeEnum.COMPANY));
+            return List.of(Deliverer.create(1L, hubA, DelivererTypeEnum.COMPANY),
+                    Deliverer.create(2L, hubA, DelivererTypeEnum.COMPANY));
+        });
+        reloading.reload();
+
+        assertThat(reloading.assignCompanyDeliverer(hubA)).contains(2L);
+        assertThat(reloading.assignCompanyDeliverer(hubB)).contains(3L);
+    }
+}
@@ -0,0 +1,67 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.entity.Deliverer;
+import com.sparta.delivery.entity.DelivererTypeEnum;
+import com.sparta.delivery.repository.DeliverersJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class DelivererServiceTest {
+
+    private final UUID hubA = UUID.randomUUID();
+    private final UUID hubB = UUID.randomUUID();
+
+    private final DeliverersJpaRepository deliverersJpaRepository = mock(DeliverersJpaRepository.class);
+    private final DelivererAvailabilityIndex delivererAvailabilityIndex = mock(DelivererAvailabilityIndex.class);
+
+    private DelivererService delivererService;
+
+    @BeforeEach
+    void setUp() {
+        delivererService = new DelivererService(deliverersJpaRepository, delivererAvailabilityIndex);
+        ReflectionTestUtils.setField(delivererService, "claimEnabled", true);
+    }
+
+    @Test
+    @DisplayName("허브-업체 후보가 모두 다른 트랜잭션에 잠겨 있으면 실패하지 않고 가장 한가한 담당자의 잠금을 기다려 배정한다")
+    void assignCompanyDeliverer_WaitsWhenEveryCandidateIsLocked() {
+        Deliverer deliverer = Deliverer.create(1L, hubA, DelivererTypeEnum.COMPANY);
+        when(deliverersJpaRepository.claimCompanyDeliverer(hubA)).thenReturn(Optional.empty());
+        when(deliverersJpaRepository.lockCompanyDeliverer(hubA)).thenReturn(Optional.of(deliverer));
+
+        assertThat(delivererService.assignCompanyDeliverer(hubA)).isSameAs(deliverer);
+        verify(delivererAvailabilityIndex).reserve(1L);
+    }
+
+    @Test
+    @DisplayName("허브-허브 후보가 모두 잠겨 있으면 가까운 허브 순서 그대로 잠금을 기다리고, 전체 후보로 넘어가지 않는다")
+    void assignHubDeliverer_WaitsForNearestWhenEveryCandidateIsLocked() {
+        Deliverer deliverer = Deliverer.create(2L, hubB, DelivererTypeEnum.HUB);
+        String hubIds = "{" + hubB + "," + hubA + "}";
+        when(deliverersJpaRepository.claimNearestHubDeliverer(hubIds)).thenReturn(Optional.empty());
+        when(deliverersJpaRepository.lockNearestHubDeliverer(hubIds)).thenReturn(Optional.of(deliverer));
+
+        assertThat(delivererService.assignHubDeliverer(Map.of(hubA, 20.0, hubB, 10.0))).isSameAs(deliverer);
+        verify(deliverersJpaRepository, never()).claimLeastLoadedHubDeliverer();
+        verify(deliverersJpaRepository, never()).lockLeastLoadedHubDeliverer();
+    }
+
+    @Test
+    @DisplayName("선점할 수 있는 담당자가 있으면 잠금을 기다리지 않는다")
+    void assignCompanyDeliverer_SkipsLockedRowsFirst() {
+        Deliverer deliverer = Deliverer.create(3L, hubA, DelivererTypeEnum.COMPANY);
+        when(deliverersJpaRepository.claimCompanyDeliverer(hubA)).thenReturn(Optional.of(deliverer));
+
+        assertThat(delivererService.assignCompanyDeliverer(hubA)).isSameAs(deliverer);
+        verify(deliverersJpaRepository, never()).lockCompanyDeliverer(hubA);
+    }
+}
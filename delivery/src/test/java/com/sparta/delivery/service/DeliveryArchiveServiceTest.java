@@ -0,0 +1,83 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.repository.DeliveryArchiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.sparta.delivery.repository.DeliveryArchiveRepository.DELIVERIES;
+import static com.sparta.delivery.repository.DeliveryArchiveRepository.DELIVERY_RECORDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class DeliveryArchiveServiceTest {
+
+    private final DeliveryArchiveRepository deliveryArchiveRepository = mock(DeliveryArchiveRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<String> deliveryColumns = List.of("delivery_id", "created_at");
+    private final List<String> recordColumns = List.of("delivery_record_id", "delivery_id", "created_at");
+
+    private DeliveryArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        archiveService = new DeliveryArchiveService(deliveryArchiveRepository, new TransactionTemplate(transactionManager), meterRegistry);
+        ReflectionTestUtils.setField(archiveService, "enabled", true);
+        ReflectionTestUtils.setField(archiveService, "retention", Duration.ofDays(30));
+        ReflectionTestUtils.setField(archiveService, "batchSize", 2);
+        ReflectionTestUtils.setField(archiveService, "maxBatchesPerRun", 10);
+
+        when(deliveryArchiveRepository.ensureArchiveTable(DELIVERIES)).thenReturn(deliveryColumns);
+        when(deliveryArchiveRepository.ensureArchiveTable(DELIVERY_RECORDS)).thenReturn(recordColumns);
+    }
+
+    @Test
+    @DisplayName("배치가 가득 차면 다음 배치를 이어서 옮기고, 배치마다 배송 경로부터 보관 테이블로 옮긴다")
+    void archive_MovesBatchesUntilNotFull() {
+        List<UUID> first = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> second = List.of(UUID.randomUUID());
+        when(deliveryArchiveRepository.tryLock()).thenReturn(true);
+        when(deliveryArchiveRepository.lockArchivableDeliveries(any(), eq(2))).thenReturn(first, second);
+        when(deliveryArchiveRepository.moveToArchive(eq(DELIVERY_RECORDS), eq(recordColumns), any())).thenReturn(5, 2);
+        when(deliveryArchiveRepository.moveToArchive(eq(DELIVERIES), eq(deliveryColumns), any())).thenReturn(2, 1);
+
+        archiveService.archive();
+
+        InOrder inOrder = inOrder(deliveryArchiveRepository);
+        for (List<UUID> batch : List.of(first, second)) {
+            inOrder.verify(deliveryArchiveRepository).ensureMonthlyPartitions(DELIVERY_RECORDS, batch);
+            inOrder.verify(deliveryArchiveRepository).ensureMonthlyPartitions(DELIVERIES, batch);
+            // 배송 경로가 배송을 참조하므로 배송 경로부터
+            inOrder.verify(deliveryArchiveRepository).moveToArchive(DELIVERY_RECORDS, recordColumns, batch);
+            inOrder.verify(deliveryArchiveRepository).moveToArchive(DELIVERIES, deliveryColumns, batch);
+        }
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(meterRegistry.counter("delivery.archive.deliveries").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("delivery.archive.records").count()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 보관 중이면 아무것도 옮기지 않는다")
+    void archive_SkipsWhenLockIsHeld() {
+        when(deliveryArchiveRepository.tryLock()).thenReturn(false);
+
+        archiveService.archive();
+
+        verify(deliveryArchiveRepository, never()).lockArchivableDeliveries(any(), anyInt());
+        verify(deliveryArchiveRepository, never()).moveToArchive(any(), any(), any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+}
@@ -0,0 +1,78 @@
+package com.sparta.delivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.delivery.repository.DeliveriesJpaRepository;
+import com.sparta.delivery.repository.DeliveryArchiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.sparta.delivery.service.DeliveryDetailCache.DELIVERY_DETAIL_GENERATION_KEY_PREFIX;
+import static com.sparta.delivery.service.DeliveryDetailCache.DELIVERY_DETAIL_KEY_PREFIX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DeliveryDetailCacheTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private DeliveryDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DeliveryDetailCache(mock(DeliveriesJpaRepository.class), mock(DeliveryArchiveRepository.class),
+                redisTemplate, new ObjectMapper(), eventPublisher, new SimpleMeterRegistry(),
+                100, Duration.ofSeconds(30), Duration.ofMinutes(10));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 커밋 후에 한 번에 무효화한다 (세대 증가 + 삭제)")
+    void evict_AfterCommit() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        cache.evict(first);
+        cache.evict(second);
+        cache.evict(first);
+        verifyNoInteractions(redisTemplate, eventPublisher);
+
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(
+                DELIVERY_DETAIL_KEY_PREFIX + first, DELIVERY_DETAIL_GENERATION_KEY_PREFIX + first,
+                DELIVERY_DETAIL_KEY_PREFIX + second, DELIVERY_DETAIL_GENERATION_KEY_PREFIX + second)), eq("600000"));
+        verify(redisTemplate).convertAndSend(eq(DeliveryDetailCache.DELIVERY_DETAIL_INVALIDATED_CHANNEL), any(String.class));
+        verify(eventPublisher).publishEvent(any(DeliveryChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("롤백되면 무효화하지 않는다")
+    void evict_SkippedOnRollback() {
+        cache.evict(UUID.randomUUID());
+
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(redisTemplate, eventPublisher);
+    }
+}
@@ -0,0 +1,111 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.entity.DeliveryEventTypeEnum;
+import com.sparta.delivery.entity.DeliveryOutboxEvent;
+import com.sparta.delivery.repository.DeliveryOutboxJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeliveryOutboxRelayTest {
+
+    private final DeliveryOutboxJpaRepository deliveryOutboxJpaRepository = mock(DeliveryOutboxJpaRepository.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RedisStreamCommands streamCommands = mock(RedisStreamCommands.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DeliveryOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        relay = new DeliveryOutboxRelay(deliveryOutboxJpaRepository, redisTemplate,
+                new TransactionTemplate(transactionManager), meterRegistry);
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "streamMaxLength", 1000L);
+    }
+
+    @Test
+    @DisplayName("배치가 가득 차면 이어서 발행하고, 발행한 배치는 같은 트랜잭션에서 삭제한다")
+    void relay_PublishesUntilBatchIsNotFull() {
+        List<DeliveryOutboxEvent> first = List.of(event(1L), event(2L));
+        List<DeliveryOutboxEvent> second = List.of(event(3L));
+        when(deliveryOutboxJpaRepository.tryLockRelay()).thenReturn(true);
+        when(deliveryOutboxJpaRepository.findPendingEvents(2)).thenReturn(first, second);
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.streamCommands()).thenReturn(streamCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return List.of();
+        });
+
+        relay.relay();
+
+        verify(streamCommands, times(3)).xAdd(any(), any(XAddOptions.class));
+        verify(deliveryOutboxJpaRepository).deleteAllInBatch(first);
+        verify(deliveryOutboxJpaRepository).deleteAllInBatch(second);
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(meterRegistry.counter("delivery.outbox.published").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("발행이 실패하면 삭제하지 않고 롤백해서 다음 주기에 다시 보낸다")
+    void relay_PublishFailureRollsBack() {
+        when(deliveryOutboxJpaRepository.tryLockRelay()).thenReturn(true);
+        when(deliveryOutboxJpaRepository.findPendingEvents(2)).thenReturn(List.of(event(1L)));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        relay.relay();
+
+        verify(deliveryOutboxJpaRepository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertThat(meterRegistry.counter("delivery.outbox.relay.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 발행 중이면 읽지도 보내지도 않는다")
+    void relay_SkipsWhenAnotherRelayHoldsTheLock() {
+        when(deliveryOutboxJpaRepository.tryLockRelay()).thenReturn(false);
+
+        relay.relay();
+
+        verify(deliveryOutboxJpaRepository, never()).findPendingEvents(anyInt());
+        verifyNoInteractions(redisTemplate);
+        verify(transactionManager).commit(any());
+    }
+
+    private static DeliveryOutboxEvent event(long outboxId) {
+        return DeliveryOutboxEvent.builder()
+                .outboxId(outboxId)
+                .deliveryId(UUID.randomUUID())
+                .deliverySeq(1L)
+                .eventType(DeliveryEventTypeEnum.DELIVERY_CREATED)
+                .payload("{}")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
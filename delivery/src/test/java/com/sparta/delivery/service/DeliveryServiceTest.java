@@ -0,0 +1,147 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.common.ApiResponse;
+import com.sparta.delivery.dto.BatchItemResult;
+import com.sparta.delivery.dto.BatchResponse;
+import com.sparta.delivery.dto.CreateDeliveryRequest;
+import com.sparta.delivery.dto.LegStatusEvent;
+import com.sparta.delivery.entity.Deliverer;
+import com.sparta.delivery.entity.DelivererTypeEnum;
+import com.sparta.delivery.entity.Delivery;
+import com.sparta.delivery.entity.DeliveryRecord;
+import com.sparta.delivery.graph.TimedRoute;
+import com.sparta.delivery.repository.DeliverersJpaRepository;
+import com.sparta.delivery.repository.DeliveriesJpaRepository;
+import com.sparta.delivery.repository.DeliveryRecordsJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DeliveryServiceTest {
+
+    private final UUID hubId = UUID.randomUUID();
+
+    private final PathService pathService = mock(PathService.class);
+    private final KakaoMapService kakaoMapService = mock(KakaoMapService.class);
+    private final DelivererService delivererService = mock(DelivererService.class);
+    private final DeliveriesJpaRepository deliveryJpaRepository = mock(DeliveriesJpaRepository.class);
+    private final DeliveryRecordsJpaRepository deliveryRecordsJpaRepository = mock(DeliveryRecordsJpaRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private DeliveryService deliveryService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        deliveryService = new DeliveryService(pathService, kakaoMapService, delivererService,
+                mock(AssignmentWindowService.class), mock(LegTimeProfileService.class), mock(DeliveryEventOutbox.class),
+                mock(DeliveryDetailCache.class), mock(DispatchDeadlineScheduler.class), mock(DeliverersJpaRepository.class),
+                deliveryJpaRepository, deliveryRecordsJpaRepository, new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(deliveryService, "batchChunkSize", 2);
+        ReflectionTestUtils.setField(deliveryService, "lastMileTimeoutMillis", 100L);
+        ReflectionTestUtils.setField(deliveryService, "lastMileDetourFactor", 1.3);
+        ReflectionTestUtils.setField(deliveryService, "lastMileFallbackSpeedKmh", 30.0);
+
+        when(pathService.getHubRoutes()).thenReturn(List.of());
+        when(kakaoMapService.getRouteAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    @DisplayName("청크 저장이 실패하면 건별로 다시 저장하고, 재시도마다 배송 엔티티와 담당자 배정을 새로 만든다")
+    void createDeliveries_RetriesFailedChunkWithFreshEntities() {
+        // 같은 허브 안의 배송 - 허브 구간 없이 허브-업체 구간 하나
+        when(pathService.findShortestRoutes(any(), eq(hubId), any())).thenReturn(Map.of(hubId, List.of()));
+        when(pathService.findTimeDependentRoutes(any(), eq(hubId), any(), any())).thenReturn(Map.of(hubId, List.of()));
+        when(pathService.timeRoute(any(), any(), any())).thenReturn(new TimedRoute(List.of(), new long[0]));
+        when(delivererService.assignCompanyDeliverer(hubId))
+                .thenAnswer(invocation -> Deliverer.create(1L, hubId, DelivererTypeEnum.COMPANY));
+        // 두 번째 배송의 배송 경로 저장은 매번 실패 (청크 저장, 건별 재시도 모두)
+        AtomicInteger saveCalls = new AtomicInteger();
+        when(deliveryRecordsJpaRepository.saveAll(any())).thenAnswer(invocation -> {
+            if (saveCalls.incrementAndGet() % 2 == 0) {
+                throw new DataIntegrityViolationException("duplicate order");
+            }
+            return invocation.getArgument(0);
+        });
+
+        ApiResponse<BatchResponse> response = deliveryService.createDeliveries(List.of(request(), request()));
+
+        assertThat(response.data().succeeded()).isEqualTo(1);
+        assertThat(response.data().results()).extracting(BatchItemResult::success).containsExactly(true, false);
+        // 실패한 청크와 끝까지 실패한 건은 롤백 - 담당자 선점도 함께 되돌아감
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(2)).rollback(any());
+
+        ArgumentCaptor<Delivery> saved = ArgumentCaptor.forClass(Delivery.class);
+        verify(deliveryJpaRepository, times(4)).save(saved.capture());
+        // 롤백된 청크에서 만든 (ID/버전이 남은) 엔티티를 재시도에 쓰지 않음
+        assertThat(saved.getAllValues().get(2)).isNotSameAs(saved.getAllValues().get(0));
+        assertThat(saved.getAllValues().get(3)).isNotSameAs(saved.getAllValues().get(1));
+        verify(delivererService, times(4)).assignCompanyDeliverer(hubId);
+    }
+
+    @Test
+    @DisplayName("상태 변경 청크가 롤백되면 배송 경로를 다시 읽어 건별로 적용한다")
+    void updateDeliveryStatuses_RetriesRolledBackChunk() {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        // 트랜잭션마다 새 영속성 컨텍스트처럼 새로 읽은 엔티티를 돌려줌
+        when(deliveryRecordsJpaRepository.findAllWithDeliveryByIdIn(any())).thenAnswer(invocation -> {
+            Collection<UUID> deliveryRecordIds = invocation.getArgument(0);
+            return deliveryRecordIds.stream().map(this::inProgressRecord).toList();
+        });
+        when(deliveryRecordsJpaRepository.findAllByDeliveryIdIn(any())).thenReturn(List.of());
+        // 첫 청크의 담당자 건수 반영이 잠금 대기 초과로 실패
+        doThrow(new CannotAcquireLockException("lock timeout")).doNothing()
+                .when(delivererService).applyLoadChanges(any(), any());
+
+        ApiResponse<BatchResponse> response = deliveryService.updateDeliveryStatuses(List.of(
+                new LegStatusEvent(firstId, LegStatusEvent.Type.COMPLETE, BigDecimal.TEN, null),
+                new LegStatusEvent(secondId, LegStatusEvent.Type.COMPLETE, BigDecimal.TEN, null)));
+
+        // 롤백된 청크에서 바꾼 상태가 남아 있었다면 재시도는 "이동 중인 배송 경로가 아닙니다" 로 실패
+        assertThat(response.data().succeeded()).isEqualTo(2);
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(deliveryRecordsJpaRepository, times(3)).findAllWithDeliveryByIdIn(any());
+        verify(delivererService, times(3)).applyLoadChanges(any(), any());
+    }
+
+    private DeliveryRecord inProgressRecord(UUID deliveryRecordId) {
+        Delivery delivery = Delivery.create(UUID.randomUUID(), hubId, hubId, "address", "recipient", "slack");
+        delivery.setTotalSequence(1);
+        DeliveryRecord deliveryRecord = DeliveryRecord.create(hubId, hubId, 1, Duration.ofMinutes(30), BigDecimal.TEN, delivery);
+        deliveryRecord.startDelivery(LocalDateTime.now().minusHours(1));
+        ReflectionTestUtils.setField(deliveryRecord, "deliveryRecordId", deliveryRecordId);
+        return deliveryRecord;
+    }
+
+    private CreateDeliveryRequest request() {
+        return new CreateDeliveryRequest(UUID.randomUUID(), hubId, hubId, "address", "recipient", "slack",
+                UUID.randomUUID(), LocalDateTime.now().plusDays(1));
+    }
+}
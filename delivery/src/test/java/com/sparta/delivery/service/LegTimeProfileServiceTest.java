@@ -0,0 +1,99 @@
+package com.sparta.delivery.service;
+
+import com.sparta.delivery.dto.HubRoute;
+import com.sparta.delivery.graph.EdgeTravelTime;
+import com.sparta.delivery.graph.HubGraph;
+import com.sparta.delivery.repository.LegTimeProfilesJpaRepository;
+import com.sparta.delivery.repository.LegTimeSampleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LegTimeProfileServiceTest {
+
+    private final UUID hubA = UUID.randomUUID();
+    private final UUID hubB = UUID.randomUUID();
+
+    private final LegTimeSampleRepository legTimeSampleRepository = mock(LegTimeSampleRepository.class);
+    private final LegTimeProfileService service =
+            new LegTimeProfileService(mock(LegTimeProfilesJpaRepository.class), legTimeSampleRepository);
+
+    // 월요일 8시 (2024-01-01 은 월요일)
+    private final LocalDateTime mondayMorning = LocalDateTime.of(2024, 1, 1, 8, 30);
+
+    private final HubGraph graph = HubGraph.compile(1L, List.of(
+            new HubRoute(UUID.randomUUID(), hubA, hubB, 100, Duration.ofMinutes(60))));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private long travelMillis(LocalDateTime departureAt) {
+        EdgeTravelTime travelTime = service.travelTime(graph);
+        return travelTime.travelMillis(0, LegTimeProfileService.toMillis(departureAt));
+    }
+
+    @Test
+    @DisplayName("요일-시간대는 월요일 0시가 0, 일요일 23시가 167이다")
+    void hourOfWeek_MondayToSunday() {
+        assertThat(LegTimeProfileService.hourOfWeek(LegTimeProfileService.toMillis(LocalDateTime.of(2024, 1, 1, 0, 0)))).isEqualTo(0);
+        assertThat(LegTimeProfileService.hourOfWeek(LegTimeProfileService.toMillis(LocalDateTime.of(2024, 1, 1, 8, 59)))).isEqualTo(8);
+        assertThat(LegTimeProfileService.hourOfWeek(LegTimeProfileService.toMillis(LocalDateTime.of(2024, 1, 7, 23, 0)))).isEqualTo(167);
+        // 1970-01-01 은 목요일
+        assertThat(LegTimeProfileService.hourOfWeek(0L)).isEqualTo(3 * 24);
+        // epoch 이전도 같은 주기
+        assertThat(LegTimeProfileService.hourOfWeek(LegTimeProfileService.toMillis(LocalDateTime.of(1969, 12, 29, 0, 0)))).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("표본이 충분한 시간대는 프로필 평균, 다른 시간대는 정적 예상 시간을 사용한다")
+    void travelTime_UsesProfileWhenEnoughSamples() {
+        when(legTimeSampleRepository.addSample(eq(hubA), eq(hubB), eq(8), anyLong(), anyInt(), anyInt()))
+                .thenReturn(new int[]{90 * 60, 3});
+
+        service.record(hubA, hubB, mondayMorning, Duration.ofMinutes(90));
+
+        assertThat(travelMillis(mondayMorning)).isEqualTo(Duration.ofMinutes(90).toMillis());
+        assertThat(travelMillis(mondayMorning.plusHours(1))).isEqualTo(graph.edgeWeight(0));
+    }
+
+    @Test
+    @DisplayName("표본이 최소 개수보다 적으면 정적 예상 시간을 사용한다")
+    void travelTime_FallsBackWithFewSamples() {
+        when(legTimeSampleRepository.addSample(eq(hubA), eq(hubB), eq(8), anyLong(), anyInt(), anyInt()))
+                .thenReturn(new int[]{90 * 60, 2});
+
+        service.record(hubA, hubB, mondayMorning, Duration.ofMinutes(90));
+
+        assertThat(travelMillis(mondayMorning)).isEqualTo(graph.edgeWeight(0));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 기록한 표본은 커밋 후에 반영한다")
+    void record_AppliesAfterCommit() {
+        when(legTimeSampleRepository.addSample(eq(hubA), eq(hubB), eq(8), anyLong(), anyInt(), anyInt()))
+                .thenReturn(new int[]{90 * 60, 5});
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.record(hubA, hubB, mondayMorning, Duration.ofMinutes(90));
+        assertThat(travelMillis(mondayMorning)).isEqualTo(graph.edgeWeight(0));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(travelMillis(mondayMorning)).isEqualTo(Duration.ofMinutes(90).toMillis());
+    }
+}
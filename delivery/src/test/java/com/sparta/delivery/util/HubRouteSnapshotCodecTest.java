@@ -0,0 +1,69 @@
+package com.sparta.delivery.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sparta.delivery.dto.HubRoute;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HubRouteSnapshotCodecTest {
+
+    private List<HubRoute> hubRoutes(int hubCount) {
+        List<UUID> hubs = new ArrayList<>();
+        for (int i = 0; i < hubCount; i++) {
+            hubs.add(UUID.randomUUID());
+        }
+        List<HubRoute> routes = new ArrayList<>();
+        for (int i = 0; i < hubCount; i++) {
+            for (int j = 1; j <= 3; j++) {
+                routes.add(new HubRoute(UUID.randomUUID(), hubs.get(i), hubs.get((i + j) % hubCount),
+                        12345.5 * j, Duration.ofSeconds(3600L * j + i)));
+            }
+        }
+        return routes;
+    }
+
+    @Test
+    @DisplayName("인코딩한 스냅샷을 그대로 디코딩한다")
+    void encodeDecode_RoundTrip() {
+        List<HubRoute> routes = hubRoutes(17);
+
+        HubRouteSnapshotCodec.Snapshot snapshot = HubRouteSnapshotCodec.decode(HubRouteSnapshotCodec.encode(7L, routes));
+
+        assertThat(snapshot.routeVersion()).isEqualTo(7L);
+        assertThat(snapshot.routes()).isEqualTo(routes);
+    }
+
+    @Test
+    @DisplayName("같은 경로 목록의 JSON 보다 크기가 작다")
+    void encode_SmallerThanJson() throws Exception {
+        List<HubRoute> routes = hubRoutes(17);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        int binarySize = HubRouteSnapshotCodec.encode(1L, routes).length;
+        int jsonSize = objectMapper.writeValueAsBytes(routes).length;
+
+        assertThat(binarySize).isEqualTo(HubRouteSnapshotCodec.HEADER_SIZE
+                + 17 * HubRouteSnapshotCodec.HUB_SIZE + routes.size() * HubRouteSnapshotCodec.ROUTE_SIZE);
+        assertThat(binarySize * 3).isLessThan(jsonSize);
+    }
+
+    @Test
+    @DisplayName("포맷이 다르거나 잘린 데이터는 예외가 발생한다")
+    void decode_InvalidSnapshot() {
+        byte[] bytes = HubRouteSnapshotCodec.encode(1L, hubRoutes(4));
+
+        assertThrows(IllegalArgumentException.class, () -> HubRouteSnapshotCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+        bytes[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> HubRouteSnapshotCodec.decode(bytes));
+    }
+}
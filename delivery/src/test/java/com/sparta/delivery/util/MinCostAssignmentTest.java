@@ -0,0 +1,55 @@
+package com.sparta.delivery.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinCostAssignmentTest {
+
+    private static final long NO_LIMIT = Long.MAX_VALUE / 2;
+
+    @Test
+    @DisplayName("가까운 담당자를 먼저 가져가는 탐욕 배정보다 총 비용이 작은 배정을 찾는다")
+    void solve_BeatsGreedy() {
+        // 탐욕: 0행이 0열(1) -> 1행은 1열(100) = 101, 최적: 0행 1열(2) + 1행 0열(3) = 5
+        double[][] cost = {
+                {1, 2},
+                {3, 100}
+        };
+
+        MinCostAssignment.Result result = MinCostAssignment.solve(cost, System.nanoTime() + NO_LIMIT);
+
+        assertThat(result.columnOfRow()).containsExactly(1, 0);
+        assertThat(result.totalCost()).isEqualTo(5.0);
+        assertThat(result.budgetExceeded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("행이 열보다 많으면 비용이 작은 행만 배정하고, 배정 불가 쌍은 제외한다")
+    void solve_MoreRowsThanColumns() {
+        double[][] cost = {
+                {10},
+                {4},
+                {MinCostAssignment.FORBIDDEN}
+        };
+
+        MinCostAssignment.Result result = MinCostAssignment.solve(cost, System.nanoTime() + NO_LIMIT);
+
+        assertThat(result.columnOfRow()).containsExactly(-1, 0, -1);
+    }
+
+    @Test
+    @DisplayName("시간 예산을 넘기면 남은 행은 남은 열로 탐욕 배정한다")
+    void solve_BudgetExceeded() {
+        double[][] cost = {
+                {1, 2},
+                {3, 100}
+        };
+
+        MinCostAssignment.Result result = MinCostAssignment.solve(cost, System.nanoTime() - 1);
+
+        assertThat(result.budgetExceeded()).isTrue();
+        assertThat(result.columnOfRow()).containsExactly(0, 1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.sparta.delivery.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("만료 시각 전에는 꺼내지 않고, 만료 시각이 속한 칸이 지나면 꺼낸다")
+    void advance_FiresWithinOneTick() {
+        TimingWheel<String, Long> wheel = new TimingWheel<>(TICK, 4, START);
+        wheel.schedule("a", 250L, START + 250);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(START + 299, (key, value) -> fired.add(key));
+        assertThat(fired).isEmpty();
+
+        wheel.advance(START + 300, (key, value) -> fired.add(key));
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("위 단계와 범위 밖 목록에 있던 항목도 아래 단계로 내려와 만료 순서대로 꺼낸다")
+    void advance_CascadesFarDeadlines() {
+        TimingWheel<Integer, Long> wheel = new TimingWheel<>(TICK, 2, START);
+        // 2단계 범위 = 64 * 64 칸 = 409.6초
+        long[] delays = {150_000, 5_000, 1_000_000, 400, 409_600, 3_000_000};
+        for (int i = 0; i < delays.length; i++) {
+            wheel.schedule(i, START + delays[i], START + delays[i]);
+        }
+        List<Integer> fired = new ArrayList<>();
+
+        for (long now = START; now <= START + 3_000_100; now += 1_000) {
+            long current = now;
+            wheel.advance(now, (key, expireAt) -> {
+                assertThat(expireAt).isLessThanOrEqualTo(current);
+                assertThat(current - expireAt).isLessThan(1_000 + TICK);
+                fired.add(key);
+            });
+        }
+
+        assertThat(fired).containsExactly(3, 1, 0, 4, 2, 5);
+    }
+
+    @Test
+    @DisplayName("취소하거나 다시 등록하면 이전 만료 시각으로는 꺼내지 않는다")
+    void cancelAndReschedule() {
+        TimingWheel<String, String> wheel = new TimingWheel<>(TICK, 4, START);
+        wheel.schedule("canceled", "v1", START + 500);
+        wheel.schedule("moved", "v1", START + 500);
+        wheel.schedule("moved", "v2", START + 60_000);
+
+        assertThat(wheel.cancel("canceled")).isEqualTo("v1");
+        assertThat(wheel.cancel("missing")).isNull();
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 1_000, (key, value) -> fired.add(key + ":" + value));
+        assertThat(fired).isEmpty();
+
+        wheel.advance(START + 60_000, (key, value) -> fired.add(key + ":" + value));
+        assertThat(fired).containsExactly("moved:v2");
+    }
+
+    @Test
+    @DisplayName("꺼낸 항목을 콜백 안에서 다시 등록할 수 있고, 지난 시각은 다음 칸에서 꺼낸다")
+    void rescheduleFromCallback() {
+        TimingWheel<String, Integer> wheel = new TimingWheel<>(TICK, 4, START);
+        wheel.schedule("a", 1, START - 10_000);
+        List<Integer> fired = new ArrayList<>();
+
+        wheel.advance(START + 100, (key, stage) -> {
+            fired.add(stage);
+            wheel.schedule(key, stage + 1, START + 1_000);
+        });
+        assertThat(fired).containsExactly(1);
+        assertThat(wheel.contains("a")).isTrue();
+
+        wheel.advance(START + 1_000, (key, stage) -> fired.add(stage));
+        assertThat(fired).containsExactly(1, 2);
+    }
+}